@@ -1,8 +1,10 @@
 package hello.itemservice.domain.item;
 
+import hello.binder.GenerateBinder;
 import lombok.Data;
 
 @Data
+@GenerateBinder // 컴파일할 때 ItemBinder 생성 (상품 등록/수정 폼 바인딩)
 public class Item {
 
     private Long id;
@@ -1,11 +1,18 @@
 package hello.itemservice.domain.item;
 
+import hello.itemservice.domain.item.replication.ItemMutation;
+import hello.itemservice.domain.item.replication.ItemSnapshot;
+import hello.itemservice.domain.item.replication.ReadOnlyReplicaException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 @Repository
 public class ItemRepository {
@@ -13,28 +20,155 @@ public class ItemRepository {
     private static final Map<Long, Item> store = new HashMap<>(); // static
     private static long sequence = 0L; // static
 
+    // 복제(replication)용 변경 로그 순번, store 변경과 같은 락 안에서 증가시켜 순서를 보장한다.
+    private static final Object lock = new Object();
+    private static final List<Consumer<ItemMutation>> mutationListeners = new CopyOnWriteArrayList<>();
+    private static long mutationSeq = 0L;
+
+    // replica 는 primary 의 변경(restore, apply)만 받고 save/update/clearStore 는 거부한다.
+    // 지키는 store 와 같이 static, 어느 인스턴스로 쓰든 같은 규칙을 따른다.
+    private static volatile boolean readOnly;
+
+    public ItemRepository() {
+    }
+
+    /**
+     * 스프링 빈은 item.replication.role 로 바로 읽기 전용 여부를 정한다.
+     * 다른 빈(BasicItemController 의 테스트 데이터 등)이 저장소를 쓰기 전에 정해져야 하기 때문이다.
+     */
+    @Autowired
+    public ItemRepository(@Value("${item.replication.role:}") String role) {
+        setReadOnly("replica".equals(role));
+    }
+
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        checkWritable();
+        synchronized (lock) {
+            item.setId(++sequence);
+            store.put(item.getId(), item);
+            publish(ItemMutation.save(++mutationSeq, item));
+        }
         return item;
     }
 
     public Item findById(Long id) {
-        return store.get(id);
+        synchronized (lock) {
+            return store.get(id);
+        }
     }
 
     public List<Item> findAll() {
-        return new ArrayList<>(store.values()); // ArrayList에 값을 넣어도 store는 변화가 없어서 감싼것
+        synchronized (lock) {
+            return new ArrayList<>(store.values()); // ArrayList에 값을 넣어도 store는 변화가 없어서 감싼것
+        }
     }
 
     public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+        checkWritable();
+        synchronized (lock) {
+            Item findItem = store.get(itemId);
+            findItem.setItemName(updateParam.getItemName());
+            findItem.setPrice(updateParam.getPrice());
+            findItem.setQuantity(updateParam.getQuantity());
+            publish(ItemMutation.update(++mutationSeq, findItem));
+        }
     }
 
     public void clearStore() {
-        store.clear();
+        checkWritable();
+        synchronized (lock) {
+            store.clear();
+            publish(ItemMutation.clear(++mutationSeq));
+        }
+    }
+
+    /**
+     * 현재 상태의 스냅샷을 만들고, 이후 발생하는 변경을 listener 로 전달한다.
+     * 스냅샷과 listener 등록을 같은 락 안에서 처리하기 때문에 스냅샷 이후의 변경은 빠짐없이 전달된다.
+     */
+    public ItemSnapshot subscribe(Consumer<ItemMutation> listener) {
+        synchronized (lock) {
+            mutationListeners.add(listener);
+            return snapshot();
+        }
+    }
+
+    public void unsubscribe(Consumer<ItemMutation> listener) {
+        mutationListeners.remove(listener);
+    }
+
+    public ItemSnapshot snapshot() {
+        synchronized (lock) {
+            List<Item> items = new ArrayList<>();
+            for (Item item : store.values()) {
+                items.add(copyOf(item));
+            }
+            return new ItemSnapshot(mutationSeq, sequence, items);
+        }
+    }
+
+    /**
+     * 복제본(replica)에서 primary 의 스냅샷으로 store 를 교체한다.
+     */
+    public void restore(ItemSnapshot snapshot) {
+        synchronized (lock) {
+            store.clear();
+            for (Item item : snapshot.getItems()) {
+                store.put(item.getId(), copyOf(item));
+            }
+            sequence = snapshot.getSequence();
+            mutationSeq = snapshot.getMutationSeq();
+        }
+    }
+
+    /**
+     * 복제본(replica)에서 primary 의 변경 로그를 순서대로 적용한다. id는 primary 가 발급한 값을 그대로 사용한다.
+     */
+    public void apply(ItemMutation mutation) {
+        synchronized (lock) {
+            switch (mutation.getType()) {
+                case SAVE:
+                case UPDATE:
+                    store.put(mutation.getItemId(), mutation.toItem());
+                    sequence = Math.max(sequence, mutation.getItemId());
+                    break;
+                case CLEAR:
+                    store.clear();
+                    break;
+            }
+            mutationSeq = mutation.getSeq();
+        }
+    }
+
+    public long getMutationSeq() {
+        synchronized (lock) {
+            return mutationSeq;
+        }
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        ItemRepository.readOnly = readOnly;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new ReadOnlyReplicaException();
+        }
+    }
+
+    private void publish(ItemMutation mutation) {
+        for (Consumer<ItemMutation> listener : mutationListeners) {
+            listener.accept(mutation);
+        }
+    }
+
+    private Item copyOf(Item item) {
+        Item copy = new Item(item.getItemName(), item.getPrice(), item.getQuantity());
+        copy.setId(item.getId());
+        return copy;
     }
 }
@@ -0,0 +1,123 @@
+package hello.itemservice.domain.item.replication;
+
+import hello.itemservice.domain.item.Item;
+import lombok.Getter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * ItemRepository 변경 로그 한 건
+ * primary 에서 발생한 순서(seq) 그대로 replica 에 전달되어 적용된다.
+ */
+@Getter
+public class ItemMutation {
+
+    public enum Type {
+        SAVE, UPDATE, CLEAR
+    }
+
+    private final Type type;
+    private final long seq;
+    private final long timestamp; // primary 에서 변경이 일어난 시각(ms), replica 지연(lag) 측정용
+    private final Long itemId;
+    private final String itemName;
+    private final Integer price;
+    private final Integer quantity;
+
+    public ItemMutation(Type type, long seq, long timestamp, Long itemId, String itemName, Integer price, Integer quantity) {
+        this.type = type;
+        this.seq = seq;
+        this.timestamp = timestamp;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    public static ItemMutation save(long seq, Item item) {
+        return of(Type.SAVE, seq, item);
+    }
+
+    public static ItemMutation update(long seq, Item item) {
+        return of(Type.UPDATE, seq, item);
+    }
+
+    public static ItemMutation clear(long seq) {
+        return new ItemMutation(Type.CLEAR, seq, System.currentTimeMillis(), null, null, null, null);
+    }
+
+    private static ItemMutation of(Type type, long seq, Item item) {
+        return new ItemMutation(type, seq, System.currentTimeMillis(),
+                item.getId(), item.getItemName(), item.getPrice(), item.getQuantity());
+    }
+
+    public Item toItem() {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(itemId);
+        return item;
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(type.ordinal());
+        out.writeLong(seq);
+        out.writeLong(timestamp);
+        if (type != Type.CLEAR) {
+            out.writeLong(itemId);
+            writeString(out, itemName);
+            writeInteger(out, price);
+            writeInteger(out, quantity);
+        }
+    }
+
+    public static ItemMutation readFrom(DataInputStream in) throws IOException {
+        Type type = Type.values()[in.readByte()];
+        long seq = in.readLong();
+        long timestamp = in.readLong();
+        if (type == Type.CLEAR) {
+            return new ItemMutation(type, seq, timestamp, null, null, null, null);
+        }
+        long itemId = in.readLong();
+        String itemName = readString(in);
+        Integer price = readInteger(in);
+        Integer quantity = readInteger(in);
+        return new ItemMutation(type, seq, timestamp, itemId, itemName, price, quantity);
+    }
+
+    static void writeItem(DataOutputStream out, Item item) throws IOException {
+        out.writeLong(item.getId());
+        writeString(out, item.getItemName());
+        writeInteger(out, item.getPrice());
+        writeInteger(out, item.getQuantity());
+    }
+
+    static Item readItem(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        Item item = new Item(readString(in), readInteger(in), readInteger(in));
+        item.setId(id);
+        return item;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
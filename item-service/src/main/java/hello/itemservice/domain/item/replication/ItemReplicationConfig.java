@@ -0,0 +1,32 @@
+package hello.itemservice.domain.item.replication;
+
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * item.replication.role=primary : 변경 로그를 replica 로 전송
+ * item.replication.role=replica : primary 에 접속해서 변경 로그를 적용하고 조회 트래픽을 처리
+ * 설정이 없으면 기존처럼 단독으로 동작한다.
+ */
+@Configuration
+public class ItemReplicationConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "item.replication.role", havingValue = "primary")
+    public ItemReplicationPrimary itemReplicationPrimary(ItemRepository itemRepository,
+                                                         @Value("${item.replication.port:7070}") int port,
+                                                         @Value("${item.replication.queue-capacity:10000}") int queueCapacity) {
+        return new ItemReplicationPrimary(itemRepository, port, queueCapacity);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "item.replication.role", havingValue = "replica")
+    public ItemReplicationReplica itemReplicationReplica(ItemRepository itemRepository,
+                                                         @Value("${item.replication.primary-host:localhost}") String host,
+                                                         @Value("${item.replication.port:7070}") int port) {
+        return new ItemReplicationReplica(itemRepository, host, port);
+    }
+}
@@ -0,0 +1,172 @@
+package hello.itemservice.domain.item.replication;
+
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * primary 역할
+ * replica 가 TCP 로 접속하면 스냅샷을 먼저 보내고, 이후 ItemRepository 변경 로그를 순서대로 흘려보낸다.
+ *
+ * 프레임 형식
+ * 'S' + ItemSnapshot : 접속 직후 한 번
+ * 'M' + ItemMutation : 변경 로그
+ * 'H' + mutationSeq + timestamp : 변경이 없을 때 주기적으로 보내는 heartbeat (replica 지연 측정용)
+ */
+@Slf4j
+public class ItemReplicationPrimary implements AutoCloseable {
+
+    static final byte SNAPSHOT = 'S';
+    static final byte MUTATION = 'M';
+    static final byte HEARTBEAT = 'H';
+
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 500;
+
+    private final ItemRepository itemRepository;
+    private final int port;
+    private final int queueCapacity;
+    private final CopyOnWriteArrayList<ReplicaSession> sessions = new CopyOnWriteArrayList<>();
+
+    private volatile ServerSocket serverSocket;
+    private volatile boolean running;
+
+    public ItemReplicationPrimary(ItemRepository itemRepository, int port, int queueCapacity) {
+        this.itemRepository = itemRepository;
+        this.port = port;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        running = true;
+        Thread acceptor = new Thread(this::acceptLoop, "item-replication-primary");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("item replication primary started. port={}", getPort());
+    }
+
+    /**
+     * port 를 0으로 지정하면 OS가 빈 포트를 할당하므로 실제 포트는 여기서 확인한다.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getReplicaCount() {
+        return sessions.size();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                ReplicaSession session = new ReplicaSession(socket);
+                sessions.add(session);
+                session.start();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("replica accept 실패", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        for (ReplicaSession session : sessions) {
+            session.close();
+        }
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+    }
+
+    /**
+     * replica 한 개와의 연결
+     * 변경 로그는 bounded queue 에 쌓고 전용 스레드가 소켓에 쓴다.
+     * replica 가 느려서 queue 가 가득 차면 연결을 끊는다. replica 는 재접속해서 스냅샷부터 다시 따라잡는다.
+     */
+    private class ReplicaSession implements Consumer<ItemMutation> {
+
+        private final Socket socket;
+        private final BlockingQueue<ItemMutation> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private volatile boolean overflow;
+
+        ReplicaSession(Socket socket) {
+            this.socket = socket;
+        }
+
+        void start() {
+            Thread sender = new Thread(this::sendLoop, "item-replication-session-" + socket.getPort());
+            sender.setDaemon(true);
+            sender.start();
+        }
+
+        @Override
+        public void accept(ItemMutation mutation) {
+            if (!queue.offer(mutation)) {
+                overflow = true;
+            }
+        }
+
+        private void sendLoop() {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+                ItemSnapshot snapshot = itemRepository.subscribe(this);
+                out.writeByte(SNAPSHOT);
+                snapshot.writeTo(out);
+                out.flush();
+                log.info("replica 접속, snapshot 전송 완료. replica={}, mutationSeq={}, items={}",
+                        socket.getRemoteSocketAddress(), snapshot.getMutationSeq(), snapshot.getItems().size());
+
+                while (running && !overflow) {
+                    ItemMutation mutation = queue.poll(HEARTBEAT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (mutation == null) {
+                        out.writeByte(HEARTBEAT);
+                        out.writeLong(itemRepository.getMutationSeq());
+                        out.writeLong(System.currentTimeMillis());
+                        out.flush();
+                        continue;
+                    }
+                    out.writeByte(MUTATION);
+                    mutation.writeTo(out);
+                    // 쌓여 있는 로그는 한 번에 flush 한다.
+                    while ((mutation = queue.poll()) != null) {
+                        out.writeByte(MUTATION);
+                        mutation.writeTo(out);
+                    }
+                    out.flush();
+                }
+                if (overflow) {
+                    log.warn("replica 로그 queue 초과로 연결 종료. replica={}", socket.getRemoteSocketAddress());
+                }
+            } catch (IOException e) {
+                log.info("replica 연결 종료. replica={}", socket.getRemoteSocketAddress());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            itemRepository.unsubscribe(this);
+            sessions.remove(this);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
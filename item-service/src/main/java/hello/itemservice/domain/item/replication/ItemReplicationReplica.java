@@ -0,0 +1,153 @@
+package hello.itemservice.domain.item.replication;
+
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * replica 역할
+ * primary 에 접속해서 스냅샷으로 상태를 따라잡고(catch-up), 이후 변경 로그를 순서대로 적용한다.
+ * 연결이 끊어지면 다시 접속해서 스냅샷부터 받는다.
+ * 시작하면 저장소를 읽기 전용으로 바꾼다. 쓰기는 primary 에서만 받는다.
+ */
+@Slf4j
+public class ItemReplicationReplica implements AutoCloseable {
+
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private final ItemRepository itemRepository;
+    private final String host;
+    private final int port;
+
+    private volatile boolean running;
+    private volatile Socket socket;
+
+    // 지연(lag) 측정값
+    private volatile boolean connected;
+    private volatile long primarySeq;
+    private volatile long appliedSeq;
+    private volatile long lagMillis;
+    private volatile long lastCatchUpMillis;
+    private volatile long snapshotCount;
+
+    public ItemReplicationReplica(ItemRepository itemRepository, String host, int port) {
+        this.itemRepository = itemRepository;
+        this.host = host;
+        this.port = port;
+    }
+
+    public void start() {
+        itemRepository.setReadOnly(true);
+        running = true;
+        Thread receiver = new Thread(this::receiveLoop, "item-replication-replica");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    private void receiveLoop() {
+        while (running) {
+            try (Socket s = new Socket(host, port)) {
+                socket = s;
+                receive(new DataInputStream(new BufferedInputStream(s.getInputStream())));
+            } catch (IOException e) {
+                if (running) {
+                    log.info("primary 연결 실패, 재접속 대기. primary={}:{}", host, port);
+                }
+            } finally {
+                connected = false;
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    private void receive(DataInputStream in) throws IOException {
+        long start = System.nanoTime();
+        if (in.readByte() != ItemReplicationPrimary.SNAPSHOT) {
+            throw new IOException("스냅샷 프레임이 먼저 와야 합니다.");
+        }
+        ItemSnapshot snapshot = ItemSnapshot.readFrom(in);
+        itemRepository.restore(snapshot);
+        primarySeq = snapshot.getMutationSeq();
+        appliedSeq = snapshot.getMutationSeq();
+        lagMillis = 0;
+        lastCatchUpMillis = (System.nanoTime() - start) / 1_000_000;
+        snapshotCount++;
+        connected = true;
+        log.info("snapshot 적용 완료. mutationSeq={}, items={}, catchUp={}ms",
+                snapshot.getMutationSeq(), snapshot.getItems().size(), lastCatchUpMillis);
+
+        while (running) {
+            byte frame = in.readByte();
+            if (frame == ItemReplicationPrimary.MUTATION) {
+                ItemMutation mutation = ItemMutation.readFrom(in);
+                itemRepository.apply(mutation);
+                appliedSeq = mutation.getSeq();
+                primarySeq = Math.max(primarySeq, mutation.getSeq());
+                lagMillis = System.currentTimeMillis() - mutation.getTimestamp();
+            } else if (frame == ItemReplicationPrimary.HEARTBEAT) {
+                primarySeq = in.readLong();
+                in.readLong(); // heartbeat 시각
+                if (appliedSeq >= primarySeq) {
+                    lagMillis = 0;
+                }
+            } else {
+                throw new IOException("알 수 없는 프레임. frame=" + frame);
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    /**
+     * primary 가 알려준 마지막 순번과 replica 가 적용한 순번의 차이
+     */
+    public long getLagEntries() {
+        return Math.max(0, primarySeq - appliedSeq);
+    }
+
+    /**
+     * 마지막으로 적용한 변경이 primary 에서 일어난 뒤 replica 에 적용되기까지 걸린 시간
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public long getLastCatchUpMillis() {
+        return lastCatchUpMillis;
+    }
+
+    public long getSnapshotCount() {
+        return snapshotCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        Socket s = socket;
+        if (s != null) {
+            s.close();
+        }
+    }
+}
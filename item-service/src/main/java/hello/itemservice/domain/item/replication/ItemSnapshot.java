@@ -0,0 +1,48 @@
+package hello.itemservice.domain.item.replication;
+
+import hello.itemservice.domain.item.Item;
+import lombok.Getter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 특정 변경 로그 순번(mutationSeq) 시점의 ItemRepository 전체 상태
+ * replica 가 처음 접속하거나 다시 접속할 때 이 스냅샷으로 따라잡은 뒤 이후 로그를 적용한다.
+ */
+@Getter
+public class ItemSnapshot {
+
+    private final long mutationSeq;
+    private final long sequence; // item id 발급 순번
+    private final List<Item> items;
+
+    public ItemSnapshot(long mutationSeq, long sequence, List<Item> items) {
+        this.mutationSeq = mutationSeq;
+        this.sequence = sequence;
+        this.items = items;
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(mutationSeq);
+        out.writeLong(sequence);
+        out.writeInt(items.size());
+        for (Item item : items) {
+            ItemMutation.writeItem(out, item);
+        }
+    }
+
+    public static ItemSnapshot readFrom(DataInputStream in) throws IOException {
+        long mutationSeq = in.readLong();
+        long sequence = in.readLong();
+        int size = in.readInt();
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(ItemMutation.readItem(in));
+        }
+        return new ItemSnapshot(mutationSeq, sequence, items);
+    }
+}
@@ -0,0 +1,12 @@
+package hello.itemservice.domain.item.replication;
+
+/**
+ * replica 로 동작하는 저장소에 직접 쓰려고 할 때
+ * replica 의 id 는 primary 가 발급하므로, 여기서 저장하면 primary 의 id 와 겹치고 다음 스냅샷에서 지워진다.
+ */
+public class ReadOnlyReplicaException extends IllegalStateException {
+
+    public ReadOnlyReplicaException() {
+        super("replica 는 쓰기를 받지 않습니다. primary 로 요청하세요.");
+    }
+}
@@ -0,0 +1,58 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 상품 화면의 ETag 는 저장소의 변경 순번(mutationSeq)으로 만든다.
+ * 본문을 렌더링해서 해시하는 ShallowEtagHeaderFilter 와 달리, 바뀌지 않았으면 컨트롤러/타임리프를 실행하지 않는다.
+ * 재시작하면 순번이 다시 시작하므로 시작 시각을 함께 넣는다.
+ */
+public class ItemCacheInterceptor implements HandlerInterceptor {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().getHeaderValue();
+
+    private final ItemRepository itemRepository;
+    private final String prefix = "W/\"items-" + Long.toHexString(System.currentTimeMillis()) + "-";
+
+    private volatile CachedETag cached = new CachedETag(-1, null);
+
+    public ItemCacheInterceptor(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        response.setHeader("Cache-Control", CACHE_CONTROL);
+        // 304 이면 false 를 반환해서 컨트롤러를 호출하지 않는다
+        return !new ServletWebRequest(request, response).checkNotModified(currentETag());
+    }
+
+    private String currentETag() {
+        long seq = itemRepository.getMutationSeq();
+        CachedETag c = cached;
+        if (c.seq != seq) {
+            c = new CachedETag(seq, prefix + seq + "\"");
+            cached = c;
+        }
+        return c.etag;
+    }
+
+    private static class CachedETag {
+        private final long seq;
+        private final String etag;
+
+        CachedETag(long seq, String etag) {
+            this.seq = seq;
+            this.etag = etag;
+        }
+    }
+}
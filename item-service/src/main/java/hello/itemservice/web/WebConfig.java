@@ -0,0 +1,121 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.web.admission.AdmissionFilter;
+import hello.web.binder.ModelBinderArgumentResolver;
+import hello.web.coalesce.CoalescingFilter;
+import hello.web.param.LazyParameterFilter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.CacheControl;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 경로별 캐시 정책
+ * - /css/** : 템플릿의 @{/css/..} 가 내용 해시가 들어간 URL(bootstrap.min-{md5}.css)로 바뀐다.
+ *             내용이 바뀌면 URL 도 바뀌므로 1년 동안 다시 요청하지 않는다.
+ * - 상품 화면 : ItemCacheInterceptor 가 상품 변경 순번으로 ETag 를 만들어 304 로 응답한다.
+ * - 그 외 정적 리소스 : Last-Modified 로 매번 검증한다. (application.properties)
+ *
+ * 모든 요청은 입장 제어를 거친다. 넘치는 요청은 429/503 으로 바로 거절한다. (AdmissionFilter)
+ * 상품 목록은 동시에 들어온 같은 요청을 한 번만 렌더링한다. (CoalescingFilter)
+ * 상품 등록/수정 폼은 컴파일할 때 생성된 ItemBinder 로 바인딩한다. (ModelBinderArgumentResolver)
+ * 폼 본문은 읽는 값만 디코딩하고, 다른 곳에서 읽는 파라미터도 같은 값을 본다. (LazyParameterFilter)
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ItemRepository itemRepository;
+
+    public WebConfig(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/css/**")
+                .addResourceLocations("classpath:/static/css/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ItemCacheInterceptor(itemRepository))
+                .addPathPatterns("/basic/items", "/basic/items/{itemId}", "/basic/items/{itemId}/edit");
+    }
+
+    /**
+     * 설정은 server.servlet.context-parameters.admissionFilter.<파라미터> 로 바꿀 수 있다.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter() {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(new AdmissionFilter());
+        registration.setName(AdmissionFilter.NAME);
+        registration.addUrlPatterns("/*");
+        registration.setAsyncSupported(true);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE); // 거절할 요청은 다른 필터보다 먼저 거절한다
+        registration.addInitParameter("clientRate", "500");
+        registration.addInitParameter("clientBurst", "1000");
+        registration.addInitParameter("initialLimit", "50");
+        registration.addInitParameter("minLimit", "4");
+        registration.addInitParameter("maxLimit", "200");
+        registration.addInitParameter("maxQueueWaitMillis", "10");
+        return registration;
+    }
+
+    /**
+     * 폼 POST 의 getParameter* 를 ModelBinderArgumentResolver 와 같은 LazyParameters 로 읽게 한다.
+     */
+    @Bean
+    public FilterRegistrationBean<LazyParameterFilter> lazyParameterFilter() {
+        FilterRegistrationBean<LazyParameterFilter> registration = new FilterRegistrationBean<>(new LazyParameterFilter());
+        registration.setName(LazyParameterFilter.NAME);
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1); // 입장 제어 다음
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<CoalescingFilter> coalescingFilter() {
+        FilterRegistrationBean<CoalescingFilter> registration = new FilterRegistrationBean<>(new CoalescingFilter());
+        registration.addUrlPatterns("/basic/items");
+        return registration;
+    }
+
+    /**
+     * @ModelAttribute 를 ModelBinderArgumentResolver 가 먼저 처리하도록 resolver 목록 맨 앞에 넣는다.
+     * (addArgumentResolvers 로 추가하면 기본 resolver 뒤에 붙어서 호출되지 않는다)
+     */
+    @Bean
+    public static BeanPostProcessor modelBinderResolverRegistrar() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter) {
+                    RequestMappingHandlerAdapter adapter = (RequestMappingHandlerAdapter) bean;
+                    List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>();
+                    resolvers.add(new ModelBinderArgumentResolver());
+                    resolvers.addAll(adapter.getArgumentResolvers());
+                    adapter.setArgumentResolvers(resolvers);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -2,7 +2,9 @@ package hello.itemservice.web.basic;
 
 import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.replication.ReadOnlyReplicaException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -159,11 +161,25 @@ public class BasicItemController {
         return "redirect:/basic/items/{itemId}"; // 상세화면으로 이동, {itemId}값은 @PathVariable Long itemId 이다.
     }
 
+    /**
+     * replica 로 동작할 때 등록/수정 요청 (item.replication.role=replica)
+     */
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public String readOnlyReplica(ReadOnlyReplicaException e) {
+        return e.getMessage();
+    }
+
     /**
      * 테스트용 데이터 추가
+     * replica 는 primary 의 스냅샷을 받으므로 추가하지 않는다.
      */
     @PostConstruct // 해당 빈의 의존관계가 모두 주입되고 나면 초기화 용도로 호출
     public void init() {
+        if (itemRepository.isReadOnly()) {
+            return;
+        }
         itemRepository.save(new Item("itemA", 10000, 10));
         itemRepository.save(new Item("itemB", 20000, 20));
     }
@@ -0,0 +1,32 @@
+package hello.itemservice.web.coalesce;
+
+import hello.web.coalesce.CoalescingFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 요청 합치기 결과 조회
+ * http://localhost:8080/coalescing/metrics
+ */
+@RestController
+@RequiredArgsConstructor
+public class CoalescingMetricsController {
+
+    private final FilterRegistrationBean<CoalescingFilter> coalescingFilter;
+
+    @GetMapping("/coalescing/metrics")
+    public Map<String, Object> metrics() {
+        CoalescingFilter filter = coalescingFilter.getFilter();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("executions", filter.getExecutions());
+        metrics.put("coalesced", filter.getCoalesced());
+        metrics.put("savedMillis", filter.getSavedNanos() / 1_000_000.0);
+        metrics.put("savedBytes", filter.getSavedBytes());
+        return metrics;
+    }
+}
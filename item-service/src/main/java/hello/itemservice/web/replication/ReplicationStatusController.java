@@ -0,0 +1,51 @@
+package hello.itemservice.web.replication;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.replication.ItemReplicationPrimary;
+import hello.itemservice.domain.item.replication.ItemReplicationReplica;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 복제 상태 조회
+ * http://localhost:8080/replication/status
+ */
+@RestController
+@RequiredArgsConstructor
+public class ReplicationStatusController {
+
+    private final ItemRepository itemRepository;
+    private final ObjectProvider<ItemReplicationPrimary> primary;
+    private final ObjectProvider<ItemReplicationReplica> replica;
+
+    @GetMapping("/replication/status")
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("mutationSeq", itemRepository.getMutationSeq());
+
+        ItemReplicationPrimary p = primary.getIfAvailable();
+        if (p != null) {
+            status.put("role", "primary");
+            status.put("replicas", p.getReplicaCount());
+        }
+
+        ItemReplicationReplica r = replica.getIfAvailable();
+        if (r != null) {
+            status.put("role", "replica");
+            status.put("connected", r.isConnected());
+            status.put("appliedSeq", r.getAppliedSeq());
+            status.put("lagEntries", r.getLagEntries());
+            status.put("lagMillis", r.getLagMillis());
+            status.put("lastCatchUpMillis", r.getLastCatchUpMillis());
+            status.put("snapshotCount", r.getSnapshotCount());
+        }
+
+        status.putIfAbsent("role", "standalone");
+        return status;
+    }
+}
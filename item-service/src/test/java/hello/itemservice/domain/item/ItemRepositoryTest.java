@@ -2,6 +2,7 @@ package hello.itemservice.domain.item;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -12,6 +13,11 @@ class ItemRepositoryTest {
 
     ItemRepository itemRepository = new ItemRepository();
 
+    @BeforeEach
+    void beforeEach() { // store 가 static 이라 다른 테스트(컨텍스트 초기화 데이터 등)가 남긴 값을 지운다.
+        itemRepository.clearStore();
+    }
+
     @AfterEach
     void afterEach() {
         itemRepository.clearStore();
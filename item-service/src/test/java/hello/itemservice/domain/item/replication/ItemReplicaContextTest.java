@@ -0,0 +1,53 @@
+package hello.itemservice.domain.item.replication;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * replica 로 띄우면 primary 에 접속하지 못해도 테스트 데이터를 넣지 않고 읽기 전용으로 시작한다.
+ * 저장소는 static 이라 다른 테스트가 넣은 데이터를 비워 두고 시작하고, 끝나면 되돌린다.
+ */
+@SpringBootTest(properties = {
+        "item.replication.role=replica",
+        "item.replication.port=1"}) // 접속할 primary 없음
+@DirtiesContext
+class ItemReplicaContextTest {
+
+    static ItemSnapshot saved;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @BeforeAll
+    static void emptyStore() {
+        ItemRepository repository = new ItemRepository();
+        saved = repository.snapshot();
+        repository.restore(new ItemSnapshot(saved.getMutationSeq(), saved.getSequence(), List.of()));
+    }
+
+    @AfterAll
+    static void restoreStore() {
+        ItemRepository repository = new ItemRepository();
+        repository.setReadOnly(false);
+        repository.restore(saved);
+    }
+
+    @Test
+    void replicaStartsEmptyAndReadOnly() {
+        assertThat(itemRepository.isReadOnly()).isTrue();
+        assertThat(itemRepository.findAll()).isEmpty();
+        assertThatThrownBy(() -> new ItemRepository().save(new Item("itemA", 10000, 10)))
+                .isInstanceOf(ReadOnlyReplicaException.class);
+    }
+}
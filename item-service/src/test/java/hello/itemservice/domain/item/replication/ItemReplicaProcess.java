@@ -0,0 +1,30 @@
+package hello.itemservice.domain.item.replication;
+
+import hello.itemservice.domain.item.ItemRepository;
+
+/**
+ * ItemReplicationTest 에서 별도 JVM 프로세스로 띄우는 replica
+ * args: primary port, 기다릴 item 개수
+ */
+public class ItemReplicaProcess {
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(args[0]);
+        int expectedCount = Integer.parseInt(args[1]);
+
+        ItemRepository itemRepository = new ItemRepository();
+        ItemReplicationReplica replica = new ItemReplicationReplica(itemRepository, "localhost", port);
+        replica.start();
+
+        while (!replica.isConnected()) {
+            Thread.sleep(10);
+        }
+        System.out.println("CATCHUP " + itemRepository.findAll().size() + " " + replica.getLastCatchUpMillis());
+
+        while (itemRepository.findAll().size() < expectedCount) {
+            Thread.sleep(10);
+        }
+        System.out.println("APPLIED " + itemRepository.findAll().size() + " " + replica.getLagMillis());
+        replica.close();
+    }
+}
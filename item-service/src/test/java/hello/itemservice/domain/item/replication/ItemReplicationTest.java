@@ -0,0 +1,111 @@
+package hello.itemservice.domain.item.replication;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ItemReplicationTest {
+
+    // replica 프로세스가 멈추면 readLine 이 끝나지 않으므로 전체 대기 시간을 제한한다.
+    static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    ItemRepository itemRepository = new ItemRepository();
+    ItemReplicationPrimary primary;
+
+    @AfterEach
+    void afterEach() throws Exception {
+        if (primary != null) {
+            primary.close();
+        }
+        itemRepository.setReadOnly(false); // 읽기 전용 여부는 저장소 전체(static)에 적용된다
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void replicaCatchUpAndApplyInAnotherProcess() throws Exception {
+        // given - replica 접속 전 데이터는 스냅샷으로 전달
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+
+        primary = new ItemReplicationPrimary(itemRepository, 0, 1000);
+        primary.start();
+
+        Process replica = startReplicaProcess(primary.getPort(), 4);
+        try {
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(replica.getInputStream(), StandardCharsets.UTF_8))) {
+
+                    // then - 스냅샷으로 따라잡음
+                    String catchUp = readLine(reader, "CATCHUP");
+                    assertThat(catchUp.split(" ")[1]).isEqualTo("2");
+
+                    // when - 접속 이후 변경은 로그로 전달
+                    itemRepository.save(new Item("itemC", 30000, 30));
+                    itemRepository.save(new Item("itemD", 40000, 40));
+
+                    // then
+                    String applied = readLine(reader, "APPLIED");
+                    assertThat(applied.split(" ")[1]).isEqualTo("4");
+                }
+            });
+        } finally {
+            boolean exited = replica.waitFor(10, TimeUnit.SECONDS);
+            replica.destroyForcibly(); // 멈춘 경우에도 프로세스를 남기지 않는다 (읽던 스트림도 닫힌다)
+            assertThat(exited).isTrue();
+        }
+    }
+
+    @Test
+    void replicaRejectsLocalWrites() throws Exception {
+        ItemRepository replicaRepository = new ItemRepository();
+        // primary 없이 시작해도 저장소는 바로 읽기 전용이 된다 (접속은 뒤에서 재시도)
+        try (ItemReplicationReplica replica = new ItemReplicationReplica(replicaRepository, "localhost", 0)) {
+            replica.start();
+
+            assertThatThrownBy(() -> replicaRepository.save(new Item("itemA", 10000, 10)))
+                    .isInstanceOf(ReadOnlyReplicaException.class);
+            assertThatThrownBy(() -> replicaRepository.update(1L, new Item("itemB", 20000, 20)))
+                    .isInstanceOf(ReadOnlyReplicaException.class);
+            assertThatThrownBy(replicaRepository::clearStore)
+                    .isInstanceOf(ReadOnlyReplicaException.class);
+
+            // primary 가 보낸 변경은 primary 의 id 그대로 적용된다
+            Item item = new Item("itemA", 10000, 10);
+            item.setId(100L);
+            replicaRepository.apply(ItemMutation.save(replicaRepository.getMutationSeq() + 1, item));
+            assertThat(replicaRepository.findById(100L).getItemName()).isEqualTo("itemA");
+        }
+    }
+
+    private Process startReplicaProcess(int port, int expectedCount) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ItemReplicaProcess.class.getName(), String.valueOf(port), String.valueOf(expectedCount))
+                .redirectErrorStream(true)
+                .start();
+    }
+
+    // replica 프로세스의 로그 출력은 건너뛰고 prefix 로 시작하는 줄을 찾는다.
+    private String readLine(BufferedReader reader, String prefix) throws Exception {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        throw new IllegalStateException("replica 프로세스가 종료되었습니다. prefix=" + prefix);
+    }
+}
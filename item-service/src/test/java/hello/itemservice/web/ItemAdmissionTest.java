@@ -0,0 +1,49 @@
+package hello.itemservice.web;
+
+import hello.web.admission.AdmissionFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 화면도 입장 제어를 거친다. 클라이언트 한도를 초당 1개로 줄이고 두 번 요청한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.servlet.context-parameters.admissionFilter.clientRate=1",
+        "server.servlet.context-parameters.admissionFilter.clientBurst=1"})
+class ItemAdmissionTest {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    FilterRegistrationBean<AdmissionFilter> admissionFilter;
+
+    HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void itemsAreRateLimited() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/basic/items")).build();
+
+        HttpResponse<String> first = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> second = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(second.statusCode()).isEqualTo(429);
+        assertThat(second.headers().firstValue("Retry-After")).isPresent();
+
+        AdmissionFilter filter = admissionFilter.getFilter();
+        assertThat(filter.getMetrics().getAdmitted().sum()).isEqualTo(1);
+        assertThat(filter.getMetrics().getRateLimited().sum()).isEqualTo(1);
+        assertThat(filter.getLimiter().getInFlight()).isZero();
+    }
+}
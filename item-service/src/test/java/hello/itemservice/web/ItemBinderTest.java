@@ -0,0 +1,81 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 상품 등록/수정 폼이 생성된 ItemBinder 로 바인딩되는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemBinderTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void addAndEdit() throws Exception {
+        MvcResult added = mockMvc.perform(post("/basic/items/add")
+                        .param("itemName", "itemC")
+                        .param("price", " 3000 ")
+                        .param("quantity", "30"))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+        String location = added.getResponse().getRedirectedUrl();
+        Long itemId = Long.valueOf(location.substring("/basic/items/".length(), location.indexOf('?')));
+
+        Item item = itemRepository.findById(itemId);
+        assertThat(item.getItemName()).isEqualTo("itemC");
+        assertThat(item.getPrice()).isEqualTo(3000);
+        assertThat(item.getQuantity()).isEqualTo(30);
+
+        mockMvc.perform(post("/basic/items/{itemId}/edit", itemId)
+                        .param("itemName", "itemD")
+                        .param("price", "4000")
+                        .param("quantity", ""))
+                .andExpect(status().is3xxRedirection());
+
+        item = itemRepository.findById(itemId);
+        assertThat(item.getItemName()).isEqualTo("itemD");
+        assertThat(item.getPrice()).isEqualTo(4000);
+        assertThat(item.getQuantity()).isNull(); // 빈 값은 null (Spring 바인딩과 같다)
+    }
+
+    @Test
+    void formBody() throws Exception {
+        MvcResult added = mockMvc.perform(post("/basic/items/add")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .content("itemName=%EC%83%81%ED%92%88E&price=5000&quantity=50"))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+        String location = added.getResponse().getRedirectedUrl();
+        Long itemId = Long.valueOf(location.substring("/basic/items/".length(), location.indexOf('?')));
+
+        Item item = itemRepository.findById(itemId);
+        assertThat(item.getItemName()).isEqualTo("상품E");
+        assertThat(item.getPrice()).isEqualTo(5000);
+        assertThat(item.getQuantity()).isEqualTo(50);
+    }
+
+    @Test
+    void typeMismatch() throws Exception {
+        mockMvc.perform(post("/basic/items/add")
+                        .param("itemName", "itemC")
+                        .param("price", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,77 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemCacheTest {
+
+    static final int REPEAT = 10;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void itemsNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/basic/items"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        int bodyBytes = first.getResponse().getContentAsByteArray().length;
+
+        long bytes = bodyBytes;
+        int rendered = 1;
+        for (int i = 1; i < REPEAT; i++) {
+            MvcResult result = mockMvc.perform(get("/basic/items").header("If-None-Match", etag)).andReturn();
+            bytes += result.getResponse().getContentAsByteArray().length;
+            if (result.getModelAndView() != null) {
+                rendered++;
+            }
+            assertThat(result.getResponse().getStatus()).isEqualTo(304);
+        }
+
+        // 캐시가 없으면 REPEAT 번 모두 렌더링하고 본문을 보낸다
+        assertThat(rendered).isEqualTo(1);
+        assertThat(bytes).isEqualTo(bodyBytes);
+    }
+
+    @Test
+    void etagChangesAfterSave() throws Exception {
+        String etag = mockMvc.perform(get("/basic/items")).andReturn().getResponse().getHeader("ETag");
+
+        itemRepository.save(new Item("itemC", 30000, 30));
+
+        mockMvc.perform(get("/basic/items").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void fingerprintedCss() throws Exception {
+        String html = mockMvc.perform(get("/basic/items")).andReturn().getResponse().getContentAsString();
+        Matcher matcher = Pattern.compile("/css/bootstrap\\.min-[0-9a-f]{32}\\.css").matcher(html);
+        assertThat(matcher.find()).isTrue();
+
+        mockMvc.perform(get(matcher.group()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public"));
+    }
+}
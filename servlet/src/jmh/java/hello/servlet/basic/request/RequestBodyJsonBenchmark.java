@@ -0,0 +1,89 @@
+package hello.servlet.basic.request;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hello.servlet.basic.HelloData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 바디 JSON 바인딩 비교 (바디 크기별)
+ * copyToString : StreamUtils.copyToString 으로 바디 전체를 String 으로 만든 뒤 readValue (기존 방식)
+ * stream       : InputStream 에서 바로 파싱
+ * single*      : HelloData 하나, array* : HelloData 배열 (stream 은 MappingIterator 로 하나씩)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestBodyJsonBenchmark {
+
+    // single 은 username 길이, array 는 레코드 수
+    @Param({"10", "1000", "100000"})
+    int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectReader helloDataReader = objectMapper.readerFor(HelloData.class);
+
+    private byte[] singleBody;
+    private byte[] arrayBody;
+
+    @Setup
+    public void setUp() {
+        singleBody = ("{\"username\":\"" + "a".repeat(size) + "\",\"age\":20}").getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"username\":\"member").append(i).append("\",\"age\":").append(i % 100).append('}');
+        }
+        arrayBody = sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public HelloData singleCopyToString() throws IOException {
+        String messageBody = StreamUtils.copyToString(new ByteArrayInputStream(singleBody), StandardCharsets.UTF_8);
+        return objectMapper.readValue(messageBody, HelloData.class);
+    }
+
+    @Benchmark
+    public HelloData singleStream() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(singleBody), HelloData.class);
+    }
+
+    @Benchmark
+    public long arrayCopyToString() throws IOException {
+        String messageBody = StreamUtils.copyToString(new ByteArrayInputStream(arrayBody), StandardCharsets.UTF_8);
+        HelloData[] data = objectMapper.readValue(messageBody, HelloData[].class);
+        long ageSum = 0;
+        for (HelloData helloData : data) {
+            ageSum += helloData.getAge();
+        }
+        return ageSum;
+    }
+
+    @Benchmark
+    public long arrayStream() throws IOException {
+        long ageSum = 0;
+        try (MappingIterator<HelloData> iterator = helloDataReader.readValues(new ByteArrayInputStream(arrayBody))) {
+            while (iterator.hasNextValue()) {
+                ageSum += iterator.nextValue().getAge();
+            }
+        }
+        return ageSum;
+    }
+}
@@ -0,0 +1,90 @@
+package hello.servlet.domain.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장 1번 + 조회 15번 을 섞어서 스레드 수에 따른 처리량 비교
+ * synchronizedHashMap : 기존 HashMap 구현에 락만 추가한 경우
+ * sharded             : MemberRepository (AtomicLong + shard ConcurrentHashMap)
+ *
+ * JMH 스레드 수(-t 1, 4, 8)를 바꿔가며 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class MemberRepositoryBenchmark {
+
+    private static final int READS_PER_SAVE = 15;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+    private final SynchronizedHashMapRepository synchronizedRepository = new SynchronizedHashMapRepository();
+
+    @State(Scope.Thread)
+    public static class Counter {
+        long count;
+        long lastId = 1;
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        memberRepository.clearStore();
+        synchronizedRepository.clearStore();
+    }
+
+    @Benchmark
+    public Member sharded(Counter counter) {
+        if (counter.count++ % (READS_PER_SAVE + 1) == 0) {
+            return memberRepository.save(new Member("member", 20));
+        }
+        return memberRepository.findById(counter.lastId++ % 1024 + 1);
+    }
+
+    @Benchmark
+    public Member synchronizedHashMap(Counter counter) {
+        if (counter.count++ % (READS_PER_SAVE + 1) == 0) {
+            return synchronizedRepository.save(new Member("member", 20));
+        }
+        return synchronizedRepository.findById(counter.lastId++ % 1024 + 1);
+    }
+
+    static class SynchronizedHashMapRepository {
+
+        private final Map<Long, Member> store = new HashMap<>();
+        private long sequence = 0L;
+
+        synchronized Member save(Member member) {
+            member.setId(++sequence);
+            store.put(member.getId(), member);
+            return member;
+        }
+
+        synchronized Member findById(Long id) {
+            return store.get(id);
+        }
+
+        synchronized List<Member> findAll() {
+            return new ArrayList<>(store.values());
+        }
+
+        synchronized void clearStore() {
+            store.clear();
+        }
+    }
+}
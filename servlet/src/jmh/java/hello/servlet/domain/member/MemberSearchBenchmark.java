@@ -0,0 +1,86 @@
+package hello.servlet.domain.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 100만 명에서 검색
+ * scan*  : 인덱스 없이 findAll() 후 조건으로 거르는 경우 (기존 목록 컨트롤러에 조건만 추가했을 때)
+ * index* : MemberRepository.search (username 접두사 / 나이 구간 인덱스)
+ *
+ * username 은 member0 ~ member999999, age 는 id % 100
+ * 접두사 "member12345" 는 11명, 나이 30 ~ 30 은 1만 명이 해당된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class MemberSearchBenchmark {
+
+    private static final int MEMBER_COUNT = 1_000_000;
+    private static final String PREFIX = "member12345";
+    private static final int AGE = 30;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        memberRepository.clearStore();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            memberRepository.save(new Member("member" + i, i % 100));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        memberRepository.clearStore();
+    }
+
+    @Benchmark
+    public List<Member> scanUsernamePrefix() {
+        List<Member> result = new ArrayList<>();
+        for (Member member : memberRepository.findAll()) {
+            if (member.getUsername().startsWith(PREFIX)) {
+                result.add(member);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Member> indexUsernamePrefix() {
+        return memberRepository.search(PREFIX, null, null);
+    }
+
+    @Benchmark
+    public List<Member> scanAgeRange() {
+        List<Member> result = new ArrayList<>();
+        for (Member member : memberRepository.findAll()) {
+            if (member.getAge() >= AGE && member.getAge() <= AGE) {
+                result.add(member);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Member> indexAgeRange() {
+        return memberRepository.search(null, AGE, AGE);
+    }
+}
@@ -0,0 +1,229 @@
+package hello.servlet.web;
+
+import ch.qos.logback.classic.Logger;
+import hello.servlet.domain.member.MemberRepository;
+import hello.servlet.web.frontcontroller.V3.FrontControllerServletV3;
+import hello.servlet.web.frontcontroller.V4.FrontControllerServletV4;
+import hello.servlet.web.frontcontroller.V5.FrontControllerServletV5;
+import hello.servlet.web.frontcontroller.v1.FrontControllerServletV1;
+import hello.servlet.web.frontcontroller.v2.FrontControllerServletV2;
+import hello.servlet.web.servlet.MemberSaveServlet;
+import hello.servlet.web.servletmvc.MvcMemberSaveServlet;
+import hello.servlet.web.springmvc.v1.SpringMemberFormControllerV1;
+import hello.servlet.web.springmvc.v1.SpringMemberListControllerV1;
+import hello.servlet.web.springmvc.v1.SpringMemberSaveControllerV1;
+import hello.servlet.web.springmvc.v2.SpringMemberControllerV2;
+import hello.servlet.web.springmvc.v3.SpringMemberControllerV3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.view.InternalResourceViewResolver;
+
+import javax.servlet.Servlet;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 회원 저장 흐름(POST username, age)을 세대별 구현으로 처리하는 비용 비교
+ * 서블릿 객체를 직접 만들어 mock 요청/응답으로 service() 를 호출한다. (톰캣, 네트워크 제외)
+ *
+ * servlet      : MemberSaveServlet (HTML 을 직접 작성)
+ * servletMvc   : MvcMemberSaveServlet (JSP forward)
+ * v1 ~ v5      : 프론트 컨트롤러 (V5 는 V3/V4 컨트롤러, 애노테이션 컨트롤러)
+ * springMvc*   : DispatcherServlet + SpringMemberController V1/V2/V3
+ * baseline     : mock 요청/응답 생성 비용만 (다른 결과에서 빼서 보면 된다)
+ *
+ * JSP forward 는 MockRequestDispatcher 가 URL 만 기록하므로 JSP 실행 비용은 포함되지 않는다.
+ * 각 구현의 로그(System.out, slf4j INFO)는 측정을 방해하지 않도록 버린다. 로그 비용은 AsyncLoggingBenchmark 참고
+ *
+ * ./gradlew jmh (gc 프로파일러로 요청당 할당량 B/op 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DispatchGenerationBenchmark {
+
+    @Configuration
+    static class SpringMvcConfig {
+
+        @Bean
+        SpringMemberFormControllerV1 springMemberFormControllerV1() {
+            return new SpringMemberFormControllerV1();
+        }
+
+        @Bean
+        SpringMemberSaveControllerV1 springMemberSaveControllerV1() {
+            return new SpringMemberSaveControllerV1();
+        }
+
+        @Bean
+        SpringMemberListControllerV1 springMemberListControllerV1() {
+            return new SpringMemberListControllerV1();
+        }
+
+        @Bean
+        SpringMemberControllerV2 springMemberControllerV2() {
+            return new SpringMemberControllerV2();
+        }
+
+        @Bean
+        SpringMemberControllerV3 springMemberControllerV3() {
+            return new SpringMemberControllerV3();
+        }
+
+        // application.properties 의 spring.mvc.view.prefix / suffix 와 같은 설정
+        @Bean
+        InternalResourceViewResolver viewResolver() {
+            return new InternalResourceViewResolver("/WEB-INF/views/", ".jsp");
+        }
+    }
+
+    private final Servlet memberSaveServlet = new MemberSaveServlet();
+    private final Servlet mvcMemberSaveServlet = new MvcMemberSaveServlet();
+    private final Servlet frontControllerV1 = new FrontControllerServletV1();
+    private final Servlet frontControllerV2 = new FrontControllerServletV2();
+    private final Servlet frontControllerV3 = new FrontControllerServletV3();
+    private final Servlet frontControllerV4 = new FrontControllerServletV4();
+    private Servlet frontControllerV5;
+    private DispatcherServlet dispatcherServlet;
+
+    private PrintStream systemOut;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+        systemOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        frontControllerV5 = new FrontControllerServletV5();
+
+        MockServletContext servletContext = new MockServletContext();
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.register(SpringMvcConfig.class);
+        context.setServletContext(servletContext);
+        dispatcherServlet = new DispatcherServlet(context);
+        dispatcherServlet.init(new MockServletConfig(servletContext));
+
+        // 모든 구현이 실제로 저장 흐름을 처리하는지 확인
+        verifyForward(mvcMemberSaveServlet, "/servlet-mvc/members/save");
+        verifyForward(frontControllerV3, "/front-controller/v3/members/save");
+        verifyForward(frontControllerV5, "/front-controller/v5/annotation/members/save");
+        verifyForward(dispatcherServlet, "/springmvc/v1/members/save");
+        verifyForward(dispatcherServlet, "/springmvc/v2/members/save");
+        verifyForward(dispatcherServlet, "/springmvc/v3/members/save");
+    }
+
+    private void verifyForward(Servlet servlet, String uri) throws Exception {
+        String forwardedUrl = call(servlet, uri).getForwardedUrl();
+        if (!"/WEB-INF/views/save-result.jsp".equals(forwardedUrl)) {
+            throw new IllegalStateException("save-result 로 forward 되지 않았습니다. uri=" + uri + ", forwardedUrl=" + forwardedUrl);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(systemOut);
+        dispatcherServlet.destroy();
+        frontControllerV5.destroy();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearStore() {
+        MemberRepository.getInstance().clearStore();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse baseline() {
+        MockHttpServletRequest request = saveRequest("/servlet/members/save");
+        return new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse servlet() throws Exception {
+        return call(memberSaveServlet, "/servlet/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse servletMvc() throws Exception {
+        return call(mvcMemberSaveServlet, "/servlet-mvc/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v1() throws Exception {
+        return call(frontControllerV1, "/front-controller/v1/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v2() throws Exception {
+        return call(frontControllerV2, "/front-controller/v2/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v3() throws Exception {
+        return call(frontControllerV3, "/front-controller/v3/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v4() throws Exception {
+        return call(frontControllerV4, "/front-controller/v4/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v5ControllerV3() throws Exception {
+        return call(frontControllerV5, "/front-controller/v5/v3/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v5ControllerV4() throws Exception {
+        return call(frontControllerV5, "/front-controller/v5/v4/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v5Annotation() throws Exception {
+        return call(frontControllerV5, "/front-controller/v5/annotation/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse springMvcV1() throws Exception {
+        return call(dispatcherServlet, "/springmvc/v1/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse springMvcV2() throws Exception {
+        return call(dispatcherServlet, "/springmvc/v2/members/save");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse springMvcV3() throws Exception {
+        return call(dispatcherServlet, "/springmvc/v3/members/save");
+    }
+
+    private MockHttpServletResponse call(Servlet servlet, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(saveRequest(uri), response);
+        return response;
+    }
+
+    private MockHttpServletRequest saveRequest(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.addParameter("username", "hello");
+        request.addParameter("age", "20");
+        return request;
+    }
+}
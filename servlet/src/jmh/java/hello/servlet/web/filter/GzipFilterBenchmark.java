@@ -0,0 +1,145 @@
+package hello.servlet.web.filter;
+
+import hello.servlet.domain.member.Member;
+import hello.servlet.domain.member.MemberRepository;
+import hello.servlet.web.servlet.MemberListServlet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 회원 목록 HTML 응답을 압축 없이 / GzipFilter(Deflater 풀) / 매번 새 GZIPOutputStream 으로 보낼 때의 CPU 비용
+ * 전송 바이트 수는 setUp 에서 한 번 출력한다. (wire bytes)
+ *
+ * identity   : Accept-Encoding 없음, 필터는 그대로 통과
+ * gzipFilter : GzipFilter, Deflater 를 풀에서 재사용
+ * jdkGzip    : 응답마다 new GZIPOutputStream (Deflater 생성/해제 포함) 비교용
+ *
+ * ./gradlew jmh (gc 프로파일러로 요청당 할당량 B/op 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GzipFilterBenchmark {
+
+    @Param({"10", "100"})
+    private int members;
+
+    private final GzipFilter filter = new GzipFilter();
+    private byte[] body;
+    private HttpServlet servlet;
+
+    @Setup
+    public void setUp() throws Exception {
+        MemberRepository memberRepository = MemberRepository.getInstance();
+        for (int i = 0; i < members; i++) {
+            memberRepository.save(new Member("member" + i, 20 + i % 50));
+        }
+        MockHttpServletResponse rendered = new MockHttpServletResponse();
+        new MemberListServlet().service(new MockHttpServletRequest("GET", "/servlet/members"), rendered);
+        body = rendered.getContentAsByteArray();
+        memberRepository.clearStore();
+
+        servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType("text/html");
+                response.setCharacterEncoding("utf-8");
+                response.getOutputStream().write(body);
+            }
+        };
+        filter.init(new MockFilterConfig());
+
+        System.out.println("\nwire bytes: identity=" + identity() + ", gzip=" + gzipFilter());
+    }
+
+    @TearDown
+    public void tearDown() {
+        filter.destroy();
+    }
+
+    @Benchmark
+    public long identity() throws Exception {
+        return doFilter(new MockHttpServletRequest("GET", "/servlet/members"));
+    }
+
+    @Benchmark
+    public long gzipFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/servlet/members");
+        request.addHeader("Accept-Encoding", "gzip, deflate, br");
+        return doFilter(request);
+    }
+
+    @Benchmark
+    public long jdkGzip() throws IOException {
+        CountingResponse response = new CountingResponse();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 8192, true)) {
+            gzip.write(body);
+        }
+        return response.bytes;
+    }
+
+    private long doFilter(MockHttpServletRequest request) throws Exception {
+        CountingResponse response = new CountingResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response.bytes;
+    }
+
+    /**
+     * 내용은 버리고 전송 바이트 수만 센다.
+     */
+    static class CountingResponse extends HttpServletResponseWrapper {
+
+        long bytes;
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                bytes++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+
+        CountingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
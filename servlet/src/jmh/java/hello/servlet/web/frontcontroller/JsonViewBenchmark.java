@@ -0,0 +1,128 @@
+package hello.servlet.web.frontcontroller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.servlet.domain.member.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResponseJsonServlet 방식(writeValueAsString 으로 String 을 만든 뒤 getWriter 로 쓰기)과
+ * JsonView(JsonGenerator 로 응답 스트림에 바로 쓰기) 비교, ObjectMapper 는 둘 다 공유
+ * MockHttpServletResponse 의 스트림은 1바이트씩 쓰기 때문에 톰캣처럼 배열 단위로 쓰는 응답으로 측정한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonViewBenchmark {
+
+    @Param({"10", "1000"})
+    int memberCount;
+
+    private Map<String, Object> model;
+    private MockHttpServletRequest request;
+    private JsonView jsonView;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(256 * 1024);
+
+    @Setup
+    public void setUp() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            Member member = new Member("member" + i, 20 + i % 50);
+            member.setId((long) i);
+            members.add(member);
+        }
+        model = new HashMap<>();
+        model.put("members", members);
+        request = new MockHttpServletRequest();
+        jsonView = new JsonView();
+    }
+
+    @Benchmark
+    public HttpServletResponse writeValueAsString() throws Exception {
+        HttpServletResponse response = newResponse();
+        response.setContentType("application/json");
+        response.setCharacterEncoding("utf-8");
+        String result = objectMapper.writeValueAsString(model);
+        response.getWriter().write(result);
+        response.getWriter().flush();
+        return response;
+    }
+
+    @Benchmark
+    public HttpServletResponse jsonView() throws Exception {
+        HttpServletResponse response = newResponse();
+        jsonView.render(model, request, response);
+        return response;
+    }
+
+    private HttpServletResponse newResponse() {
+        body.reset();
+        return new BufferedResponse(body);
+    }
+
+    static class BufferedResponse extends HttpServletResponseWrapper {
+
+        private final ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        BufferedResponse(ByteArrayOutputStream body) {
+            super(new MockHttpServletResponse());
+            this.outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    body.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                }
+            };
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            }
+            return writer;
+        }
+    }
+}
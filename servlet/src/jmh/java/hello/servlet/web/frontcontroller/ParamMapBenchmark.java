@@ -0,0 +1,68 @@
+package hello.servlet.web.frontcontroller;
+
+import hello.servlet.web.frontcontroller.V3.ControllerV3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createParamMap 복사 방식과 RequestParamMap 비교 (-prof gc 로 요청당 할당량 확인)
+ * 컨트롤러는 MemberSaveControllerV3 처럼 username, age 두 개만 읽는다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParamMapBenchmark {
+
+    @Param({"2", "20"})
+    private int paramCount;
+
+    private MockHttpServletRequest request;
+    private ControllerV3 controller;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("POST", "/front-controller/v3/members/save");
+        request.addParameter("username", "hello");
+        request.addParameter("age", "20");
+        for (int i = 2; i < paramCount; i++) {
+            request.addParameter("field" + i, "value" + i);
+        }
+
+        controller = paramMap -> {
+            ModelView mv = new ModelView("save-result");
+            mv.getModel().put("username", paramMap.get("username"));
+            mv.getModel().put("age", Integer.parseInt(paramMap.get("age")));
+            return mv;
+        };
+    }
+
+    @Benchmark
+    public ModelView copy() {
+        return controller.process(copyParamMap(request));
+    }
+
+    @Benchmark
+    public ModelView view() {
+        return controller.process(new RequestParamMap(request));
+    }
+
+    // 기존 createParamMap
+    private Map<String, String> copyParamMap(HttpServletRequest request) {
+        Map<String, String> paramMap = new HashMap<>();
+        request.getParameterNames().asIterator()
+                .forEachRemaining(paramName -> paramMap.put(paramName, request.getParameter(paramName)));
+        return paramMap;
+    }
+}
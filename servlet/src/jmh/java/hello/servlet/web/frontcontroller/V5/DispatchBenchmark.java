@@ -0,0 +1,114 @@
+package hello.servlet.web.frontcontroller.V5;
+
+import hello.servlet.web.frontcontroller.ModelView;
+import hello.servlet.web.frontcontroller.MyView;
+import hello.servlet.web.frontcontroller.View;
+import hello.servlet.web.frontcontroller.V3.controller.MemberFormControllerV3;
+import hello.servlet.web.frontcontroller.V3.controller.MemberListControllerV3;
+import hello.servlet.web.frontcontroller.V3.controller.MemberSaveControllerV3;
+import hello.servlet.web.frontcontroller.V4.controller.MemberFormControllerV4;
+import hello.servlet.web.frontcontroller.V4.controller.MemberListControllerV4;
+import hello.servlet.web.frontcontroller.V4.controller.MemberSaveControllerV4;
+import hello.servlet.web.frontcontroller.V5.adapter.ControllerV3HandlerAdapter;
+import hello.servlet.web.frontcontroller.V5.adapter.ControllerV4HandlerAdapter;
+import hello.servlet.web.frontcontroller.router.RouteMatch;
+import hello.servlet.web.frontcontroller.router.TrieRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * V5 프론트 컨트롤러의 핸들러 -> 어댑터 -> 뷰 결정 과정 비교 (-prof gc 로 요청당 할당량 확인)
+ * before: URI HashMap 조회 + 요청마다 supports() 로 어댑터 탐색 + 요청마다 new MyView
+ * after : FrontControllerServletV5 와 같은 dispatch table (경로별 HandlerExecution) + MyView 캐시
+ *
+ * JSP forward 는 두 방식이 같고 측정값을 가리기 때문에 제외했다.
+ * 핸들러는 파라미터를 읽지 않는 MemberFormControllerV4 를 사용한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DispatchBenchmark {
+
+    private static final String REQUEST_URI = "/front-controller/v5/v4/members/new-form";
+
+    // before
+    private final Map<String, Object> handlerMappingMap = new HashMap<>();
+    private final List<MyHandlerAdapter> handlerAdapters = new ArrayList<>();
+
+    // after
+    private final TrieRouter<HandlerExecution> handlerMapping = new TrieRouter<>();
+    private final Map<String, View> viewCache = new ConcurrentHashMap<>();
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        handlerAdapters.add(new ControllerV3HandlerAdapter());
+        handlerAdapters.add(new ControllerV4HandlerAdapter());
+
+        Map<String, Object> handlers = new HashMap<>();
+        handlers.put("/front-controller/v5/v3/members/new-form", new MemberFormControllerV3());
+        handlers.put("/front-controller/v5/v3/members/save", new MemberSaveControllerV3());
+        handlers.put("/front-controller/v5/v3/members", new MemberListControllerV3());
+        handlers.put("/front-controller/v5/v4/members/new-form", new MemberFormControllerV4());
+        handlers.put("/front-controller/v5/v4/members/save", new MemberSaveControllerV4());
+        handlers.put("/front-controller/v5/v4/members", new MemberListControllerV4());
+
+        for (Entry<String, Object> entry : handlers.entrySet()) {
+            handlerMappingMap.put(entry.getKey(), entry.getValue());
+            handlerMapping.add(entry.getKey(), new HandlerExecution(entry.getKey(), entry.getValue(), getHandlerAdapter(entry.getValue())));
+        }
+
+        request = new MockHttpServletRequest("GET", REQUEST_URI);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MyView before() throws ServletException, IOException {
+        Object handler = handlerMappingMap.get(request.getRequestURI());
+        MyHandlerAdapter adapter = getHandlerAdapter(handler);
+        ModelView mv = adapter.handle(request, response, handler);
+        return new MyView("/WEB-INF/views/" + mv.getViewName() + ".jsp");
+    }
+
+    @Benchmark
+    public View after() throws ServletException, IOException {
+        RouteMatch<HandlerExecution> match = handlerMapping.match(request.getRequestURI());
+        HandlerExecution execution = match.getHandler();
+        ModelView mv = execution.getAdapter().handle(request, response, execution.getHandler());
+
+        View view = execution.getResolvedView(mv.getViewName());
+        if (view == null) {
+            view = viewCache.computeIfAbsent(mv.getViewName(), name -> new MyView("/WEB-INF/views/" + name + ".jsp"));
+            execution.setResolvedView(mv.getViewName(), view);
+        }
+        return view;
+    }
+
+    private MyHandlerAdapter getHandlerAdapter(Object handler) {
+        for (MyHandlerAdapter adapter : handlerAdapters) {
+            if (adapter.supports(handler)) {
+                return adapter;
+            }
+        }
+        throw new IllegalArgumentException("handler adapter를 찾을 수 없습니다. handler=" + handler);
+    }
+}
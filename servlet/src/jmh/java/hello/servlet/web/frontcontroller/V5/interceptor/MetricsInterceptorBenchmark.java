@@ -0,0 +1,38 @@
+package hello.servlet.web.frontcontroller.V5.interceptor;
+
+import hello.servlet.web.frontcontroller.V4.controller.MemberListControllerV4;
+import hello.servlet.web.frontcontroller.V5.HandlerExecution;
+import hello.servlet.web.frontcontroller.V5.adapter.ControllerV4HandlerAdapter;
+import hello.servlet.web.frontcontroller.metrics.RouteMetricsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricsInterceptor 의 preHandle + afterCompletion 비용 (gc.alloc.rate.norm 이 0 에 가까워야 한다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsInterceptorBenchmark {
+
+    private final MetricsInterceptor interceptor = new MetricsInterceptor(RouteMetricsRegistry.getInstance());
+    private final HandlerExecution execution = new HandlerExecution("/front-controller/v5/v4/members",
+            new MemberListControllerV4(), new ControllerV4HandlerAdapter());
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/v4/members");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Benchmark
+    public void record() {
+        long startNanos = System.nanoTime();
+        interceptor.preHandle(request, response, execution);
+        interceptor.afterCompletion(request, response, execution, startNanos, null);
+    }
+}
@@ -0,0 +1,133 @@
+package hello.servlet.web.frontcontroller.annotation;
+
+import hello.servlet.web.frontcontroller.RequestParamMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러 메서드 호출 비용 비교
+ * direct        : 컴파일된 코드로 직접 호출 (resolveArguments 의 인자 배열 포함)
+ * lambdaInvoker : HandlerMethod.invoke() (LambdaMetafactory invoker, 인자 배열 없음)
+ * reflection    : Method.invoke() (resolveArguments 의 인자 배열 포함)
+ * springAdapter : 스프링 RequestMappingHandlerAdapter.handle() (@RequestParam, Model 바인딩 포함, 참고용)
+ *
+ * direct, lambdaInvoker, reflection 은 모두 HandlerMethod 의 같은 ArgumentResolver 로 파라미터를 꺼낸다.
+ * direct 와 reflection 은 Object[] 를 만들고 꺼내므로, lambdaInvoker 가 direct 와 같거나 조금 빠르게 나올 수 있다.
+ * 서블릿에는 핸들러가 여러 개 있으므로, setUp 에서 다른 메서드도 같은 경로로 호출해서
+ * 호출 지점이 한 가지 타입만 본 것처럼 최적화되지 않게 한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HandlerInvocationBenchmark {
+
+    public static class HelloController {
+
+        public String save(@MyRequestParam("username") @RequestParam("username") String username,
+                           @MyRequestParam("age") @RequestParam("age") int age,
+                           Map<String, Object> model) {
+            model.put("username", username);
+            model.put("age", age);
+            return "save-result";
+        }
+
+        public String update(@MyRequestParam("username") String username,
+                             @MyRequestParam("age") int age,
+                             Map<String, Object> model) {
+            model.put("username", username);
+            return "update-result";
+        }
+
+        public String delete(@MyRequestParam("username") String username,
+                             @MyRequestParam("age") int age,
+                             Map<String, Object> model) {
+            model.put("age", age);
+            return "delete-result";
+        }
+    }
+
+    private static final int WARM_UP_CALLS = 20_000;
+
+    private HelloController controller;
+    private Method method;
+    private HandlerMethod handlerMethod;
+    private RequestMappingHandlerAdapter springAdapter;
+    private org.springframework.web.method.HandlerMethod springHandlerMethod;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        controller = new HelloController();
+        method = HelloController.class.getMethod("save", String.class, int.class, Map.class);
+        handlerMethod = new HandlerMethod("/save", controller, method);
+
+        StaticWebApplicationContext context = new StaticWebApplicationContext();
+        context.refresh();
+        springAdapter = new RequestMappingHandlerAdapter();
+        springAdapter.setApplicationContext(context);
+        springAdapter.afterPropertiesSet();
+        springHandlerMethod = new org.springframework.web.method.HandlerMethod(controller, method);
+
+        request = new MockHttpServletRequest("POST", "/save");
+        request.addParameter("username", "hello");
+        request.addParameter("age", "20");
+        response = new MockHttpServletResponse();
+
+        for (String other : new String[]{"update", "delete"}) {
+            Method otherMethod = HelloController.class.getMethod(other, String.class, int.class, Map.class);
+            HandlerMethod otherHandlerMethod = new HandlerMethod("/" + other, controller, otherMethod);
+            for (int i = 0; i < WARM_UP_CALLS; i++) {
+                Map<String, String> paramMap = new RequestParamMap(request);
+                Map<String, Object> model = new HashMap<>();
+                otherHandlerMethod.invoke(request, response, paramMap, model);
+                otherMethod.invoke(controller, otherHandlerMethod.resolveArguments(request, response, paramMap, model));
+            }
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object direct() {
+        Map<String, String> paramMap = new RequestParamMap(request);
+        Map<String, Object> model = new HashMap<>();
+        Object[] args = handlerMethod.resolveArguments(request, response, paramMap, model);
+        return controller.save((String) args[0], (Integer) args[1], (Map<String, Object>) args[2]);
+    }
+
+    @Benchmark
+    public Object lambdaInvoker() {
+        Map<String, String> paramMap = new RequestParamMap(request);
+        Map<String, Object> model = new HashMap<>();
+        return handlerMethod.invoke(request, response, paramMap, model);
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        Map<String, String> paramMap = new RequestParamMap(request);
+        Map<String, Object> model = new HashMap<>();
+        return method.invoke(controller, handlerMethod.resolveArguments(request, response, paramMap, model));
+    }
+
+    @Benchmark
+    public ModelAndView springAdapter() throws Exception {
+        return springAdapter.handle(request, response, springHandlerMethod);
+    }
+}
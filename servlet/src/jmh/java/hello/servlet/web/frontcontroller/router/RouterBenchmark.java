@@ -0,0 +1,104 @@
+package hello.servlet.web.frontcontroller.router;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1,000개 경로에서 TrieRouter 와 스프링 PathPattern 매칭 비교
+ * 경로의 절반은 정적 경로, 절반은 {id} 경로 변수를 가진다.
+ *
+ * 스프링 RequestMappingHandlerMapping 처럼 정적 경로는 Map 으로 먼저 찾고,
+ * 없으면 SPECIFICITY_COMPARATOR 로 정렬된 패턴을 순서대로 matchAndExtract 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouterBenchmark {
+
+    private static final int ROUTE_COUNT = 1000;
+    private static final int REQUEST_COUNT = 1024; // 2의 제곱수
+
+    private TrieRouter<Integer> trieRouter;
+    private Map<String, Integer> directPaths;
+    private List<PathPattern> pathPatterns;
+    private String[] requests;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        trieRouter = new TrieRouter<>();
+        directPaths = new HashMap<>();
+        pathPatterns = new ArrayList<>();
+
+        PathPatternParser parser = new PathPatternParser();
+        for (int i = 0; i < ROUTE_COUNT; i++) {
+            String pattern = pattern(i);
+            trieRouter.add(pattern, i);
+
+            PathPattern pathPattern = parser.parse(pattern);
+            if (pathPattern.hasPatternSyntax()) {
+                pathPatterns.add(pathPattern);
+            } else {
+                directPaths.put(pattern, i);
+            }
+        }
+        pathPatterns.sort(PathPattern.SPECIFICITY_COMPARATOR);
+
+        Random random = new Random(42);
+        requests = new String[REQUEST_COUNT];
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            int route = random.nextInt(ROUTE_COUNT);
+            requests[i] = route % 2 == 0
+                    ? "/api/group" + (route % 10) + "/resource" + route + "/items"
+                    : "/api/group" + (route % 10) + "/resource" + route + "/items/" + random.nextInt(100_000);
+        }
+    }
+
+    private static String pattern(int route) {
+        return route % 2 == 0
+                ? "/api/group" + (route % 10) + "/resource" + route + "/items"
+                : "/api/group" + (route % 10) + "/resource" + route + "/items/{id}";
+    }
+
+    private String nextRequest() {
+        return requests[index++ & (REQUEST_COUNT - 1)];
+    }
+
+    @Benchmark
+    public RouteMatch<Integer> trieRouter() {
+        return trieRouter.match(nextRequest());
+    }
+
+    @Benchmark
+    public Object springPathPattern() {
+        String path = nextRequest();
+        Integer direct = directPaths.get(path);
+        if (direct != null) {
+            return direct;
+        }
+
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (PathPattern pattern : pathPatterns) {
+            PathPattern.PathMatchInfo info = pattern.matchAndExtract(pathContainer);
+            if (info != null) {
+                return info;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,70 @@
+package hello.servlet.web.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import hello.servlet.basic.HelloData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HelloData JSON 읽기/쓰기 비교
+ * perClass* : 서블릿마다 new ObjectMapper() 를 들고 readValue/writeValueAsString 후 getWriter() 로 쓰던 방식 (기존)
+ * codec*    : JsonCodec (BlackbirdModule) 의 미리 만든 ObjectReader/ObjectWriter 로 스트림에 바로 쓰는 방식
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonCodecBenchmark {
+
+    private final ObjectMapper perClassMapper = new ObjectMapper();
+    private final ObjectReader helloDataReader = JsonCodec.readerFor(HelloData.class);
+    private final ObjectWriter helloDataWriter = JsonCodec.writerFor(HelloData.class);
+
+    private byte[] body;
+    private HelloData data;
+
+    @Setup
+    public void setUp() {
+        body = "{\"username\":\"hello\",\"age\":20}".getBytes(StandardCharsets.UTF_8);
+        data = new HelloData();
+        data.setUsername("kim");
+        data.setAge(20);
+    }
+
+    @Benchmark
+    public HelloData perClassRead() throws IOException {
+        return perClassMapper.readValue(body, HelloData.class);
+    }
+
+    @Benchmark
+    public HelloData codecRead() throws IOException {
+        return helloDataReader.readValue(body);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse perClassWrite() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setHeader("content-type", "application/json");
+        response.setCharacterEncoding("utf-8");
+        response.getWriter().write(perClassMapper.writeValueAsString(data));
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse codecWrite() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        JsonCodec.write(response, helloDataWriter, data);
+        return response;
+    }
+}
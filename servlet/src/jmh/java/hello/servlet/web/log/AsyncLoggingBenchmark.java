@@ -0,0 +1,145 @@
+package hello.servlet.web.log;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import hello.servlet.domain.member.MemberRepository;
+import hello.servlet.web.frontcontroller.V3.FrontControllerServletV3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.Servlet;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그 출력 방식에 따라 요청 처리 시간이 얼마나 늘어나는지 비교
+ * 실제 애플리케이션과 같은 전역 LoggerContext 를 모드별로 다시 구성하고, V3 프론트 컨트롤러 저장 요청을 처리한다.
+ *
+ * off        : 로그 끔 (기준)
+ * sync       : 요청 스레드가 직접 출력 (기존 System.out 과 같은 구조)
+ * asyncBlock : AsyncAppender, 큐가 차면 요청 스레드가 기다린다
+ * asyncDrop  : AsyncAppender, 큐가 차면 버린다 (logback-spring.xml 기본값)
+ * sampled    : asyncDrop + SamplingTurboFilter(100 건 중 1 건)
+ *
+ * 콘솔 대신 임시 파일에 이벤트마다 flush 해서 콘솔 출력과 비슷한 시스템 콜 비용을 만든다.
+ *
+ * ./gradlew jmh (gc 프로파일러로 요청당 할당량 B/op 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class AsyncLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"off", "sync", "asyncBlock", "asyncDrop", "sampled"})
+    private String mode;
+
+    private final Servlet frontControllerV3 = new FrontControllerServletV3();
+    private final org.slf4j.Logger log = LoggerFactory.getLogger(FrontControllerServletV3.class);
+
+    private LoggerContext loggerContext;
+    private File logFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("async-logging-benchmark", ".log").toFile();
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        if ("off".equals(mode)) {
+            root.setLevel(ch.qos.logback.classic.Level.OFF);
+            return;
+        }
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        // 프론트 컨트롤러 로그만 남기도록 나머지는 끈다
+        loggerContext.getLogger("org").setLevel(ch.qos.logback.classic.Level.OFF);
+
+        Appender<ILoggingEvent> file = fileAppender();
+        if ("sync".equals(mode)) {
+            root.addAppender(file);
+            return;
+        }
+        root.addAppender(asyncAppender(file, !"asyncBlock".equals(mode)));
+        if ("sampled".equals(mode)) {
+            SamplingTurboFilter filter = new SamplingTurboFilter();
+            filter.setLoggerPrefix("hello.servlet.web.frontcontroller");
+            filter.setRate(100);
+            filter.start();
+            loggerContext.addTurboFilter(filter);
+        }
+    }
+
+    private Appender<ILoggingEvent> fileAppender() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(loggerContext);
+        appender.setFile(logFile.getAbsolutePath());
+        appender.setEncoder(encoder);
+        appender.setImmediateFlush(true);
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> asyncAppender(Appender<ILoggingEvent> delegate, boolean neverBlock) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(loggerContext);
+        appender.addAppender(delegate);
+        appender.setQueueSize(8192);
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(neverBlock);
+        appender.start();
+        return appender;
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.reset();
+        logFile.delete();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearStore() {
+        MemberRepository.getInstance().clearStore();
+    }
+
+    @Benchmark
+    public void logOnly() {
+        log.info("FrontControllerServletV3.service");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse frontControllerV3Save() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/front-controller/v3/members/save");
+        request.addParameter("username", "hello");
+        request.addParameter("age", "20");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        frontControllerV3.service(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,98 @@
+package hello.servlet.web.multipart;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 하나(필드 1개 + 파일 1개)를 파싱해서 디스크에 쓰고 SHA-256 을 계산하는 비용
+ *
+ * streaming   : MultipartStreamParser (64KB 버퍼, 파트를 메모리에 올리지 않음)
+ * inMemory    : 요청 전체를 byte[] 로 읽은 뒤 파일 부분을 해시하고 쓰는 방식 (비교용, 요청 크기만큼 할당)
+ *
+ * 처리량(MB/s) = fileSizeKb / 1024 / (ms/op / 1000)
+ * 동시 업로드는 JMH -t 옵션으로 스레드 수를 바꿔서 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MultipartUploadBenchmark {
+
+    static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+
+    @Param({"1024", "32768"})
+    private int fileSizeKb;
+
+    private byte[] body;
+    private int fileOffset;
+    private int fileLength;
+    private Path directory;
+    private MultipartStreamParser parser;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] file = new byte[fileSizeKb * 1024];
+        new Random(1).nextBytes(file);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"username\"\r\n\r\nhello\r\n"
+                + "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"big.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        fileOffset = out.size();
+        fileLength = file.length;
+        out.writeBytes(file);
+        out.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        body = out.toByteArray();
+
+        directory = Files.createTempDirectory("multipart-benchmark");
+        parser = new MultipartStreamParser(directory, 64 * 1024, 64 * 1024, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public long streaming() throws IOException {
+        List<MultipartPart> parts = parser.parse(new ByteArrayInputStream(body), BOUNDARY);
+        long size = parts.get(1).getSize();
+        MultipartStreamParser.delete(parts);
+        return size;
+    }
+
+    @Benchmark
+    public long inMemory() throws Exception {
+        byte[] all = new ByteArrayInputStream(body).readAllBytes();
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(all, fileOffset, fileLength);
+        Path path = Files.createTempFile(directory, "upload-", ".part");
+        byte[] file = new byte[fileLength];
+        System.arraycopy(all, fileOffset, file, 0, fileLength);
+        Files.write(path, file);
+        Files.delete(path);
+        return digest.digest().length + file.length;
+    }
+}
@@ -0,0 +1,67 @@
+package hello.servlet.web.param;
+
+import hello.web.param.LazyParameters;
+import org.apache.tomcat.util.http.Parameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 필드가 많은 폼 본문에서 컨트롤러가 username, age 두 개만 읽는 경우 (-prof gc 로 요청당 할당량 확인)
+ * container : 톰캣 Parameters (request.getParameter 가 처음 호출될 때 하는 파싱, 모든 이름/값을 디코딩)
+ * lazy      : LazyParameters (위치만 기록하고 읽는 값만 디코딩)
+ *
+ * 나머지 필드는 %XX 로 인코딩된 한글 값을 넣어서 실제 폼처럼 디코딩 비용이 있게 한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class FormParameterBenchmark {
+
+    @Param({"10", "100"})
+    private int fieldCount;
+
+    private byte[] body;
+    private final Parameters parameters = new Parameters();
+
+    @Setup
+    public void setUp() {
+        StringBuilder form = new StringBuilder("username=hello&age=20");
+        for (int i = 2; i < fieldCount; i++) {
+            form.append("&field").append(i).append("=%ED%9A%8C%EC%9B%90+").append(i);
+        }
+        body = form.toString().getBytes(StandardCharsets.ISO_8859_1);
+        parameters.setCharset(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void container(Blackhole blackhole) {
+        parameters.recycle();
+        parameters.setCharset(StandardCharsets.UTF_8);
+        parameters.processParameters(body, 0, body.length);
+        blackhole.consume(parameters.getParameter("username"));
+        blackhole.consume(Integer.parseInt(parameters.getParameter("age")));
+    }
+
+    @Benchmark
+    public void lazy(Blackhole blackhole) {
+        LazyParameters lazy = LazyParameters.parse(null, body, StandardCharsets.UTF_8);
+        blackhole.consume(lazy.get("username"));
+        blackhole.consume(Integer.parseInt(lazy.get("age")));
+    }
+}
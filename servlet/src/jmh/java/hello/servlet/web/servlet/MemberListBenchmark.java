@@ -0,0 +1,124 @@
+package hello.servlet.web.servlet;
+
+import hello.servlet.ServletApplication;
+import hello.servlet.domain.member.Member;
+import hello.servlet.domain.member.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 목록 HTML 생성 비교
+ * printWriter : 기존 MemberListServlet (PrintWriter 로 조각마다 write, 행마다 문자열 연결)
+ * template    : HtmlTemplate (미리 변환한 byte[] 조각 + HtmlWriter)
+ * http*       : 애플리케이션을 띄워서 /servlet/members 와 JSP(/jsp/members.jsp)를 HTTP 로 호출
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberListBenchmark {
+
+    @Param({"10", "1000"})
+    int memberCount;
+
+    private List<Member> members;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest servletRequest;
+    private HttpRequest jspRequest;
+
+    @Setup
+    public void setUp() {
+        MemberRepository memberRepository = MemberRepository.getInstance();
+        memberRepository.clearStore();
+        members = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            members.add(memberRepository.save(new Member("member" + i, 20 + i % 50)));
+        }
+
+        context = SpringApplication.run(ServletApplication.class,
+                "--server.port=0", "--logging.level.root=warn", "--logging.level.org.apache.coyote.http11=warn");
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+        client = HttpClient.newHttpClient();
+        servletRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/servlet/members")).build();
+        jspRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/jsp/members.jsp")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int printWriter() {
+        out.reset();
+        PrintWriter w = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        w.write("<html>");
+        w.write("<head>");
+        w.write(" <meta charset=\"UTF-8\">");
+        w.write(" <title>Title</title>");
+        w.write("</head>");
+        w.write("<body>");
+        w.write("<a href=\"/index.html\">메인</a>");
+        w.write("<table>");
+        w.write(" <thead>");
+        w.write(" <th>id</th>");
+        w.write(" <th>username</th>");
+        w.write(" <th>age</th>");
+        w.write(" </thead>");
+        w.write(" <tbody>");
+        for (Member member : members) {
+            w.write(" <tr>");
+            w.write(" <td>" + member.getId() + "</td>");
+            w.write(" <td>" + member.getUsername() + "</td>");
+            w.write(" <td>" + member.getAge() + "</td>");
+            w.write(" </tr>");
+        }
+        w.write(" </tbody>");
+        w.write("</table>");
+        w.write("</body>");
+        w.write("</html>");
+        w.flush();
+        return out.size();
+    }
+
+    @Benchmark
+    public int template() throws IOException {
+        out.reset();
+        MemberListServlet.render(members, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int httpServlet() throws Exception {
+        return client.send(servletRequest, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+
+    @Benchmark
+    public int httpJsp() throws Exception {
+        return client.send(jspRequest, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+}
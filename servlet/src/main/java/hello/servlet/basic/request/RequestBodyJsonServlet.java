@@ -1,8 +1,9 @@
 package hello.servlet.basic.request;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import hello.servlet.basic.HelloData;
-import org.springframework.util.StreamUtils;
+import hello.servlet.web.json.JsonCodec;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.ServletException;
 import javax.servlet.ServletInputStream;
@@ -11,24 +12,22 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
+@Slf4j
 @WebServlet(name = "requestBodyJsonServlet", urlPatterns = "/request-body-json")
 public class RequestBodyJsonServlet extends HttpServlet {
 
-    private ObjectMapper objectMapper = new ObjectMapper();
+    // HelloData deserializer 를 만들 때 한 번 찾아둔다.
+    private final ObjectReader helloDataReader = JsonCodec.readerFor(HelloData.class);
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        // messageBody = {"username":"hello","age":20}
+        // 바디를 String 으로 복사하지 않고 스트림에서 바로 HelloData 로 변환
         ServletInputStream inputStream = request.getInputStream();
-        String messageBody = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+        HelloData helloData = helloDataReader.readValue(inputStream);
 
-        System.out.println("messageBody = " + messageBody); // messageBody = {"username":"hello","age":20}
-
-        HelloData helloData = objectMapper.readValue(messageBody, HelloData.class);
-
-        System.out.println("helloData.username = " + helloData.getUsername()); // helloData.username = hello
-        System.out.println("helloData.age = " + helloData.getAge()); // helloData.age = 20
+        log.info("helloData.username={}, helloData.age={}", helloData.getUsername(), helloData.getAge()); // hello, 20
 
         response.getWriter().write("ok");
     }
@@ -0,0 +1,47 @@
+package hello.servlet.basic.request;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hello.servlet.basic.HelloData;
+import hello.servlet.web.json.JsonCodec;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * JSON 배열 또는 NDJSON(한 줄에 JSON 객체 하나)
+ * [{"username":"hello","age":20},{"username":"kim","age":30}]
+ * {"username":"hello","age":20}\n{"username":"kim","age":30}\n
+ *
+ * 바디 전체를 메모리에 올리지 않고 HelloData 를 하나씩 읽기 때문에 레코드 수와 상관없이 메모리 사용량이 일정하다.
+ */
+@Slf4j
+@WebServlet(name = "requestBodyJsonStreamServlet", urlPatterns = "/request-body-json-stream")
+public class RequestBodyJsonStreamServlet extends HttpServlet {
+
+    private final ObjectReader helloDataReader = JsonCodec.readerFor(HelloData.class);
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        long count = 0;
+        long ageSum = 0;
+
+        // 최상위가 배열이면 배열 요소를, 아니면 공백/줄바꿈으로 구분된 값을 차례로 읽는다.
+        try (MappingIterator<HelloData> iterator = helloDataReader.readValues(request.getInputStream())) {
+            while (iterator.hasNextValue()) {
+                HelloData helloData = iterator.nextValue();
+                count++;
+                ageSum += helloData.getAge();
+            }
+        }
+
+        log.info("count={}, ageSum={}", count, ageSum);
+
+        response.getWriter().write("ok count=" + count);
+    }
+}
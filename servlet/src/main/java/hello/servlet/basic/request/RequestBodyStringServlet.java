@@ -1,5 +1,6 @@
 package hello.servlet.basic.request;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StreamUtils;
 
 import javax.servlet.ServletException;
@@ -11,6 +12,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
+@Slf4j
 @WebServlet(name = "requestBodyStringServlet", urlPatterns = "/request-body-string")
 public class RequestBodyStringServlet extends HttpServlet {
     @Override
@@ -19,7 +21,7 @@ public class RequestBodyStringServlet extends HttpServlet {
         // InputStream은 byte 코드를 반환, byte 코드를 String으로 보려고 UTF-8 Charset 지정
         String messageBody = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
 
-        System.out.println("messageBody = " + messageBody);
+        log.info("messageBody={}", messageBody);
 
         response.getWriter().write("ok");
     }
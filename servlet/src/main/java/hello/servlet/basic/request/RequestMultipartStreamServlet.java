@@ -0,0 +1,96 @@
+package hello.servlet.basic.request;
+
+import hello.servlet.web.multipart.MultipartLimitException;
+import hello.servlet.web.multipart.MultipartPart;
+import hello.servlet.web.multipart.MultipartStreamParser;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * multipart/form-data 업로드를 스트리밍으로 받는다.
+ * curl -F "username=hello" -F "file=@big.bin" http://localhost:8080/request-multipart-stream
+ *
+ * @MultipartConfig 가 없으므로 톰캣은 바디를 파싱하지 않고, MultipartStreamParser 가 InputStream 을 직접 읽는다.
+ * 요청당 메모리는 버퍼 64KB + 필드 값 64KB 로 고정되고, 동시 업로드 수를 제한해서 전체 메모리도 제한한다.
+ * 응답 후 임시 파일은 지운다. (실제 서비스라면 Files.move 로 보관 위치로 옮긴다)
+ */
+@Slf4j
+@WebServlet(name = "requestMultipartStreamServlet", urlPatterns = "/request-multipart-stream")
+public class RequestMultipartStreamServlet extends HttpServlet {
+
+    static final int MAX_CONCURRENT_UPLOADS = 16;
+
+    private final Semaphore uploads = new Semaphore(MAX_CONCURRENT_UPLOADS);
+    private MultipartStreamParser parser;
+
+    @Override
+    public void init() throws ServletException {
+        try {
+            Path directory = Files.createDirectories(Paths.get(System.getProperty("java.io.tmpdir"), "servlet-upload"));
+            parser = new MultipartStreamParser(directory, 64 * 1024, 64 * 1024, 512L * 1024 * 1024, 1024L * 1024 * 1024);
+        } catch (IOException e) {
+            throw new ServletException("업로드 디렉토리를 만들 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        String boundary = MultipartStreamParser.boundaryOf(request.getContentType());
+        if (boundary == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "multipart/form-data 요청이 아닙니다.");
+            return;
+        }
+        if (request.getContentLengthLong() > 1024L * 1024 * 1024) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        if (!uploads.tryAcquire()) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "동시 업로드가 너무 많습니다.");
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        List<MultipartPart> parts = null;
+        try {
+            parts = parser.parse(request.getInputStream(), boundary);
+        } catch (MultipartLimitException e) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } finally {
+            uploads.release();
+        }
+
+        try {
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            response.setContentType("text/plain");
+            response.setCharacterEncoding("utf-8");
+            PrintWriter writer = response.getWriter();
+            for (MultipartPart part : parts) {
+                if (part.isFile()) {
+                    writer.println("file name=" + part.getName() + ", filename=" + part.getFilename()
+                            + ", size=" + part.getSize() + ", sha256=" + part.getSha256());
+                    log.info("upload name={}, filename={}, size={}, elapsedMillis={}", part.getName(), part.getFilename(), part.getSize(), elapsedMillis);
+                } else {
+                    writer.println("field name=" + part.getName() + ", value=" + part.getValue());
+                }
+            }
+        } finally {
+            MultipartStreamParser.delete(parts);
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package hello.servlet.basic.response;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import hello.servlet.basic.HelloData;
+import hello.servlet.web.json.JsonCodec;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -13,23 +14,20 @@ import java.io.IOException;
 /**
  * http://localhost:8080/response-json
  *
+ * String 으로 만든 뒤 getWriter() 로 다시 인코딩하지 않고, 응답 스트림에 UTF-8 로 바로 쓴다.
  */
 @WebServlet(name = "responseJsonServlet", urlPatterns = "/response-json")
 public class ResponseJsonServlet extends HttpServlet {
-    private ObjectMapper objectMapper = new ObjectMapper();
+    // HelloData serializer 를 만들 때 한 번 찾아둔다.
+    private final ObjectWriter helloDataWriter = JsonCodec.writerFor(HelloData.class);
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        //Content-Type: application/json
-        response.setHeader("content-type", "application/json");
-        response.setCharacterEncoding("utf-8");
-
         HelloData data = new HelloData();
         data.setUsername("kim");
         data.setAge(20);
+        //Content-Type: application/json
         //{"username":"kim","age":20}
-        String result = objectMapper.writeValueAsString(data);
-
-        response.getWriter().write(result);
+        JsonCodec.write(response, helloDataWriter, data);
     }
 }
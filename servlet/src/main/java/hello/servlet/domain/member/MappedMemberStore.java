@@ -0,0 +1,149 @@
+package hello.servlet.domain.member;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파일 저장소 (메모리 맵 파일), 재시작해도 회원이 유지된다.
+ *
+ * members.rec  : 32바이트 고정 길이 레코드, id 번 레코드의 위치 = id * 32 (0번 자리는 헤더)
+ *   헤더   [0] magic, [8] 마지막 id(tail), [16] username heap tail, [24] clearStore 이후 첫 id
+ *   레코드 [0] id, [8] username 위치, [16] username 길이(null 이면 -1), [20] age
+ * members.heap : username UTF-8 바이트를 이어서 저장
+ *
+ * 저장할 때는 tail 을 원자적으로 증가시켜 자리를 먼저 확보하고(락 없음) 그 자리에 쓴다.
+ * id 는 마지막에 기록하기 때문에 id 가 비어 있는 레코드(쓰는 중, 중간에 종료)는 없는 것으로 본다.
+ * 시작할 때는 헤더만 확인하면 되고, 파일 전체를 읽어서 객체로 만드는 과정이 없다.
+ */
+class MappedMemberStore implements MemberStore {
+
+    static final long MAGIC = 0x4D454D4245523031L; // "MEMBER01"
+    static final int RECORD_SIZE = 32;
+
+    // 헤더
+    private static final long MAGIC_POS = 0;
+    private static final long TAIL_POS = 8;
+    private static final long HEAP_TAIL_POS = 16;
+    private static final long FIRST_ID_POS = 24;
+
+    // 레코드
+    private static final int ID = 0;
+    private static final int USERNAME_OFFSET = 8;
+    private static final int USERNAME_LENGTH = 16;
+    private static final int AGE = 20;
+
+    private final MappedSegments records;
+    private final MappedSegments heap;
+
+    static MappedMemberStore open(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            MappedMemberStore store = new MappedMemberStore(
+                    new MappedSegments(directory.resolve("members.rec")),
+                    new MappedSegments(directory.resolve("members.heap")));
+            Runtime.getRuntime().addShutdownHook(new Thread(store::force, "member-store-force"));
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException("회원 저장 파일을 열 수 없습니다. path=" + directory, e);
+        }
+    }
+
+    private MappedMemberStore(MappedSegments records, MappedSegments heap) {
+        this.records = records;
+        this.heap = heap;
+
+        long magic = records.getLongAcquire(MAGIC_POS);
+        if (magic == 0) { // 새 파일
+            records.putLong(FIRST_ID_POS, 1);
+            records.putLongRelease(MAGIC_POS, MAGIC);
+        } else if (magic != MAGIC) {
+            throw new IllegalStateException("회원 저장 파일 형식이 아닙니다. magic=" + Long.toHexString(magic));
+        }
+    }
+
+    @Override
+    public Member save(Member member) {
+        byte[] username = member.getUsername() == null ? null : member.getUsername().getBytes(StandardCharsets.UTF_8);
+
+        long id = records.getAndAddLong(TAIL_POS, 1) + 1;
+        long usernameOffset = 0;
+        if (username != null) {
+            usernameOffset = records.getAndAddLong(HEAP_TAIL_POS, username.length);
+            heap.put(usernameOffset, username);
+        }
+
+        long pos = id * RECORD_SIZE;
+        records.putLong(pos + USERNAME_OFFSET, usernameOffset);
+        records.putInt(pos + USERNAME_LENGTH, username == null ? -1 : username.length);
+        records.putInt(pos + AGE, member.getAge());
+        records.putLongRelease(pos + ID, id); // 마지막에 기록 (id 가 보이면 나머지 값도 보인다)
+
+        member.setId(id);
+        return member;
+    }
+
+    @Override
+    public Member findById(Long id) {
+        if (id == null || id < records.getLongVolatile(FIRST_ID_POS) || id > records.getLongVolatile(TAIL_POS)) {
+            return null;
+        }
+        return read(id);
+    }
+
+    @Override
+    public List<Member> findAll() {
+        long firstId = records.getLongVolatile(FIRST_ID_POS);
+        long tail = records.getLongVolatile(TAIL_POS);
+
+        List<Member> result = new ArrayList<>((int) Math.max(0, tail - firstId + 1));
+        for (long id = firstId; id <= tail; id++) {
+            Member member = read(id);
+            if (member != null) {
+                result.add(member);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, records.getLongVolatile(TAIL_POS) - records.getLongVolatile(FIRST_ID_POS) + 1);
+    }
+
+    /**
+     * id 는 다시 사용하지 않고, 지금까지 저장된 레코드를 조회 범위에서 제외한다.
+     */
+    @Override
+    public void clear() {
+        records.putLongVolatile(FIRST_ID_POS, records.getLongVolatile(TAIL_POS) + 1);
+    }
+
+    void force() {
+        records.force();
+        heap.force();
+    }
+
+    private Member read(long id) {
+        long pos = id * RECORD_SIZE;
+        if (records.getLongAcquire(pos + ID) != id) {
+            return null; // 쓰는 중이거나 중간에 종료된 레코드
+        }
+
+        int usernameLength = records.getInt(pos + USERNAME_LENGTH);
+        String username = null;
+        if (usernameLength >= 0) {
+            byte[] bytes = new byte[usernameLength];
+            heap.get(records.getLong(pos + USERNAME_OFFSET), bytes);
+            username = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Member member = new Member(username, records.getInt(pos + AGE));
+        member.setId(id);
+        return member;
+    }
+}
@@ -0,0 +1,143 @@
+package hello.servlet.domain.member;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 파일을 1MB 구간(segment)으로 나눠서 처음 접근할 때 메모리에 매핑한다. (매핑할 때 파일 크기가 늘어난다)
+ * 서로 다른 위치에 쓰는 여러 스레드가 락 없이 사용할 수 있고, long 값은 VarHandle 로 원자적으로 증가시킬 수 있다.
+ */
+class MappedSegments {
+
+    private static final int SEGMENT_SHIFT = 20;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int MAX_SEGMENTS = 1 << 16; // 최대 64GB
+
+    // 메모리 맵(direct) 버퍼의 8바이트 정렬 위치에서 원자적 연산 지원
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final AtomicReferenceArray<MappedByteBuffer> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+
+    MappedSegments(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    long getLong(long pos) {
+        return segment(pos).getLong(offset(pos));
+    }
+
+    long getLongAcquire(long pos) {
+        return (long) LONG.getAcquire(segment(pos), offset(pos));
+    }
+
+    long getLongVolatile(long pos) {
+        return (long) LONG.getVolatile(segment(pos), offset(pos));
+    }
+
+    void putLong(long pos, long value) {
+        segment(pos).putLong(offset(pos), value);
+    }
+
+    /**
+     * 이 값을 읽은(getLongAcquire) 스레드는 이전에 쓴 값도 모두 볼 수 있다.
+     */
+    void putLongRelease(long pos, long value) {
+        LONG.setRelease(segment(pos), offset(pos), value);
+    }
+
+    void putLongVolatile(long pos, long value) {
+        LONG.setVolatile(segment(pos), offset(pos), value);
+    }
+
+    long getAndAddLong(long pos, long delta) {
+        return (long) LONG.getAndAdd(segment(pos), offset(pos), delta);
+    }
+
+    int getInt(long pos) {
+        return segment(pos).getInt(offset(pos));
+    }
+
+    void putInt(long pos, int value) {
+        segment(pos).putInt(offset(pos), value);
+    }
+
+    /**
+     * 구간 경계에 걸치는 바이트 배열은 나눠서 쓴다.
+     */
+    void put(long pos, byte[] src) {
+        int written = 0;
+        while (written < src.length) {
+            MappedByteBuffer segment = segment(pos + written);
+            int offset = offset(pos + written);
+            int length = Math.min(src.length - written, SEGMENT_SIZE - offset);
+            for (int i = 0; i < length; i++) {
+                segment.put(offset + i, src[written + i]);
+            }
+            written += length;
+        }
+    }
+
+    void get(long pos, byte[] dst) {
+        int read = 0;
+        while (read < dst.length) {
+            MappedByteBuffer segment = segment(pos + read);
+            int offset = offset(pos + read);
+            int length = Math.min(dst.length - read, SEGMENT_SIZE - offset);
+            for (int i = 0; i < length; i++) {
+                dst[read + i] = segment.get(offset + i);
+            }
+            read += length;
+        }
+    }
+
+    /**
+     * 매핑된 내용을 디스크에 기록한다. (OS 페이지 캐시 -> 디스크)
+     */
+    void force() {
+        for (int i = 0; i < MAX_SEGMENTS; i++) {
+            MappedByteBuffer segment = segments.get(i);
+            if (segment != null) {
+                segment.force();
+            }
+        }
+    }
+
+    private MappedByteBuffer segment(long pos) {
+        int index = (int) (pos >>> SEGMENT_SHIFT);
+        MappedByteBuffer segment = segments.get(index);
+        if (segment != null) {
+            return segment;
+        }
+
+        // 여러 스레드가 같은 구간을 동시에 매핑하면 먼저 등록된 것을 사용한다.
+        MappedByteBuffer mapped = map(index);
+        if (segments.compareAndSet(index, null, mapped)) {
+            return mapped;
+        }
+        return segments.get(index);
+    }
+
+    private MappedByteBuffer map(int index) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, (long) index << SEGMENT_SHIFT, SEGMENT_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("파일을 매핑할 수 없습니다. path=" + path + ", segment=" + index, e);
+        }
+    }
+
+    private static int offset(long pos) {
+        return (int) (pos & (SEGMENT_SIZE - 1));
+    }
+}
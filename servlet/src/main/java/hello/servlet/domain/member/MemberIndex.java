@@ -0,0 +1,82 @@
+package hello.servlet.domain.member;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 회원 검색용 보조 인덱스 (저장 방식과 관계없이 메모리에 둔다)
+ * - username 인덱스 : (username, id) 순서로 정렬, 접두사로 시작하는 위치부터 접두사가 끝날 때까지만 읽는다.
+ * - age 인덱스      : (age, id) 순서로 정렬, [minAge, maxAge] 구간만 읽는다.
+ * id 를 함께 비교하므로 이름/나이가 같은 회원도 각각 들어간다.
+ * 결과는 findAll() 과 같도록 id 순서로 정렬해서 돌려준다.
+ *
+ * 저장한 뒤 Member 의 username/age 를 바꾸면 인덱스 순서가 깨지므로, 저장된 회원은 바꾸지 않는다.
+ */
+class MemberIndex {
+
+    private static final Comparator<Member> USERNAME_ORDER = Comparator
+            .comparing(Member::getUsername, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(Member::getId);
+    private static final Comparator<Member> AGE_ORDER = Comparator
+            .comparingInt(Member::getAge)
+            .thenComparingLong(Member::getId);
+    private static final Comparator<Member> ID_ORDER = Comparator.comparingLong(Member::getId);
+
+    private final NavigableSet<Member> byUsername = new ConcurrentSkipListSet<>(USERNAME_ORDER);
+    private final NavigableSet<Member> byAge = new ConcurrentSkipListSet<>(AGE_ORDER);
+
+    void add(Member member) {
+        byUsername.add(member);
+        byAge.add(member);
+    }
+
+    void clear() {
+        byUsername.clear();
+        byAge.clear();
+    }
+
+    /**
+     * username 이 prefix 로 시작하는 회원 (id 순서)
+     * minAge/maxAge 가 있으면 함께 거른다.
+     */
+    List<Member> findByUsernamePrefix(String prefix, Integer minAge, Integer maxAge) {
+        List<Member> result = new ArrayList<>();
+        for (Member member : byUsername.tailSet(probe(prefix, 0, Long.MIN_VALUE), true)) {
+            if (!member.getUsername().startsWith(prefix)) {
+                break;
+            }
+            if (inRange(member.getAge(), minAge, maxAge)) {
+                result.add(member);
+            }
+        }
+        result.sort(ID_ORDER);
+        return result;
+    }
+
+    /**
+     * minAge <= age <= maxAge 인 회원 (id 순서), null 이면 한쪽 끝까지
+     */
+    List<Member> findByAgeBetween(Integer minAge, Integer maxAge) {
+        int from = minAge == null ? Integer.MIN_VALUE : minAge;
+        int to = maxAge == null ? Integer.MAX_VALUE : maxAge;
+        if (from > to) {
+            return new ArrayList<>();
+        }
+        List<Member> result = new ArrayList<>(byAge.subSet(probe(null, from, Long.MIN_VALUE), true, probe(null, to, Long.MAX_VALUE), true));
+        result.sort(ID_ORDER);
+        return result;
+    }
+
+    private static boolean inRange(int age, Integer minAge, Integer maxAge) {
+        return (minAge == null || age >= minAge) && (maxAge == null || age <= maxAge);
+    }
+
+    private static Member probe(String username, int age, long id) {
+        Member probe = new Member(username, age);
+        probe.setId(id);
+        return probe;
+    }
+}
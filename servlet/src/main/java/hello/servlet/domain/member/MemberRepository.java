@@ -1,17 +1,25 @@
 package hello.servlet.domain.member;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * 동시성 문제가 고려되어 있지 않음, 실무에서는 ConcurrentHashMap, AtomicLong 사용 고려
+ * 서블릿, JSP, 프론트 컨트롤러, 스프링 MVC 가 동시에 사용하기 때문에 thread-safe 하게 구현
+ * 기본은 메모리 저장소(ShardedMemberStore),
+ * -Dmember.store.path=디렉토리 를 지정하면 재시작해도 유지되는 파일 저장소(MappedMemberStore)를 사용한다.
  */
 public class MemberRepository {
 
-    private static Map<Long, Member> store = new HashMap<>();
-    private static long sequence = 0L;
+    public static final String STORE_PATH_PROPERTY = "member.store.path";
+
+    private static final MemberStore store = createStore();
+    // 검색 인덱스는 처음 검색할 때 만든다. 파일 저장소는 만들 때 모든 회원을 읽어야 하므로 시작 시간에 넣지 않는다.
+    private static final Object indexLock = new Object();
+    private static volatile MemberIndex index;
+
+    // 저장/삭제마다 증가하는 변경 버전, 목록 화면의 ETag(캐시 검증값)로 사용한다
+    private static final AtomicLong version = new AtomicLong();
 
     private static final MemberRepository instance = new MemberRepository();
 
@@ -23,21 +31,95 @@ public class MemberRepository {
     }
 
     public Member save(Member member) {
-        member.setId(++sequence);
-        store.put(member.getId(), member);
-
-        return member;
+        Member saved = store.save(member);
+        addToIndex(saved);
+        version.incrementAndGet(); // 저장이 끝난 뒤 증가시켜야 새 버전으로 옛 목록을 캐시하지 않는다
+        return saved;
     }
 
     public Member findById(Long id) {
-        return store.get(id);
+        return store.findById(id);
     }
 
     public List<Member> findAll() {
-        return new ArrayList<>(store.values()); // store 자체를 보호하기 위함
+        return store.findAll();
+    }
+
+    /**
+     * 목록 검색, 조건이 없으면 findAll()
+     * username 이 있으면 username 접두사 인덱스를, 없으면 나이 인덱스를 사용해서 전체를 읽지 않는다.
+     * 결과는 findAll() 과 같은 id 순서
+     *
+     * @param usernamePrefix username 접두사 (null 이나 빈 문자열이면 조건 없음)
+     * @param minAge         최소 나이 (null 이면 조건 없음)
+     * @param maxAge         최대 나이 (null 이면 조건 없음)
+     */
+    public List<Member> search(String usernamePrefix, Integer minAge, Integer maxAge) {
+        if (usernamePrefix != null && !usernamePrefix.isEmpty()) {
+            return index().findByUsernamePrefix(usernamePrefix, minAge, maxAge);
+        }
+        if (minAge != null || maxAge != null) {
+            return index().findByAgeBetween(minAge, maxAge);
+        }
+        return findAll();
+    }
+
+    public int size() {
+        return store.size();
     }
 
     public void clearStore() {
         store.clear();
+        synchronized (indexLock) {
+            index = null; // 다음 검색 때 다시 만든다
+        }
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    private static MemberIndex index() {
+        MemberIndex current = index;
+        if (current != null) {
+            return current;
+        }
+        synchronized (indexLock) {
+            if (index == null) {
+                // 파일 저장소는 재시작 전에 저장된 회원도 인덱스에 넣는다
+                MemberIndex created = new MemberIndex();
+                for (Member member : store.findAll()) {
+                    created.add(member);
+                }
+                index = created;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * 인덱스가 아직 없으면 넣지 않는다. 나중에 만들 때 store 에서 읽는다.
+     * 만드는 중이면 끝날 때까지 기다렸다가 넣는다. (이미 들어간 회원을 다시 넣어도 하나만 남는다)
+     */
+    private static void addToIndex(Member member) {
+        MemberIndex current = index;
+        if (current != null) {
+            current.add(member);
+            return;
+        }
+        synchronized (indexLock) {
+            if (index != null) {
+                index.add(member);
+            }
+        }
+    }
+
+    private static MemberStore createStore() {
+        String path = System.getProperty(STORE_PATH_PROPERTY);
+        if (path == null || path.isBlank()) {
+            return new ShardedMemberStore();
+        }
+        return MappedMemberStore.open(Paths.get(path));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package hello.servlet.domain.member;
+
+import java.util.List;
+
+/**
+ * MemberRepository 의 실제 저장 방식 (메모리, 파일)
+ */
+interface MemberStore {
+
+    Member save(Member member);
+
+    Member findById(Long id);
+
+    List<Member> findAll();
+
+    int size();
+
+    void clear();
+}
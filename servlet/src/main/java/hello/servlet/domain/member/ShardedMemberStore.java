@@ -0,0 +1,79 @@
+package hello.servlet.domain.member;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 저장소
+ * id 발급은 AtomicLong(CAS, 락 없음), 저장은 id 로 나눈 여러 개의 ConcurrentHashMap(shard)에 분산한다.
+ */
+class ShardedMemberStore implements MemberStore {
+
+    private static final int SHARD_COUNT = 16; // 2의 제곱 (id & (SHARD_COUNT - 1) 로 shard 선택)
+    private static final Comparator<Member> ID_ORDER = Comparator.comparingLong(Member::getId);
+
+    private final ConcurrentHashMap<Long, Member>[] shards = createShards();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public Member save(Member member) {
+        long id = sequence.incrementAndGet();
+        member.setId(id);
+        shard(id).put(id, member);
+
+        return member;
+    }
+
+    @Override
+    public Member findById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return shard(id).get(id);
+    }
+
+    /**
+     * shard 별로 저장되어 있으므로 모아서 id 순서로 정렬한다.
+     */
+    @Override
+    public List<Member> findAll() {
+        List<Member> result = new ArrayList<>(size());
+        for (ConcurrentHashMap<Long, Member> shard : shards) {
+            result.addAll(shard.values());
+        }
+        result.sort(ID_ORDER);
+        return result;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<Long, Member> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (ConcurrentHashMap<Long, Member> shard : shards) {
+            shard.clear();
+        }
+    }
+
+    private ConcurrentHashMap<Long, Member> shard(long id) {
+        return shards[(int) (id & (SHARD_COUNT - 1))];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentHashMap<Long, Member>[] createShards() {
+        ConcurrentHashMap<Long, Member>[] shards = (ConcurrentHashMap<Long, Member>[]) new ConcurrentHashMap<?, ?>[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,66 @@
+package hello.servlet.web.admission;
+
+import hello.servlet.web.json.JsonCodec;
+import hello.web.admission.AdmissionFilter;
+import hello.web.admission.AdmissionMetrics;
+import hello.web.metrics.LatencyHistogram;
+import lombok.Getter;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * http://localhost:8080/admission/metrics
+ * 허용/거절 수, 현재 동시 처리 한도, 대기 시간과 처리 시간(p50/p99 구간 상한)을 JSON 으로 응답
+ */
+@WebServlet(name = "admissionMetricsServlet", urlPatterns = "/admission/metrics")
+public class AdmissionMetricsServlet extends HttpServlet {
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        String filterName = request.getParameter("filter") == null ? AdmissionFilter.NAME : request.getParameter("filter");
+        AdmissionFilter filter = (AdmissionFilter) getServletContext().getAttribute(AdmissionFilter.attributeName(filterName));
+        if (filter == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        JsonCodec.write(response, new AdmissionMetricsResponse(filter));
+    }
+
+    @Getter
+    static class AdmissionMetricsResponse {
+
+        private final long admitted;
+        private final long rateLimited;
+        private final long overloaded;
+        private final int limit;
+        private final int inFlight;
+        private final long minRttMicros;
+        private final long queueWaitP50Micros;
+        private final long queueWaitP99Micros;
+        private final long latencyP50Micros;
+        private final long latencyP99Micros;
+
+        AdmissionMetricsResponse(AdmissionFilter filter) {
+            AdmissionMetrics metrics = filter.getMetrics();
+            LatencyHistogram queueWait = metrics.getQueueWait();
+            LatencyHistogram latency = metrics.getLatency();
+
+            this.admitted = metrics.getAdmitted().sum();
+            this.rateLimited = metrics.getRateLimited().sum();
+            this.overloaded = metrics.getOverloaded().sum();
+            this.limit = filter.getLimiter().getLimit();
+            this.inFlight = filter.getLimiter().getInFlight();
+            this.minRttMicros = filter.getLimiter().getMinRttMicros();
+            this.queueWaitP50Micros = queueWait.percentileMicros(50);
+            this.queueWaitP99Micros = queueWait.percentileMicros(99);
+            this.latencyP50Micros = latency.percentileMicros(50);
+            this.latencyP99Micros = latency.percentileMicros(99);
+        }
+    }
+}
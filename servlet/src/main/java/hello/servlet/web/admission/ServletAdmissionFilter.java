@@ -0,0 +1,23 @@
+package hello.servlet.web.admission;
+
+import hello.web.admission.AdmissionFilter;
+
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.annotation.WebInitParam;
+
+/**
+ * 입장 제어 필터(web-support)를 @ServletComponentScan 으로 등록한다.
+ * 상태는 /admission/metrics 에서 확인한다.
+ */
+@WebFilter(filterName = AdmissionFilter.NAME, urlPatterns = "/*", asyncSupported = true, initParams = {
+        @WebInitParam(name = "clientRate", value = "500"),
+        @WebInitParam(name = "clientBurst", value = "1000"),
+        @WebInitParam(name = "initialLimit", value = "50"),
+        @WebInitParam(name = "minLimit", value = "4"),
+        @WebInitParam(name = "maxLimit", value = "200"),
+        @WebInitParam(name = "tolerance", value = "2.0"),
+        @WebInitParam(name = "maxQueueWaitMillis", value = "10"),
+        @WebInitParam(name = "excludedPaths", value = "/admission/metrics,/front-controller/metrics,/coalescing/metrics")
+})
+public class ServletAdmissionFilter extends AdmissionFilter {
+}
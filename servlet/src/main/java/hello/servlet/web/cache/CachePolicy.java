@@ -0,0 +1,28 @@
+package hello.servlet.web.cache;
+
+import lombok.Getter;
+import org.springframework.http.CacheControl;
+
+import java.util.function.Supplier;
+
+/**
+ * 경로 하나에 적용할 캐시 정책: Cache-Control 헤더 값과 (있다면) ETag 검증값
+ */
+@Getter
+public class CachePolicy {
+
+    private final String cacheControl;
+    private final Supplier<String> etag;
+
+    private CachePolicy(CacheControl cacheControl, Supplier<String> etag) {
+        this.cacheControl = cacheControl.getHeaderValue();
+        this.etag = etag;
+    }
+
+    /**
+     * 매번 서버에 검증 요청(If-None-Match)을 보내고, 바뀌지 않았으면 304 로 본문 없이 응답한다.
+     */
+    public static CachePolicy revalidate(Supplier<String> etag) {
+        return new CachePolicy(CacheControl.noCache(), etag);
+    }
+}
@@ -0,0 +1,99 @@
+package hello.servlet.web.cache;
+
+import hello.servlet.domain.member.MemberRepository;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 경로별 캐시 정책을 한 곳에서 선언한다.
+ * ETag 가 있는 경로는 If-None-Match 가 현재 ETag 와 같으면 컨트롤러/JSP 를 실행하지 않고 304 로 응답한다.
+ *
+ * 정적 리소스(webapp 의 html)는 스프링 리소스 핸들러가 Last-Modified 로 검증한다. (application.properties)
+ */
+@WebFilter(filterName = "cachePolicyFilter", urlPatterns = "/*", asyncSupported = true)
+public class CachePolicyFilter implements Filter {
+
+    private final Map<String, CachePolicy> policies = new HashMap<>();
+
+    public CachePolicyFilter() {
+        MemberRepository memberRepository = MemberRepository.getInstance();
+        CachePolicy memberList = CachePolicy.revalidate(new VersionedETag("members", memberRepository::getVersion));
+
+        addPolicy("/servlet/members", memberList);
+        addPolicy("/servlet-mvc/members", memberList);
+        addPolicy("/front-controller/v1/members", memberList);
+        addPolicy("/front-controller/v2/members", memberList);
+        addPolicy("/front-controller/v3/members", memberList);
+        addPolicy("/front-controller/v4/members", memberList);
+        addPolicy("/springmvc/v1/members", memberList);
+        addPolicy("/springmvc/v2/members", memberList);
+        addPolicy("/springmvc/v3/members", memberList);
+    }
+
+    void addPolicy(String path, CachePolicy policy) {
+        policies.put(path, policy);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        CachePolicy policy = isCacheable(httpRequest) ? policies.get(pathOf(httpRequest)) : null;
+        if (policy == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        httpResponse.setHeader("Cache-Control", policy.getCacheControl());
+        if (policy.getEtag() != null) {
+            String etag = policy.getEtag().get();
+            httpResponse.setHeader("ETag", etag);
+            if (matches(httpRequest.getHeader("If-None-Match"), etag)) {
+                httpResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private boolean isCacheable(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    private String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * If-None-Match 는 weak 비교를 한다. (W/ 접두사 무시)
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || stripWeak(value).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
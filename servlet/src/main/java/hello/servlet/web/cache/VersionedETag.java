@@ -0,0 +1,46 @@
+package hello.servlet.web.cache;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 데이터 변경 버전으로 만든 ETag, 버전이 바뀔 때만 문자열을 새로 만든다.
+ * 응답 본문을 해시하지 않기 때문에 렌더링 전에 304 여부를 결정할 수 있다.
+ *
+ * 재시작하면 버전이 0 부터 다시 시작하므로 시작 시각을 함께 넣어 이전 ETag 와 겹치지 않게 한다.
+ * gzip 등 인코딩이 달라도 같은 내용이므로 weak ETag(W/) 를 사용한다.
+ */
+public class VersionedETag implements Supplier<String> {
+
+    private static final String EPOCH = Long.toHexString(System.currentTimeMillis());
+
+    private final String prefix;
+    private final LongSupplier version;
+    private volatile Cached cached = new Cached(-1, null);
+
+    public VersionedETag(String name, LongSupplier version) {
+        this.prefix = "W/\"" + name + "-" + EPOCH + "-";
+        this.version = version;
+    }
+
+    @Override
+    public String get() {
+        long current = version.getAsLong();
+        Cached c = cached;
+        if (c.version != current) {
+            c = new Cached(current, prefix + current + "\"");
+            cached = c;
+        }
+        return c.etag;
+    }
+
+    private static class Cached {
+        private final long version;
+        private final String etag;
+
+        Cached(long version, String etag) {
+            this.version = version;
+            this.etag = etag;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package hello.servlet.web.coalesce;
+
+import hello.servlet.web.json.JsonCodec;
+import hello.web.coalesce.CoalescingFilter;
+import lombok.Getter;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * http://localhost:8080/coalescing/metrics
+ * 실제로 렌더링한 수, 결과를 나눠 받은 요청 수, 그만큼 아낀 렌더링 시간과 바이트를 JSON 으로 응답
+ */
+@WebServlet(name = "coalescingMetricsServlet", urlPatterns = "/coalescing/metrics")
+public class CoalescingMetricsServlet extends HttpServlet {
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        CoalescingFilter filter = (CoalescingFilter) getServletContext().getAttribute(CoalescingFilter.ATTRIBUTE_NAME);
+        if (filter == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        JsonCodec.write(response, new CoalescingMetricsResponse(filter));
+    }
+
+    @Getter
+    static class CoalescingMetricsResponse {
+
+        private final long executions;
+        private final long coalesced;
+        private final double savedMillis;
+        private final long savedBytes;
+
+        CoalescingMetricsResponse(CoalescingFilter filter) {
+            this.executions = filter.getExecutions();
+            this.coalesced = filter.getCoalesced();
+            this.savedMillis = filter.getSavedNanos() / 1_000_000.0;
+            this.savedBytes = filter.getSavedBytes();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package hello.servlet.web.coalesce;
+
+import hello.web.coalesce.CoalescingFilter;
+
+import javax.servlet.annotation.WebFilter;
+
+/**
+ * 요청 합치기 필터(web-support)를 회원 목록에 @ServletComponentScan 으로 등록한다.
+ */
+@WebFilter(filterName = "coalescingFilter", urlPatterns = {"/servlet/members", "/springmvc/v3/members"})
+public class ServletCoalescingFilter extends CoalescingFilter {
+}
@@ -0,0 +1,46 @@
+package hello.servlet.web.filter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * 응답마다 Deflater 를 새로 만들면 네이티브 메모리(zlib 스트림)를 매번 할당하고 해제해야 한다.
+ * 다 쓴 Deflater 를 reset 해서 다음 응답에 다시 사용한다. 풀이 가득 차면 end() 로 바로 해제한다.
+ */
+public class DeflaterPool {
+
+    private final int level;
+    private final BlockingQueue<Deflater> idle;
+
+    public DeflaterPool(int level, int maxIdle) {
+        this.level = level;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * gzip 헤더/트레일러는 직접 쓰기 때문에 nowrap(raw deflate) 으로 만든다.
+     */
+    public Deflater borrow() {
+        Deflater deflater = idle.poll();
+        return deflater != null ? deflater : new Deflater(level, true);
+    }
+
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (!idle.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    public void close() {
+        Deflater deflater;
+        while ((deflater = idle.poll()) != null) {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package hello.servlet.web.filter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.annotation.WebInitParam;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+/**
+ * 동적 응답(JSP, 서블릿 HTML, JSON) gzip 압축 필터
+ * - threshold 바이트 이하 응답은 압축하지 않는다.
+ * - Deflater 는 DeflaterPool 에서 빌려 쓰고 돌려준다.
+ * - 이미 Content-Encoding 이 있는 응답(미리 압축된 정적 리소스 .gz)은 건드리지 않는다.
+ *
+ * 정적 리소스는 빌드 시 만든 .gz 를 EncodedResourceResolver 가 보내므로 런타임 압축 비용이 없다.
+ * (application.properties 의 spring.web.resources.chain.compressed)
+ */
+@WebFilter(filterName = "gzipFilter", urlPatterns = "/*", asyncSupported = true,
+        initParams = @WebInitParam(name = "threshold", value = "1024"))
+public class GzipFilter implements Filter {
+
+    private final DeflaterPool deflaterPool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, 64);
+    private int threshold = 1024;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        String value = filterConfig.getInitParameter("threshold");
+        if (value != null) {
+            threshold = Integer.parseInt(value);
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        if (!acceptsGzip(httpRequest) || "HEAD".equals(httpRequest.getMethod()) || httpRequest.getHeader("Range") != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        GzipResponseWrapper wrapper = new GzipResponseWrapper((HttpServletResponse) response, deflaterPool, threshold);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            wrapper.release();
+            throw e;
+        }
+
+        if (request.isAsyncStarted()) {
+            // 비동기 요청은 요청 스레드가 끝난 뒤에도 응답을 쓰므로 완료 시점에 마무리한다
+            request.getAsyncContext().addListener(new FinishListener(wrapper));
+            return;
+        }
+        wrapper.finish();
+    }
+
+    @Override
+    public void destroy() {
+        deflaterPool.close();
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String coding = token.trim();
+            int semicolon = coding.indexOf(';');
+            String name = semicolon < 0 ? coding : coding.substring(0, semicolon).trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                // gzip;q=0 은 거부 의미
+                return semicolon < 0 || !coding.substring(semicolon + 1).replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static class FinishListener implements AsyncListener {
+
+        private final GzipResponseWrapper wrapper;
+
+        FinishListener(GzipResponseWrapper wrapper) {
+            this.wrapper = wrapper;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            wrapper.finish();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            wrapper.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package hello.servlet.web.filter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * 처음 threshold 바이트까지는 모아 두고, 넘어서는 순간 압축 여부를 결정한다.
+ * - 넘지 않고 끝나면 그대로(압축 없이) 내보낸다. 작은 응답은 gzip 헤더/CPU 비용이 더 크다.
+ * - 넘으면 압축 가능한 Content-Type 이고 이미 Content-Encoding 이 없을 때만 gzip 으로 스트리밍한다.
+ * - non-blocking 쓰기(setWriteListener)로 바꾸면 압축하지 않고 원래 스트림에 그대로 넘긴다.
+ */
+class GzipResponseWrapper extends HttpServletResponseWrapper {
+
+    private enum State {BUFFERING, COMPRESSING, PASS_THROUGH}
+
+    private final DeflaterPool deflaterPool;
+    private final byte[] buffer;
+    private int count;
+    private State state = State.BUFFERING;
+    private long contentLength = -1;
+
+    private OutputStream target;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    GzipResponseWrapper(HttpServletResponse response, DeflaterPool deflaterPool, int threshold) {
+        super(response);
+        this.deflaterPool = deflaterPool;
+        this.buffer = new byte[threshold];
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() 가 이미 호출되었습니다.");
+        }
+        if (outputStream == null) {
+            outputStream = new GzipServletOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() 이 이미 호출되었습니다.");
+            }
+            outputStream = new GzipServletOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        // 압축하면 길이가 달라지므로 결정될 때까지 미룬다
+        if (state == State.BUFFERING) {
+            contentLength = len;
+        } else if (state == State.PASS_THROUGH) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+            return;
+        }
+        super.setHeader(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+            return;
+        }
+        super.addHeader(name, value);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (state == State.BUFFERING && count > 0) {
+            // 스트리밍 응답: 크기를 알 수 없으니 지금 결정한다
+            decide();
+        }
+        if (target != null) {
+            target.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (state == State.BUFFERING) {
+            count = 0;
+            return;
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (state == State.BUFFERING) {
+            count = 0;
+            contentLength = -1;
+        }
+        super.reset();
+    }
+
+    /**
+     * 응답을 마무리한다. threshold 를 넘지 않았다면 모아 둔 내용을 그대로 쓰고, 압축 중이라면 gzip 트레일러를 쓴다.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (state == State.BUFFERING) {
+            state = State.PASS_THROUGH;
+            if (count > 0) {
+                if (contentLength < 0 && !isCommitted()) {
+                    super.setContentLengthLong(count);
+                }
+                applyContentLength();
+                super.getOutputStream().write(buffer, 0, count);
+                count = 0;
+            }
+            return;
+        }
+        if (state == State.COMPRESSING) {
+            ((PooledGzipOutputStream) target).finish();
+        }
+    }
+
+    /**
+     * non-blocking 쓰기는 isReady() 가 원래 스트림의 상태와 맞아야 하므로 압축하지 않는다.
+     * 모아 둔 내용은 아직 blocking 이므로 먼저 내보낸다. 이미 gzip 으로 보내기 시작했다면 되돌릴 수 없다.
+     */
+    private ServletOutputStream passThroughForNonBlocking() {
+        if (state == State.COMPRESSING) {
+            throw new IllegalStateException("gzip 으로 보내기 시작한 응답은 non-blocking 쓰기로 바꿀 수 없습니다.");
+        }
+        try {
+            if (state == State.BUFFERING) {
+                state = State.PASS_THROUGH;
+                applyContentLength();
+                target = super.getOutputStream();
+                target.write(buffer, 0, count);
+                count = 0;
+            }
+            return super.getOutputStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 예외로 끝난 경우 Deflater 만 풀에 돌려준다.
+     */
+    void release() {
+        if (target instanceof PooledGzipOutputStream) {
+            ((PooledGzipOutputStream) target).release();
+        }
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        if (state == State.BUFFERING) {
+            if (count + len <= buffer.length) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            decide();
+        }
+        target.write(b, off, len);
+    }
+
+    private void decide() throws IOException {
+        if (isCompressible()) {
+            state = State.COMPRESSING;
+            super.setHeader("Content-Encoding", "gzip");
+            super.addHeader("Vary", "Accept-Encoding");
+            target = new PooledGzipOutputStream(super.getOutputStream(), deflaterPool, 2048);
+        } else {
+            state = State.PASS_THROUGH;
+            applyContentLength();
+            target = super.getOutputStream();
+        }
+        target.write(buffer, 0, count);
+        count = 0;
+    }
+
+    private void applyContentLength() {
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+    }
+
+    private boolean isCompressible() {
+        if (isCommitted() || containsHeader("Content-Encoding")) {
+            return false;
+        }
+        String contentType = getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        return contentType.startsWith("text/")
+                || contentType.contains("json")
+                || contentType.contains("javascript")
+                || contentType.contains("xml");
+    }
+
+    private class GzipServletOutputStream extends ServletOutputStream {
+
+        private final byte[] single = new byte[1];
+
+        @Override
+        public void write(int b) throws IOException {
+            single[0] = (byte) b;
+            GzipResponseWrapper.this.write(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            GzipResponseWrapper.this.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // 모으는 중에는 flush 를 무시한다. (JSP/Writer 의 flush 로 압축 결정이 앞당겨지지 않도록)
+            if (state != State.BUFFERING) {
+                target.flush();
+            }
+        }
+
+        // setWriteListener 이후에만 원래 스트림의 상태를 따른다
+        private ServletOutputStream nonBlockingTarget;
+
+        @Override
+        public boolean isReady() {
+            return nonBlockingTarget == null || nonBlockingTarget.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            nonBlockingTarget = passThroughForNonBlocking();
+            nonBlockingTarget.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package hello.servlet.web.filter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * DeflaterPool 에서 빌린 Deflater 로 gzip 포맷을 쓰는 스트림
+ * GZIPOutputStream 은 Deflater 를 외부에서 받을 수 없어서 헤더/트레일러(CRC32, 길이)를 직접 쓴다.
+ * finish() 에서 Deflater 를 풀에 돌려주고, 아래 스트림은 닫지 않는다. (서블릿 컨테이너가 닫는다)
+ */
+class PooledGzipOutputStream extends DeflaterOutputStream {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final DeflaterPool pool;
+    private final CRC32 crc = new CRC32();
+    private boolean released;
+
+    PooledGzipOutputStream(OutputStream out, DeflaterPool pool, int bufferSize) throws IOException {
+        // syncFlush: response.flushBuffer() 시점까지 압축된 내용을 바로 내보낸다
+        super(out, pool.borrow(), bufferSize, true);
+        this.pool = pool;
+        out.write(HEADER);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        super.write(b, off, len);
+        crc.update(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (released) {
+            return;
+        }
+        try {
+            super.finish();
+            writeIntLE((int) crc.getValue());
+            writeIntLE((int) def.getBytesRead());
+            out.flush();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 트레일러를 쓰지 않고 Deflater 만 돌려준다. (예외로 응답을 끝까지 쓰지 못한 경우)
+     */
+    void release() {
+        if (!released) {
+            released = true;
+            pool.release(def);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+}
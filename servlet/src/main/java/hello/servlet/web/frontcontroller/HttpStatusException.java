@@ -0,0 +1,34 @@
+package hello.servlet.web.frontcontroller;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 컨트롤러가 응답 상태 코드를 정해서 처리를 중단할 때 던진다. (잘못된 파라미터 400, 없는 회원 404 ...)
+ * FrontControllerServletV5 가 response.sendError(status, message) 로 응답한다.
+ */
+public class HttpStatusException extends RuntimeException {
+
+    private final int status;
+
+    public HttpStatusException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatusException(int status, String message, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+    }
+
+    public static HttpStatusException badRequest(String message) {
+        return new HttpStatusException(HttpServletResponse.SC_BAD_REQUEST, message);
+    }
+
+    public static HttpStatusException notFound(String message) {
+        return new HttpStatusException(HttpServletResponse.SC_NOT_FOUND, message);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
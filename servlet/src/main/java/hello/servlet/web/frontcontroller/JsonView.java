@@ -0,0 +1,51 @@
+package hello.servlet.web.frontcontroller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.servlet.web.json.JsonCodec;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * model 전체를 JSON 객체로 응답한다. {"members":[...]}
+ * 중간 String 을 만들지 않고 JsonGenerator 로 응답 스트림에 바로 쓴다.
+ */
+public class JsonView implements View {
+
+    // 뷰 이름이 json: 으로 시작하면 JSON 뷰 (ex. json:members)
+    public static final String VIEW_NAME_PREFIX = "json:";
+
+    // 서블릿 앱 전체가 공유하는 ObjectMapper (JsonCodec)
+    private static final ObjectMapper objectMapper = JsonCodec.objectMapper();
+
+    public static boolean isJsonViewName(String viewName) {
+        return viewName.startsWith(VIEW_NAME_PREFIX);
+    }
+
+    /**
+     * Accept 헤더가 JSON 만 원하는 경우 (브라우저처럼 text/html 도 받는 요청은 JSP 유지)
+     */
+    public static boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        return accept != null && accept.contains("application/json") && !accept.contains("text/html");
+    }
+
+    @Override
+    public void render(Map<String, Object> model, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("utf-8");
+
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            for (Map.Entry<String, Object> entry : model.entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                objectMapper.writeValue(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package hello.servlet.web.frontcontroller;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -7,7 +8,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Map;
 
-public class MyView {
+public class MyView implements View {
     private String viewPath;
 
     public MyView(String viewPath) {
@@ -19,12 +20,26 @@ public class MyView {
         dispatcher.forward(request, response);
     }
 
+    @Override
+    public void render(Map<String, Object> model, HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        rednder(model, request, response);
+    }
+
     public void rednder(Map<String, Object> model, HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
         modelToRequestAttribute(model, request);
         RequestDispatcher dispatcher = request.getRequestDispatcher(viewPath);
         dispatcher.forward(request, response);
     }
 
+    /**
+     * 비동기 요청은 forward 대신 AsyncContext.dispatch 로 JSP 를 실행한다.
+     */
+    @Override
+    public void renderAsync(Map<String, Object> model, HttpServletRequest request, AsyncContext asyncContext) {
+        modelToRequestAttribute(model, request);
+        asyncContext.dispatch(viewPath);
+    }
+
     private void modelToRequestAttribute(Map<String, Object> model, HttpServletRequest request) {
         model.forEach((key, value) -> request.setAttribute(key, value));
     }
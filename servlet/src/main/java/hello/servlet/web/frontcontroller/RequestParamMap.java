@@ -0,0 +1,59 @@
+package hello.servlet.web.frontcontroller;
+
+import hello.web.param.LazyParameters;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HttpServletRequest 파라미터를 복사하지 않고 그대로 보여주는 읽기 전용 Map
+ *
+ * 기존 createParamMap 은 요청마다 HashMap 을 만들고 모든 파라미터를 복사했다.
+ * 컨트롤러는 대부분 필요한 파라미터 몇 개만 get() 하므로, get() 시점에 그 파라미터만 디코딩한다. (LazyParameters)
+ * 전체 순회(entrySet, size)가 필요할 때만 한 번 복사본을 만든다.
+ *
+ * 경로 변수(/members/{id})가 있으면 같은 이름의 요청 파라미터보다 우선한다.
+ */
+public class RequestParamMap extends AbstractMap<String, String> {
+
+    private final HttpServletRequest request;
+    private final Map<String, String> pathVariables;
+    private Map<String, String> copy;
+
+    public RequestParamMap(HttpServletRequest request) {
+        this(request, Collections.emptyMap());
+    }
+
+    public RequestParamMap(HttpServletRequest request, Map<String, String> pathVariables) {
+        this.request = request;
+        this.pathVariables = pathVariables;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String value = pathVariables.get(key);
+        return value != null ? value : LazyParameters.of(request).get((String) key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (copy == null) {
+            Map<String, String> paramMap = new HashMap<>(LazyParameters.of(request).toMap());
+            paramMap.putAll(pathVariables);
+            copy = Collections.unmodifiableMap(paramMap);
+        }
+        return copy.entrySet();
+    }
+}
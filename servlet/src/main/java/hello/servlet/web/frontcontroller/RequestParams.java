@@ -0,0 +1,39 @@
+package hello.servlet.web.frontcontroller;
+
+/**
+ * paramMap 의 문자열 값을 숫자로 바꾼다.
+ * 형식이 잘못되면 NumberFormatException(500) 대신 HttpStatusException(400) 을 던진다.
+ */
+public final class RequestParams {
+
+    private RequestParams() {
+    }
+
+    /**
+     * @return 값이 없거나 빈 문자열이면 null
+     */
+    public static Integer toInteger(String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw HttpStatusException.badRequest("숫자가 아닙니다. " + name + "=" + value);
+        }
+    }
+
+    /**
+     * @return 값이 없거나 빈 문자열이면 null
+     */
+    public static Long toLong(String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw HttpStatusException.badRequest("숫자가 아닙니다. " + name + "=" + value);
+        }
+    }
+}
@@ -2,9 +2,11 @@ package hello.servlet.web.frontcontroller.V3;
 
 import hello.servlet.web.frontcontroller.ModelView;
 import hello.servlet.web.frontcontroller.MyView;
+import hello.servlet.web.frontcontroller.RequestParamMap;
 import hello.servlet.web.frontcontroller.V3.controller.MemberFormControllerV3;
 import hello.servlet.web.frontcontroller.V3.controller.MemberListControllerV3;
 import hello.servlet.web.frontcontroller.V3.controller.MemberSaveControllerV3;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -15,6 +17,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+@Slf4j
 @WebServlet(name = "frontControllerServletV3", urlPatterns = "/front-controller/v3/*")
 public class FrontControllerServletV3 extends HttpServlet {
 
@@ -28,7 +31,7 @@ public class FrontControllerServletV3 extends HttpServlet {
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        System.out.println("FrontControllerServletV3.service");
+        log.info("FrontControllerServletV3.service");
 
         String requestURI = request.getRequestURI();
 
@@ -51,10 +54,8 @@ public class FrontControllerServletV3 extends HttpServlet {
         return new MyView("/WEB-INF/views/" + viewName + ".jsp");
     }
 
+    // 파라미터를 복사하지 않고 request 를 감싼 읽기 전용 Map 을 넘긴다.
     private Map<String, String> createParamMap(HttpServletRequest request) {
-        Map<String, String> paramMap = new HashMap<>();
-        request.getParameterNames().asIterator()
-                .forEachRemaining(paramName -> paramMap.put(paramName, request.getParameter(paramName)));
-        return paramMap;
+        return new RequestParamMap(request);
     }
 }
@@ -0,0 +1,28 @@
+package hello.servlet.web.frontcontroller.V3.controller;
+
+import hello.servlet.domain.member.Member;
+import hello.servlet.domain.member.MemberRepository;
+import hello.servlet.web.frontcontroller.HttpStatusException;
+import hello.servlet.web.frontcontroller.ModelView;
+import hello.servlet.web.frontcontroller.RequestParams;
+import hello.servlet.web.frontcontroller.V3.ControllerV3;
+
+import java.util.Map;
+
+public class MemberFindControllerV3 implements ControllerV3 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public ModelView process(Map<String, String> paramMap) {
+        Long id = RequestParams.toLong("id", paramMap.get("id")); // 경로 변수 /members/{id}, 숫자가 아니면 400
+        Member member = memberRepository.findById(id);
+        if (member == null) {
+            throw HttpStatusException.notFound("회원이 없습니다. id=" + id);
+        }
+
+        ModelView mv = new ModelView("member");
+        mv.getModel().put("member", member);
+        return mv;
+    }
+}
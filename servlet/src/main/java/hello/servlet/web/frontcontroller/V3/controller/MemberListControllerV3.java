@@ -3,6 +3,7 @@ package hello.servlet.web.frontcontroller.V3.controller;
 import hello.servlet.domain.member.Member;
 import hello.servlet.domain.member.MemberRepository;
 import hello.servlet.web.frontcontroller.ModelView;
+import hello.servlet.web.frontcontroller.RequestParams;
 import hello.servlet.web.frontcontroller.V3.ControllerV3;
 
 import java.util.List;
@@ -14,7 +15,10 @@ public class MemberListControllerV3 implements ControllerV3 {
 
     @Override
     public ModelView process(Map<String, String> paramMap) {
-        List<Member> members = memberRepository.findAll();
+        // ?username=접두사 , ?minAge=&maxAge= 로 검색 (없으면 전체)
+        List<Member> members = memberRepository.search(paramMap.get("username"),
+                RequestParams.toInteger("minAge", paramMap.get("minAge")),
+                RequestParams.toInteger("maxAge", paramMap.get("maxAge")));
 
         ModelView mv = new ModelView("members");
         mv.getModel().put("members", members);
@@ -1,9 +1,11 @@
 package hello.servlet.web.frontcontroller.V4;
 
 import hello.servlet.web.frontcontroller.MyView;
+import hello.servlet.web.frontcontroller.RequestParamMap;
 import hello.servlet.web.frontcontroller.V4.controller.MemberFormControllerV4;
 import hello.servlet.web.frontcontroller.V4.controller.MemberListControllerV4;
 import hello.servlet.web.frontcontroller.V4.controller.MemberSaveControllerV4;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -14,6 +16,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+@Slf4j
 @WebServlet(name = "frontControllerServletV4", urlPatterns = "/front-controller/v4/*")
 public class FrontControllerServletV4 extends HttpServlet {
 
@@ -27,7 +30,7 @@ public class FrontControllerServletV4 extends HttpServlet {
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        System.out.println("FrontControllerServletV4.service");
+        log.info("FrontControllerServletV4.service");
 
         String requestURI = request.getRequestURI();
 
@@ -50,10 +53,8 @@ public class FrontControllerServletV4 extends HttpServlet {
         return new MyView("/WEB-INF/views/" + viewName + ".jsp");
     }
 
+    // 파라미터를 복사하지 않고 request 를 감싼 읽기 전용 Map 을 넘긴다.
     private Map<String, String> createParamMap(HttpServletRequest request) {
-        Map<String, String> paramMap = new HashMap<>();
-        request.getParameterNames().asIterator()
-                .forEachRemaining(paramName -> paramMap.put(paramName, request.getParameter(paramName)));
-        return paramMap;
+        return new RequestParamMap(request);
     }
 }
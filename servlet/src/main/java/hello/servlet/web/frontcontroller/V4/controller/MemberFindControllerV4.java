@@ -0,0 +1,26 @@
+package hello.servlet.web.frontcontroller.V4.controller;
+
+import hello.servlet.domain.member.Member;
+import hello.servlet.domain.member.MemberRepository;
+import hello.servlet.web.frontcontroller.HttpStatusException;
+import hello.servlet.web.frontcontroller.RequestParams;
+import hello.servlet.web.frontcontroller.V4.ControllerV4;
+
+import java.util.Map;
+
+public class MemberFindControllerV4 implements ControllerV4 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public String process(Map<String, String> paramMap, Map<String, Object> model) {
+        Long id = RequestParams.toLong("id", paramMap.get("id")); // 경로 변수 /members/{id}, 숫자가 아니면 400
+        Member member = memberRepository.findById(id);
+        if (member == null) {
+            throw HttpStatusException.notFound("회원이 없습니다. id=" + id);
+        }
+
+        model.put("member", member);
+        return "member";
+    }
+}
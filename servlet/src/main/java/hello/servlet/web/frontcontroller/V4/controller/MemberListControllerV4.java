@@ -2,6 +2,7 @@ package hello.servlet.web.frontcontroller.V4.controller;
 
 import hello.servlet.domain.member.Member;
 import hello.servlet.domain.member.MemberRepository;
+import hello.servlet.web.frontcontroller.RequestParams;
 import hello.servlet.web.frontcontroller.V4.ControllerV4;
 
 import java.util.List;
@@ -13,7 +14,10 @@ public class MemberListControllerV4 implements ControllerV4 {
 
     @Override
     public String process(Map<String, String> paramMap, Map<String, Object> model) {
-        List<Member> members = memberRepository.findAll();
+        // ?username=접두사 , ?minAge=&maxAge= 로 검색 (없으면 전체)
+        List<Member> members = memberRepository.search(paramMap.get("username"),
+                RequestParams.toInteger("minAge", paramMap.get("minAge")),
+                RequestParams.toInteger("maxAge", paramMap.get("maxAge")));
 
         model.put("members", members);
         return "members";
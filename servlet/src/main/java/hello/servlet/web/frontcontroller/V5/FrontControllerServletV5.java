@@ -1,16 +1,33 @@
 package hello.servlet.web.frontcontroller.V5;
 
+import hello.servlet.web.frontcontroller.HttpStatusException;
+import hello.servlet.web.frontcontroller.JsonView;
 import hello.servlet.web.frontcontroller.ModelView;
 import hello.servlet.web.frontcontroller.MyView;
+import hello.servlet.web.frontcontroller.View;
+import hello.servlet.web.frontcontroller.V3.controller.MemberFindControllerV3;
 import hello.servlet.web.frontcontroller.V3.controller.MemberFormControllerV3;
 import hello.servlet.web.frontcontroller.V3.controller.MemberListControllerV3;
 import hello.servlet.web.frontcontroller.V3.controller.MemberSaveControllerV3;
+import hello.servlet.web.frontcontroller.V4.controller.MemberFindControllerV4;
 import hello.servlet.web.frontcontroller.V4.controller.MemberFormControllerV4;
 import hello.servlet.web.frontcontroller.V4.controller.MemberListControllerV4;
 import hello.servlet.web.frontcontroller.V4.controller.MemberSaveControllerV4;
 import hello.servlet.web.frontcontroller.V5.adapter.ControllerV3HandlerAdapter;
 import hello.servlet.web.frontcontroller.V5.adapter.ControllerV4HandlerAdapter;
+import hello.servlet.web.frontcontroller.V5.adapter.ExecutorHandlerAdapter;
+import hello.servlet.web.frontcontroller.V5.adapter.HandlerMethodAdapter;
+import hello.servlet.web.frontcontroller.annotation.HandlerMethod;
+import hello.servlet.web.frontcontroller.V5.interceptor.MetricsInterceptor;
+import hello.servlet.web.frontcontroller.annotation.HandlerMethodScanner;
+import hello.servlet.web.frontcontroller.metrics.RouteMetricsRegistry;
+import hello.servlet.web.frontcontroller.router.RouteMatch;
+import hello.servlet.web.frontcontroller.router.TrieRouter;
+import lombok.extern.slf4j.Slf4j;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -18,59 +35,329 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-@WebServlet(name = "frontControllerServletV5", urlPatterns = "/front-controller/v5/*")
+@Slf4j
+@WebServlet(name = "frontControllerServletV5", urlPatterns = "/front-controller/v5/*", asyncSupported = true)
 public class FrontControllerServletV5 extends HttpServlet {
 
-    private final Map<String, Object> handlerMappingMap = new HashMap<>();
+    // URI 전체 문자열 대신 세그먼트 트리로 매칭, {var} 경로 변수 지원
+    // 경로마다 핸들러와 핸들러 어댑터를 미리 묶어둔다. (dispatch table)
+    private final TrieRouter<HandlerExecution> handlerMapping = new TrieRouter<>();
     private final List<MyHandlerAdapter> handlerAdapters = new ArrayList<>();
+    private final Map<String, View> viewCache = new ConcurrentHashMap<>();
+    private final View jsonView = new JsonView();
+
+    // 요청마다 반복하므로 List 대신 배열 (등록은 시작할 때만)
+    private MyHandlerInterceptor[] interceptors = new MyHandlerInterceptor[0];
+
+    // 비동기 핸들러 전용 스레드 풀, 느린 핸들러가 컨테이너(톰캣) 스레드를 잡고 있지 않도록 분리한다.
+    private static final long ASYNC_TIMEOUT_MILLIS = 30_000;
+    private final ThreadPoolExecutor asyncExecutor;
 
     public FrontControllerServletV5() {
+        this(16, 1000);
+    }
+
+    FrontControllerServletV5(int asyncThreads, int asyncQueueCapacity) {
+        asyncExecutor = createAsyncExecutor(asyncThreads, asyncQueueCapacity);
+        initHandlerAdapters(); // 핸들러 등록 시 어댑터를 찾기 때문에 먼저 초기화
         initHandlerMappingMap();
-        initHandlerAdapters();
+        initInterceptors();
     }
 
     private void initHandlerMappingMap() {
-        handlerMappingMap.put("/front-controller/v5/v3/members/new-form", new MemberFormControllerV3());
-        handlerMappingMap.put("/front-controller/v5/v3/members/save", new MemberSaveControllerV3());
-        handlerMappingMap.put("/front-controller/v5/v3/members", new MemberListControllerV3());
+        addHandler("/front-controller/v5/v3/members/new-form", new MemberFormControllerV3());
+        addHandler("/front-controller/v5/v3/members/save", new MemberSaveControllerV3());
+        addHandler("/front-controller/v5/v3/members", new MemberListControllerV3());
+        addHandler("/front-controller/v5/v3/members/{id}", new MemberFindControllerV3());
 
         // V4 추가
-        handlerMappingMap.put("/front-controller/v5/v4/members/new-form", new MemberFormControllerV4());
-        handlerMappingMap.put("/front-controller/v5/v4/members/save", new MemberSaveControllerV4());
-        handlerMappingMap.put("/front-controller/v5/v4/members", new MemberListControllerV4());
+        addHandler("/front-controller/v5/v4/members/new-form", new MemberFormControllerV4());
+        addHandler("/front-controller/v5/v4/members/save", new MemberSaveControllerV4());
+        addHandler("/front-controller/v5/v4/members", new MemberListControllerV4());
+        addHandler("/front-controller/v5/v4/members/{id}", new MemberFindControllerV4());
+
+        // 비동기 처리 (핸들러는 asyncExecutor 에서 실행, JSP 는 AsyncContext.dispatch)
+        addAsyncHandler("/front-controller/v5/async/v4/members/new-form", new MemberFormControllerV4());
+        addAsyncHandler("/front-controller/v5/async/v4/members/save", new MemberSaveControllerV4());
+        addAsyncHandler("/front-controller/v5/async/v4/members", new MemberListControllerV4());
+        addAsyncHandler("/front-controller/v5/async/v4/members/{id}", new MemberFindControllerV4());
+
+        // @MyController 스캔 등록
+        for (HandlerMethod handlerMethod : new HandlerMethodScanner().scan("hello.servlet.web.frontcontroller")) {
+            addHandler(handlerMethod.getPath(), handlerMethod);
+        }
+    }
+
+    void addHandler(String pattern, Object handler) {
+        handlerMapping.add(pattern, new HandlerExecution(pattern, handler, getHandlerAdapter(handler)));
+    }
+
+    void addAsyncHandler(String pattern, Object handler) {
+        MyAsyncHandlerAdapter adapter = new ExecutorHandlerAdapter(getHandlerAdapter(handler), asyncExecutor);
+        handlerMapping.add(pattern, new HandlerExecution(pattern, handler, adapter));
+    }
+
+    private void initInterceptors() {
+        addInterceptor(new MetricsInterceptor(RouteMetricsRegistry.getInstance()));
+    }
+
+    void addInterceptor(MyHandlerInterceptor interceptor) {
+        MyHandlerInterceptor[] newInterceptors = Arrays.copyOf(interceptors, interceptors.length + 1);
+        newInterceptors[interceptors.length] = interceptor;
+        interceptors = newInterceptors;
     }
 
     private void initHandlerAdapters() {
         handlerAdapters.add(new ControllerV3HandlerAdapter());
         handlerAdapters.add(new ControllerV4HandlerAdapter());
+        handlerAdapters.add(new HandlerMethodAdapter());
     }
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        long startNanos = System.nanoTime();
 
-        Object handler = getHandler(request);
-        if (handler == null) {
+        RouteMatch<HandlerExecution> match;
+        try {
+            match = getHandler(request);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()); // 경로 변수의 %XX 가 잘못됨
+            return;
+        }
+        if (match == null) {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
 
-        MyHandlerAdapter adapter = getHandlerAdapter(handler);
+        if (!match.getPathVariables().isEmpty()) {
+            request.setAttribute(RouteMatch.PATH_VARIABLES_ATTRIBUTE, match.getPathVariables()); // 어댑터가 paramMap 에 추가
+        }
+
+        HandlerExecution execution = match.getHandler();
+        if (!applyPreHandle(request, response, execution, startNanos)) {
+            return;
+        }
+
+        if (execution.isAsync()) {
+            serviceAsync(request, response, execution, startNanos);
+            return;
+        }
+
+        Exception failure = null;
+        try {
+            MyHandlerAdapter adapter = execution.getAdapter();
+
+            ModelView mv = adapter.handle(request, response, execution.getHandler());
+            applyPostHandle(request, response, execution, mv);
+
+            View view = resolveView(execution, mv.getViewName(), request);
+            view.render(mv.getModel(), request, response);
+        } catch (HttpStatusException e) {
+            // 컨트롤러가 정한 응답 (400, 404 ...), 서버 오류가 아니므로 failure 로 기록하지 않는다
+            response.sendError(e.getStatus(), e.getMessage());
+        } catch (Exception e) {
+            failure = e;
+            throw rethrow(e);
+        } finally {
+            triggerAfterCompletion(request, response, execution, interceptors.length, startNanos, failure);
+        }
+    }
+
+    /**
+     * 컨테이너 스레드는 핸들러를 asyncExecutor 에 넘기고 바로 반환된다.
+     * 핸들러가 끝나면 AsyncContext.dispatch 로 JSP 를 실행한다.
+     * postHandle 은 핸들러가 끝난 스레드에서, afterCompletion 은 JSP 까지 끝난 뒤 AsyncListener.onComplete 에서 호출된다.
+     */
+    private void serviceAsync(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution,
+                              long startNanos) throws ServletException, IOException {
+        AsyncContext asyncContext;
+        AsyncCompletion completion = new AsyncCompletion(request, response, execution, startNanos);
+        try {
+            asyncContext = request.startAsync(request, response);
+            asyncContext.setTimeout(ASYNC_TIMEOUT_MILLIS);
+            asyncContext.addListener(completion);
+        } catch (RuntimeException e) {
+            triggerAfterCompletion(request, response, execution, interceptors.length, startNanos, e);
+            throw e;
+        }
+
+        execution.getAsyncAdapter().handle(request, response, execution.getHandler())
+                .whenComplete((mv, ex) -> {
+                    // complete() 하면 onComplete 가 다른 스레드에서 바로 호출될 수 있으므로 failure 를 먼저 기록한다
+                    try {
+                        if (ex != null) {
+                            Throwable cause = unwrap(ex);
+                            if (!(cause instanceof HttpStatusException)) {
+                                completion.failure = (cause instanceof Exception) ? (Exception) cause : new ServletException(cause);
+                            }
+                            completeWithError(asyncContext, cause);
+                            return;
+                        }
+                        applyPostHandle(request, response, execution, mv);
+                        resolveView(execution, mv.getViewName(), request).renderAsync(mv.getModel(), request, asyncContext);
+                    } catch (IllegalStateException e) {
+                        // 타임아웃 등으로 이미 끝난 요청
+                        log.info("async request already completed. uri={}", request.getRequestURI());
+                    } catch (Exception e) {
+                        completion.failure = e;
+                        log.warn("async render failed. uri={}", request.getRequestURI(), e);
+                        completeWithError(asyncContext, e);
+                    }
+                });
+    }
+
+    /**
+     * 비동기 요청이 끝나면(JSP 렌더링, 오류, 타임아웃 모두) 한 번 호출된다.
+     */
+    private class AsyncCompletion implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final HandlerExecution execution;
+        private final long startNanos;
+        private volatile Exception failure;
+
+        AsyncCompletion(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution, long startNanos) {
+            this.request = request;
+            this.response = response;
+            this.execution = execution;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            triggerAfterCompletion(request, response, execution, interceptors.length, startNanos, failure);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (failure == null && event.getThrowable() instanceof Exception) {
+                failure = (Exception) event.getThrowable(); // JSP 렌더링 중 발생한 예외
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * @return false 면 요청 처리를 중단한다. (이미 통과한 인터셉터의 afterCompletion 은 여기서 호출)
+     */
+    private boolean applyPreHandle(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution,
+                                   long startNanos) throws ServletException, IOException {
+        MyHandlerInterceptor[] interceptors = this.interceptors;
+        for (int i = 0; i < interceptors.length; i++) {
+            boolean proceed;
+            try {
+                proceed = interceptors[i].preHandle(request, response, execution);
+            } catch (Exception e) {
+                triggerAfterCompletion(request, response, execution, i, startNanos, e);
+                throw rethrow(e);
+            }
+            if (!proceed) {
+                triggerAfterCompletion(request, response, execution, i, startNanos, null);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void applyPostHandle(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution,
+                                 ModelView mv) throws Exception {
+        MyHandlerInterceptor[] interceptors = this.interceptors;
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            interceptors[i].postHandle(request, response, execution, mv);
+        }
+    }
+
+    /**
+     * preHandle 을 통과한 인터셉터(0 ~ passed - 1)만 역순으로 호출한다.
+     * afterCompletion 에서 발생한 예외는 원래 처리 결과를 덮지 않도록 로그만 남긴다.
+     */
+    private void triggerAfterCompletion(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution,
+                                        int passed, long startNanos, Exception failure) {
+        MyHandlerInterceptor[] interceptors = this.interceptors;
+        for (int i = passed - 1; i >= 0; i--) {
+            try {
+                interceptors[i].afterCompletion(request, response, execution, startNanos, failure);
+            } catch (Exception e) {
+                log.warn("afterCompletion failed. interceptor={}", interceptors[i], e);
+            }
+        }
+    }
+
+    private static ServletException rethrow(Exception e) throws ServletException, IOException {
+        if (e instanceof ServletException) {
+            throw (ServletException) e;
+        }
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        return new ServletException(e);
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return (ex instanceof CompletionException && ex.getCause() != null) ? ex.getCause() : ex;
+    }
 
-        ModelView mv = adapter.handle(request, response, handler);
+    private void completeWithError(AsyncContext asyncContext, Throwable ex) {
+        HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+        int status;
+        if (ex instanceof HttpStatusException) {
+            status = ((HttpStatusException) ex).getStatus();
+        } else if (ex instanceof RejectedExecutionException) {
+            status = HttpServletResponse.SC_SERVICE_UNAVAILABLE; // asyncExecutor 가 가득 참
+        } else {
+            status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        }
+        try {
+            response.sendError(status);
+        } catch (IOException | IllegalStateException e) {
+            log.warn("sendError failed. status={}", status);
+        } finally {
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // 이미 dispatch/complete 된 요청
+            }
+        }
+    }
 
-        String viewName = mv.getViewName();
-        MyView view = viewResolver(viewName);
+    private View resolveView(HandlerExecution execution, String viewName, HttpServletRequest request) {
+        if (JsonView.acceptsJson(request)) {
+            return jsonView;
+        }
 
-        view.rednder(mv.getModel(), request, response);
+        View view = execution.getResolvedView(viewName);
+        if (view == null) {
+            view = viewResolver(viewName);
+            execution.setResolvedView(viewName, view);
+        }
+        return view;
     }
 
-    private Object getHandler(HttpServletRequest request) {
+    private RouteMatch<HandlerExecution> getHandler(HttpServletRequest request) {
         String requestURI = request.getRequestURI();
-        return handlerMappingMap.get(requestURI);
+        return handlerMapping.match(requestURI);
     }
 
     private MyHandlerAdapter getHandlerAdapter(Object handler) {
@@ -82,7 +369,33 @@ public class FrontControllerServletV5 extends HttpServlet {
         throw new IllegalArgumentException("handler adapter를 찾을 수 없습니다. handler=" + handler);
     }
 
-    private MyView viewResolver(String viewName) {
-        return new MyView("/WEB-INF/views/" + viewName + ".jsp");
+    // 뷰 이름별로 MyView 를 한 번만 만든다. (MyView 는 상태가 없어서 공유 가능)
+    // json: 으로 시작하는 뷰 이름은 JsonView
+    private View viewResolver(String viewName) {
+        if (JsonView.isJsonViewName(viewName)) {
+            return jsonView;
+        }
+
+        View view = viewCache.get(viewName);
+        if (view != null) {
+            return view;
+        }
+        return viewCache.computeIfAbsent(viewName, name -> new MyView("/WEB-INF/views/" + name + ".jsp"));
+    }
+
+    private static ThreadPoolExecutor createAsyncExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "front-controller-v5-async-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public void destroy() {
+        asyncExecutor.shutdown();
     }
 }
@@ -0,0 +1,79 @@
+package hello.servlet.web.frontcontroller.V5;
+
+import hello.servlet.web.frontcontroller.View;
+
+/**
+ * 경로 하나의 실행 정보 (경로 패턴, 핸들러, 핸들러 어댑터, 마지막으로 사용한 뷰)
+ * 핸들러 어댑터는 서블릿 생성 시점에 한 번만 찾아두고, 요청마다 supports() 로 다시 찾지 않는다.
+ * 비동기로 등록된 경로는 asyncAdapter 를 사용한다.
+ */
+public class HandlerExecution {
+
+    private final String pattern;
+    private final Object handler;
+    private final MyHandlerAdapter adapter;
+    private final MyAsyncHandlerAdapter asyncAdapter;
+
+    // 대부분의 핸들러는 항상 같은 뷰를 반환하므로 마지막 뷰를 기억해 둔다.
+    private volatile ResolvedView resolvedView;
+
+    public HandlerExecution(String pattern, Object handler, MyHandlerAdapter adapter) {
+        this.pattern = pattern;
+        this.handler = handler;
+        this.adapter = adapter;
+        this.asyncAdapter = null;
+    }
+
+    public HandlerExecution(String pattern, Object handler, MyAsyncHandlerAdapter asyncAdapter) {
+        this.pattern = pattern;
+        this.handler = handler;
+        this.adapter = null;
+        this.asyncAdapter = asyncAdapter;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public Object getHandler() {
+        return handler;
+    }
+
+    public MyHandlerAdapter getAdapter() {
+        return adapter;
+    }
+
+    public MyAsyncHandlerAdapter getAsyncAdapter() {
+        return asyncAdapter;
+    }
+
+    public boolean isAsync() {
+        return asyncAdapter != null;
+    }
+
+    /**
+     * @return 마지막으로 사용한 뷰와 이름이 다르면 null
+     */
+    public View getResolvedView(String viewName) {
+        ResolvedView resolved = resolvedView;
+        if (resolved != null && resolved.viewName.equals(viewName)) {
+            return resolved.view;
+        }
+        return null;
+    }
+
+    public void setResolvedView(String viewName, View view) {
+        resolvedView = new ResolvedView(viewName, view);
+    }
+
+    private static class ResolvedView {
+
+        private final String viewName;
+        private final View view;
+
+        private ResolvedView(String viewName, View view) {
+            this.viewName = viewName;
+            this.view = view;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package hello.servlet.web.frontcontroller.V5;
+
+import hello.servlet.web.frontcontroller.ModelView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 비동기 핸들러 어댑터
+ * 핸들러 실행이 끝날 때까지 기다리지 않고 CompletableFuture 를 바로 반환한다.
+ */
+public interface MyAsyncHandlerAdapter {
+
+    boolean supports(Object handler);
+
+    CompletableFuture<ModelView> handle(HttpServletRequest request, HttpServletResponse response, Object handler);
+}
@@ -0,0 +1,30 @@
+package hello.servlet.web.frontcontroller.V5;
+
+import hello.servlet.web.frontcontroller.ModelView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * FrontControllerServletV5 의 공통 관심사 처리 (로그, 인증, 측정 등)
+ * preHandle  : 핸들러 호출 전, false 를 반환하면 이후 처리를 하지 않는다.
+ * postHandle : 핸들러 호출 후, 뷰 렌더링 전 (예외가 발생하면 호출되지 않음)
+ * afterCompletion : 뷰 렌더링 후 항상 호출 (preHandle 이 true 를 반환한 인터셉터만)
+ */
+public interface MyHandlerInterceptor {
+
+    default boolean preHandle(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution) throws Exception {
+        return true;
+    }
+
+    default void postHandle(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution, ModelView mv) throws Exception {
+    }
+
+    /**
+     * @param startNanos 요청 처리를 시작한 시각 (System.nanoTime), 요청마다 값을 따로 저장하지 않아도 시간을 잴 수 있다.
+     * @param ex         처리 중 발생한 예외, 없으면 null
+     */
+    default void afterCompletion(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution,
+                                 long startNanos, Exception ex) throws Exception {
+    }
+}
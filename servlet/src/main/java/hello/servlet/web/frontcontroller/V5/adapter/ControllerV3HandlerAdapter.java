@@ -1,14 +1,15 @@
 package hello.servlet.web.frontcontroller.V5.adapter;
 
 import hello.servlet.web.frontcontroller.ModelView;
+import hello.servlet.web.frontcontroller.RequestParamMap;
 import hello.servlet.web.frontcontroller.V3.ControllerV3;
 import hello.servlet.web.frontcontroller.V5.MyHandlerAdapter;
+import hello.servlet.web.frontcontroller.router.RouteMatch;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 
 public class ControllerV3HandlerAdapter implements MyHandlerAdapter {
@@ -28,10 +29,8 @@ public class ControllerV3HandlerAdapter implements MyHandlerAdapter {
         return mv;
     }
 
+    // 파라미터를 복사하지 않고 request 를 감싼 읽기 전용 Map 을 넘긴다.
     private Map<String, String> createParamMap(HttpServletRequest request) {
-        Map<String, String> paramMap = new HashMap<>();
-        request.getParameterNames().asIterator()
-                .forEachRemaining(paramName -> paramMap.put(paramName, request.getParameter(paramName)));
-        return paramMap;
+        return new RequestParamMap(request, RouteMatch.getPathVariables(request));
     }
 }
@@ -1,8 +1,10 @@
 package hello.servlet.web.frontcontroller.V5.adapter;
 
 import hello.servlet.web.frontcontroller.ModelView;
+import hello.servlet.web.frontcontroller.RequestParamMap;
 import hello.servlet.web.frontcontroller.V4.ControllerV4;
 import hello.servlet.web.frontcontroller.V5.MyHandlerAdapter;
+import hello.servlet.web.frontcontroller.router.RouteMatch;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -32,10 +34,8 @@ public class ControllerV4HandlerAdapter implements MyHandlerAdapter {
         return mv;
     }
 
+    // 파라미터를 복사하지 않고 request 를 감싼 읽기 전용 Map 을 넘긴다.
     private Map<String, String> createParamMap(HttpServletRequest request) {
-        Map<String, String> paramMap = new HashMap<>();
-        request.getParameterNames().asIterator()
-                .forEachRemaining(paramName -> paramMap.put(paramName, request.getParameter(paramName)));
-        return paramMap;
+        return new RequestParamMap(request, RouteMatch.getPathVariables(request));
     }
 }
@@ -0,0 +1,48 @@
+package hello.servlet.web.frontcontroller.V5.adapter;
+
+import hello.servlet.web.frontcontroller.ModelView;
+import hello.servlet.web.frontcontroller.V5.MyAsyncHandlerAdapter;
+import hello.servlet.web.frontcontroller.V5.MyHandlerAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 기존(동기) 핸들러 어댑터를 별도 executor 에서 실행
+ * executor 가 가득 차서 거절되면 RejectedExecutionException 으로 완료된다.
+ */
+public class ExecutorHandlerAdapter implements MyAsyncHandlerAdapter {
+
+    private final MyHandlerAdapter delegate;
+    private final Executor executor;
+
+    public ExecutorHandlerAdapter(MyHandlerAdapter delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean supports(Object handler) {
+        return delegate.supports(handler);
+    }
+
+    @Override
+    public CompletableFuture<ModelView> handle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CompletableFuture<ModelView> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(delegate.handle(request, response, handler));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
@@ -0,0 +1,43 @@
+package hello.servlet.web.frontcontroller.V5.adapter;
+
+import hello.servlet.web.frontcontroller.ModelView;
+import hello.servlet.web.frontcontroller.RequestParamMap;
+import hello.servlet.web.frontcontroller.V5.MyHandlerAdapter;
+import hello.servlet.web.frontcontroller.annotation.HandlerMethod;
+import hello.servlet.web.frontcontroller.router.RouteMatch;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @MyController 의 @MyRequestMapping 메서드 실행
+ * 반환 값이 String 이면 뷰 이름, ModelView 면 그대로 사용한다.
+ */
+public class HandlerMethodAdapter implements MyHandlerAdapter {
+
+    @Override
+    public boolean supports(Object handler) {
+        return (handler instanceof HandlerMethod);
+    }
+
+    @Override
+    public ModelView handle(HttpServletRequest request, HttpServletResponse response, Object handler) throws ServletException, IOException {
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+
+        Map<String, String> paramMap = new RequestParamMap(request, RouteMatch.getPathVariables(request));
+        Map<String, Object> model = new HashMap<>();
+
+        Object result = handlerMethod.invoke(request, response, paramMap, model);
+        if (result instanceof ModelView) {
+            return (ModelView) result;
+        }
+
+        ModelView mv = new ModelView((String) result);
+        mv.setModel(model);
+        return mv;
+    }
+}
@@ -0,0 +1,62 @@
+package hello.servlet.web.frontcontroller.V5.controller;
+
+import hello.servlet.domain.member.Member;
+import hello.servlet.domain.member.MemberRepository;
+import hello.servlet.web.frontcontroller.HttpStatusException;
+import hello.servlet.web.frontcontroller.annotation.MyController;
+import hello.servlet.web.frontcontroller.annotation.MyRequestMapping;
+import hello.servlet.web.frontcontroller.annotation.MyRequestParam;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FrontControllerServletV5 가 시작할 때 스캔해서 등록하는 애노테이션 기반 컨트롤러
+ * 생성자에서 직접 등록하지 않아도 되고, 파라미터를 타입에 맞게 바로 받을 수 있다.
+ */
+@MyController
+@MyRequestMapping("/front-controller/v5/annotation/members")
+public class MemberControllerV5 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @MyRequestMapping("/new-form")
+    public String newForm() {
+        return "new-form";
+    }
+
+    @MyRequestMapping("/save")
+    public String save(@MyRequestParam("username") String username,
+                       @MyRequestParam("age") int age,
+                       Map<String, Object> model) {
+        Member member = new Member(username, age);
+        memberRepository.save(member);
+
+        model.put("member", member);
+        return "save-result";
+    }
+
+    @MyRequestMapping
+    public String members(Map<String, Object> model) {
+        List<Member> members = memberRepository.findAll();
+
+        model.put("members", members);
+        return "members";
+    }
+
+    @MyRequestMapping("/json")
+    public String membersJson(Map<String, Object> model) {
+        model.put("members", memberRepository.findAll());
+        return "json:members";
+    }
+
+    @MyRequestMapping("/{id}")
+    public String member(@MyRequestParam("id") Long id, Map<String, Object> model) {
+        Member member = memberRepository.findById(id);
+        if (member == null) {
+            throw HttpStatusException.notFound("회원이 없습니다. id=" + id);
+        }
+        model.put("member", member);
+        return "member";
+    }
+}
@@ -0,0 +1,34 @@
+package hello.servlet.web.frontcontroller.V5.interceptor;
+
+import hello.servlet.web.frontcontroller.V5.HandlerExecution;
+import hello.servlet.web.frontcontroller.V5.MyHandlerInterceptor;
+import hello.servlet.web.frontcontroller.metrics.RouteMetricsRegistry;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 경로(route 패턴)별 요청 수, 오류 수(예외 또는 5xx), 진행 중인 요청 수, 응답 시간을 기록한다.
+ * 시작 시각은 FrontControllerServletV5 가 넘겨주므로 요청마다 저장할 객체가 필요 없다.
+ */
+public class MetricsInterceptor implements MyHandlerInterceptor {
+
+    private final RouteMetricsRegistry registry;
+
+    public MetricsInterceptor(RouteMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution) {
+        registry.get(execution.getPattern()).requestStarted();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution,
+                                long startNanos, Exception ex) {
+        boolean error = ex != null || response.getStatus() >= 500;
+        registry.get(execution.getPattern()).requestCompleted(System.nanoTime() - startNanos, error);
+    }
+}
@@ -0,0 +1,27 @@
+package hello.servlet.web.frontcontroller;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * ModelView 의 model 을 응답으로 그리는 뷰 (JSP forward, JSON 등)
+ */
+public interface View {
+
+    void render(Map<String, Object> model, HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException;
+
+    /**
+     * 비동기 요청의 렌더링, 기본은 현재 스레드에서 응답을 쓰고 요청을 끝낸다.
+     */
+    default void renderAsync(Map<String, Object> model, HttpServletRequest request, AsyncContext asyncContext) throws ServletException, IOException {
+        try {
+            render(model, request, (HttpServletResponse) asyncContext.getResponse());
+        } finally {
+            asyncContext.complete();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package hello.servlet.web.frontcontroller.annotation;
+
+import hello.servlet.web.frontcontroller.HttpStatusException;
+import hello.servlet.web.frontcontroller.annotation.MethodInvokers.Invoker0;
+import hello.servlet.web.frontcontroller.annotation.MethodInvokers.Invoker1;
+import hello.servlet.web.frontcontroller.annotation.MethodInvokers.Invoker2;
+import hello.servlet.web.frontcontroller.annotation.MethodInvokers.Invoker3;
+import hello.servlet.web.frontcontroller.annotation.MethodInvokers.Invoker4;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+
+/**
+ * @MyRequestMapping 메서드 하나
+ * 시작할 때 파라미터마다 값을 꺼내는 방법(ArgumentResolver)을 정해두고, 요청마다 그대로 실행한다.
+ */
+public class HandlerMethod {
+
+    /**
+     * 메서드 파라미터 하나의 값을 꺼낸다.
+     */
+    interface ArgumentResolver {
+        Object resolve(HttpServletRequest request, HttpServletResponse response,
+                       Map<String, String> paramMap, Map<String, Object> model);
+    }
+
+    /**
+     * 파라미터 개수에 맞는 invoker 와 resolver 를 묶어서 시작할 때 만든다.
+     * 요청마다 개수로 분기하거나 invoker 를 캐스팅하지 않고, 인자 배열도 만들지 않는다.
+     */
+    private interface Invocation {
+        Object invoke(Object bean, HttpServletRequest request, HttpServletResponse response,
+                      Map<String, String> paramMap, Map<String, Object> model);
+    }
+
+    private final String path;
+    private final Object bean;
+    private final Method method;
+    private final ArgumentResolver[] argumentResolvers;
+    private final Invocation invocation;
+
+    public HandlerMethod(String path, Object bean, Method method) {
+        this.path = path;
+        this.bean = bean;
+        this.method = method;
+
+        Parameter[] parameters = method.getParameters();
+        this.argumentResolvers = new ArgumentResolver[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            argumentResolvers[i] = createArgumentResolver(parameters[i]);
+        }
+        this.invocation = createInvocation(MethodInvokers.create(method), argumentResolvers);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Object getBean() {
+        return bean;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return 컨트롤러 메서드의 반환 값 (뷰 이름 또는 ModelView)
+     * @throws HttpStatusException 필수 파라미터가 없거나 숫자 형식이 잘못된 경우 (400)
+     */
+    public Object invoke(HttpServletRequest request, HttpServletResponse response,
+                         Map<String, String> paramMap, Map<String, Object> model) {
+        return invocation.invoke(bean, request, response, paramMap, model);
+    }
+
+    /**
+     * invoke 와 같은 방법으로 인자만 꺼낸다. (Method.invoke 와 비교하는 벤치마크용)
+     */
+    Object[] resolveArguments(HttpServletRequest request, HttpServletResponse response,
+                              Map<String, String> paramMap, Map<String, Object> model) {
+        Object[] args = new Object[argumentResolvers.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = argumentResolvers[i].resolve(request, response, paramMap, model);
+        }
+        return args;
+    }
+
+    private static Invocation createInvocation(Object invoker, ArgumentResolver[] r) {
+        switch (r.length) {
+            case 0: {
+                Invoker0 invoker0 = (Invoker0) invoker;
+                return (bean, request, response, paramMap, model) -> invoker0.invoke(bean);
+            }
+            case 1: {
+                Invoker1 invoker1 = (Invoker1) invoker;
+                ArgumentResolver r0 = r[0];
+                return (bean, request, response, paramMap, model) -> invoker1.invoke(bean,
+                        r0.resolve(request, response, paramMap, model));
+            }
+            case 2: {
+                Invoker2 invoker2 = (Invoker2) invoker;
+                ArgumentResolver r0 = r[0];
+                ArgumentResolver r1 = r[1];
+                return (bean, request, response, paramMap, model) -> invoker2.invoke(bean,
+                        r0.resolve(request, response, paramMap, model),
+                        r1.resolve(request, response, paramMap, model));
+            }
+            case 3: {
+                Invoker3 invoker3 = (Invoker3) invoker;
+                ArgumentResolver r0 = r[0];
+                ArgumentResolver r1 = r[1];
+                ArgumentResolver r2 = r[2];
+                return (bean, request, response, paramMap, model) -> invoker3.invoke(bean,
+                        r0.resolve(request, response, paramMap, model),
+                        r1.resolve(request, response, paramMap, model),
+                        r2.resolve(request, response, paramMap, model));
+            }
+            default: {
+                Invoker4 invoker4 = (Invoker4) invoker;
+                ArgumentResolver r0 = r[0];
+                ArgumentResolver r1 = r[1];
+                ArgumentResolver r2 = r[2];
+                ArgumentResolver r3 = r[3];
+                return (bean, request, response, paramMap, model) -> invoker4.invoke(bean,
+                        r0.resolve(request, response, paramMap, model),
+                        r1.resolve(request, response, paramMap, model),
+                        r2.resolve(request, response, paramMap, model),
+                        r3.resolve(request, response, paramMap, model));
+            }
+        }
+    }
+
+    private ArgumentResolver createArgumentResolver(Parameter parameter) {
+        Class<?> type = parameter.getType();
+        if (type == HttpServletRequest.class) {
+            return (request, response, paramMap, model) -> request;
+        }
+        if (type == HttpServletResponse.class) {
+            return (request, response, paramMap, model) -> response;
+        }
+        if (type == Map.class && !parameter.isAnnotationPresent(MyRequestParam.class)) {
+            return (request, response, paramMap, model) -> model;
+        }
+
+        MyRequestParam requestParam = parameter.getAnnotation(MyRequestParam.class);
+        if (requestParam == null) {
+            throw new IllegalArgumentException("지원하지 않는 파라미터입니다. method=" + method + ", parameter=" + parameter);
+        }
+
+        String name = requestParam.value().isEmpty() ? parameter.getName() : requestParam.value();
+        boolean required = requestParam.required() || type.isPrimitive();
+        TypeConverter converter = converterFor(type, parameter);
+
+        return (request, response, paramMap, model) -> {
+            String value = paramMap.get(name);
+            if (value == null) {
+                if (required) {
+                    throw HttpStatusException.badRequest("필수 파라미터가 없습니다. name=" + name);
+                }
+                return null;
+            }
+            try {
+                return converter.convert(value);
+            } catch (NumberFormatException e) {
+                throw HttpStatusException.badRequest("숫자가 아닙니다. " + name + "=" + value);
+            }
+        };
+    }
+
+    private interface TypeConverter {
+        Object convert(String value);
+    }
+
+    private TypeConverter converterFor(Class<?> type, Parameter parameter) {
+        if (type == String.class) {
+            return value -> value;
+        }
+        if (type == int.class || type == Integer.class) {
+            return Integer::valueOf;
+        }
+        if (type == long.class || type == Long.class) {
+            return Long::valueOf;
+        }
+        throw new IllegalArgumentException("지원하지 않는 파라미터 타입입니다. method=" + method + ", parameter=" + parameter);
+    }
+
+    @Override
+    public String toString() {
+        return path + " -> " + method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
@@ -0,0 +1,57 @@
+package hello.servlet.web.frontcontroller.annotation;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * basePackage 아래의 @MyController 클래스를 찾아서 @MyRequestMapping 메서드를 HandlerMethod 로 만든다.
+ * 클래스 스캔은 스프링의 ClassPathScanningCandidateComponentProvider 를 사용한다.
+ * 컨트롤러는 기본 생성자로 한 번만 생성한다. (기존 컨트롤러처럼 싱글톤으로 사용)
+ */
+public class HandlerMethodScanner {
+
+    public List<HandlerMethod> scan(String basePackage) {
+        ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+        provider.addIncludeFilter(new AnnotationTypeFilter(MyController.class));
+
+        List<HandlerMethod> handlerMethods = new ArrayList<>();
+        for (BeanDefinition candidate : provider.findCandidateComponents(basePackage)) {
+            Class<?> controllerClass = ClassUtils.resolveClassName(candidate.getBeanClassName(), getClass().getClassLoader());
+            handlerMethods.addAll(createHandlerMethods(controllerClass));
+        }
+        return handlerMethods;
+    }
+
+    public List<HandlerMethod> createHandlerMethods(Class<?> controllerClass) {
+        Object bean = instantiate(controllerClass);
+
+        MyRequestMapping classMapping = controllerClass.getAnnotation(MyRequestMapping.class);
+        String prefix = classMapping != null ? classMapping.value() : "";
+
+        List<HandlerMethod> handlerMethods = new ArrayList<>();
+        for (Method method : controllerClass.getDeclaredMethods()) {
+            MyRequestMapping mapping = method.getAnnotation(MyRequestMapping.class);
+            if (mapping != null) {
+                handlerMethods.add(new HandlerMethod(prefix + mapping.value(), bean, method));
+            }
+        }
+        return handlerMethods;
+    }
+
+    private Object instantiate(Class<?> controllerClass) {
+        try {
+            Constructor<?> constructor = controllerClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("컨트롤러는 기본 생성자가 필요합니다. controller=" + controllerClass, e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package hello.servlet.web.frontcontroller.annotation;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * LambdaMetafactory 로 컨트롤러 메서드를 직접 호출하는 클래스를 런타임에 생성한다.
+ * 생성된 invoker 는 람다와 같은 방식으로 만들어지기 때문에 JIT 가 인라인할 수 있고,
+ * Method.invoke() 처럼 호출할 때마다 접근 검사, 인자 배열 처리를 하지 않는다.
+ *
+ * 파라미터 개수별로 인터페이스를 나눈 이유는 LambdaMetafactory 가 인자 배열을 풀어주지 않기 때문이다.
+ */
+public class MethodInvokers {
+
+    public static final int MAX_PARAMETER_COUNT = 4;
+
+    public interface Invoker0 {
+        Object invoke(Object target);
+    }
+
+    public interface Invoker1 {
+        Object invoke(Object target, Object arg1);
+    }
+
+    public interface Invoker2 {
+        Object invoke(Object target, Object arg1, Object arg2);
+    }
+
+    public interface Invoker3 {
+        Object invoke(Object target, Object arg1, Object arg2, Object arg3);
+    }
+
+    public interface Invoker4 {
+        Object invoke(Object target, Object arg1, Object arg2, Object arg3, Object arg4);
+    }
+
+    private static final Class<?>[] INVOKER_TYPES = {
+            Invoker0.class, Invoker1.class, Invoker2.class, Invoker3.class, Invoker4.class
+    };
+
+    private MethodInvokers() {
+    }
+
+    /**
+     * @return 파라미터 개수에 맞는 Invoker0 ~ Invoker4 구현체
+     */
+    public static Object create(Method method) {
+        int parameterCount = method.getParameterCount();
+        if (parameterCount > MAX_PARAMETER_COUNT) {
+            throw new IllegalArgumentException("파라미터는 최대 " + MAX_PARAMETER_COUNT + "개까지 지원합니다. method=" + method);
+        }
+        if (method.getReturnType() == void.class || method.getReturnType().isPrimitive()) {
+            throw new IllegalArgumentException("반환 타입은 객체 타입이어야 합니다. method=" + method);
+        }
+
+        try {
+            // 컨트롤러 클래스 기준 lookup, 생성되는 클래스도 컨트롤러와 같은 클래스로더에 정의된다.
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle target = lookup.unreflect(method);
+            Class<?> invokerType = INVOKER_TYPES[parameterCount];
+
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "invoke",
+                    MethodType.methodType(invokerType),
+                    MethodType.genericMethodType(parameterCount + 1), // (Object, Object...)Object
+                    target,
+                    target.type().wrap()); // int -> Integer 처럼 기본 타입은 박싱 타입으로 받고 언박싱해서 호출
+            return callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("invoker 생성 실패. method=" + method, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package hello.servlet.web.frontcontroller.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 프론트 컨트롤러가 시작할 때 스캔해서 등록하는 컨트롤러 (스프링의 @Controller 역할)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MyController {
+}
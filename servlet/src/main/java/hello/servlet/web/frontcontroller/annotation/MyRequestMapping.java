@@ -0,0 +1,17 @@
+package hello.servlet.web.frontcontroller.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 클래스에 붙이면 공통 경로, 메서드에 붙이면 클래스 경로 + 메서드 경로로 등록된다.
+ * 경로 변수 {id}, *, ** 사용 가능 (TrieRouter)
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MyRequestMapping {
+
+    String value() default "";
+}
@@ -0,0 +1,20 @@
+package hello.servlet.web.frontcontroller.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 요청 파라미터 또는 경로 변수를 메서드 파라미터에 바인딩한다.
+ * 지원 타입: String, int, Integer, long, Long
+ * value 를 생략하면 파라미터 이름을 사용한다. (-parameters 컴파일 옵션 필요)
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MyRequestParam {
+
+    String value() default "";
+
+    boolean required() default true;
+}
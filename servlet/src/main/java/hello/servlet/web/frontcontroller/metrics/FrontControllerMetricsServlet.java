@@ -0,0 +1,63 @@
+package hello.servlet.web.frontcontroller.metrics;
+
+import hello.servlet.web.json.JsonCodec;
+import hello.web.metrics.LatencyHistogram;
+import lombok.Getter;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * http://localhost:8080/front-controller/metrics
+ * 경로별 요청 수, 오류 수, 응답 시간(평균, 최대, p50/p90/p99 구간 상한)을 JSON 으로 응답
+ */
+@WebServlet(name = "frontControllerMetricsServlet", urlPatterns = "/front-controller/metrics")
+public class FrontControllerMetricsServlet extends HttpServlet {
+
+    private final RouteMetricsRegistry registry = RouteMetricsRegistry.getInstance();
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        List<RouteMetricsResponse> result = new ArrayList<>();
+        for (RouteMetrics routeMetrics : registry.findAll()) {
+            result.add(new RouteMetricsResponse(routeMetrics));
+        }
+
+        JsonCodec.write(response, result);
+    }
+
+    @Getter
+    static class RouteMetricsResponse {
+
+        private final String route;
+        private final long requests;
+        private final long errors;
+        private final long active;
+        private final double avgMicros;
+        private final double maxMicros;
+        private final long p50Micros;
+        private final long p90Micros;
+        private final long p99Micros;
+
+        RouteMetricsResponse(RouteMetrics metrics) {
+            LatencyHistogram latency = metrics.getLatency();
+            long count = latency.getCount();
+
+            this.route = metrics.getRoute();
+            this.requests = metrics.getRequests();
+            this.errors = metrics.getErrors();
+            this.active = metrics.getActive();
+            this.avgMicros = count == 0 ? 0 : latency.getTotalNanos() / 1000.0 / count;
+            this.maxMicros = latency.getMaxNanos() / 1000.0;
+            this.p50Micros = latency.percentileMicros(50);
+            this.p90Micros = latency.percentileMicros(90);
+            this.p99Micros = latency.percentileMicros(99);
+        }
+    }
+}
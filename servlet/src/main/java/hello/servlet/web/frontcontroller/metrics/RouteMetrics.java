@@ -0,0 +1,54 @@
+package hello.servlet.web.frontcontroller.metrics;
+
+import hello.web.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경로(route 패턴) 하나의 요청 수, 오류 수, 진행 중인 요청 수, 응답 시간
+ */
+public class RouteMetrics {
+
+    private final String route;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder active = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public RouteMetrics(String route) {
+        this.route = route;
+    }
+
+    public void requestStarted() {
+        active.increment();
+    }
+
+    public void requestCompleted(long elapsedNanos, boolean error) {
+        active.decrement();
+        requests.increment();
+        if (error) {
+            errors.increment();
+        }
+        latency.record(elapsedNanos);
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getActive() {
+        return active.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
@@ -0,0 +1,45 @@
+package hello.servlet.web.frontcontroller.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 경로별 RouteMetrics 저장소 (싱글톤)
+ * 측정하는 쪽(인터셉터)과 조회하는 쪽(metrics 서블릿)이 같이 사용한다.
+ */
+public class RouteMetricsRegistry {
+
+    private static final RouteMetricsRegistry instance = new RouteMetricsRegistry();
+
+    public static RouteMetricsRegistry getInstance() {
+        return instance;
+    }
+
+    private final ConcurrentHashMap<String, RouteMetrics> metrics = new ConcurrentHashMap<>();
+
+    private RouteMetricsRegistry() {
+    }
+
+    /**
+     * 이미 있으면 get 만 하고(객체 생성 없음), 처음 요청된 경로만 새로 만든다.
+     */
+    public RouteMetrics get(String route) {
+        RouteMetrics routeMetrics = metrics.get(route);
+        if (routeMetrics != null) {
+            return routeMetrics;
+        }
+        return metrics.computeIfAbsent(route, RouteMetrics::new);
+    }
+
+    public List<RouteMetrics> findAll() {
+        List<RouteMetrics> result = new ArrayList<>(metrics.values());
+        result.sort(Comparator.comparing(RouteMetrics::getRoute));
+        return result;
+    }
+
+    public void clear() {
+        metrics.clear();
+    }
+}
@@ -0,0 +1,44 @@
+package hello.servlet.web.frontcontroller.router;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * TrieRouter 매칭 결과 (핸들러 + 경로 변수)
+ */
+public class RouteMatch<T> {
+
+    /**
+     * 프론트 컨트롤러가 경로 변수를 핸들러 어댑터에 넘길 때 사용하는 request attribute 이름
+     */
+    public static final String PATH_VARIABLES_ATTRIBUTE = RouteMatch.class.getName() + ".pathVariables";
+
+    private final String pattern;
+    private final T handler;
+    private final Map<String, String> pathVariables;
+
+    public RouteMatch(String pattern, T handler, Map<String, String> pathVariables) {
+        this.pattern = pattern;
+        this.handler = handler;
+        this.pathVariables = pathVariables;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public T getHandler() {
+        return handler;
+    }
+
+    public Map<String, String> getPathVariables() {
+        return pathVariables;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, String> getPathVariables(HttpServletRequest request) {
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(PATH_VARIABLES_ATTRIBUTE);
+        return pathVariables != null ? pathVariables : Collections.emptyMap();
+    }
+}
@@ -0,0 +1,259 @@
+package hello.servlet.web.frontcontroller.router;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * URI 를 '/' 단위 세그먼트 트리로 매칭하는 라우터
+ *
+ * 지원하는 패턴
+ * /members/new-form  : 정적 세그먼트
+ * /members/{id}      : 경로 변수, 세그먼트 하나를 id 로 캡처
+ * /files/*           : 세그먼트 하나와 매칭 (캡처하지 않음)
+ * /static/**         : 나머지 경로 전체와 매칭 (마지막 세그먼트에만 사용)
+ *
+ * 우선순위는 정적 세그먼트 > {var} > * > ** 이다.
+ * 정적 자식은 정렬된 배열로 보관해서 요청 URI 의 구간을 그대로 이진 탐색한다.
+ * 따라서 정적 경로 매칭은 substring, 정규식 없이 할당 없이 끝난다.
+ * 경로 변수가 있는 경로로 매칭된 경우에만 한 번 더 내려가면서 값을 꺼낸다. (%XX 는 UTF-8 로 디코딩)
+ */
+public class TrieRouter<T> {
+
+    private final Node<T> root = new Node<>();
+
+    public void add(String pattern, T handler) {
+        Node<T> node = root;
+        List<String> variableNames = new ArrayList<>();
+
+        List<String> segments = segments(pattern);
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (segment.equals("**")) {
+                if (i != segments.size() - 1) {
+                    throw new IllegalArgumentException("** 는 마지막 세그먼트에만 사용할 수 있습니다. pattern=" + pattern);
+                }
+                if (node.restChild == null) {
+                    node.restChild = new Node<>();
+                }
+                node = node.restChild;
+            } else if (segment.equals("*")) {
+                if (node.anyChild == null) {
+                    node.anyChild = new Node<>();
+                }
+                node = node.anyChild;
+            } else if (segment.startsWith("{") && segment.endsWith("}")) {
+                if (node.variableChild == null) {
+                    node.variableChild = new Node<>();
+                }
+                variableNames.add(segment.substring(1, segment.length() - 1));
+                node = node.variableChild;
+            } else {
+                node = node.staticChild(segment);
+            }
+        }
+
+        if (node.handler != null) {
+            throw new IllegalArgumentException("이미 등록된 경로입니다. pattern=" + pattern);
+        }
+        node.handler = handler;
+        node.pattern = pattern;
+        node.variableNames = variableNames.toArray(new String[0]);
+        if (variableNames.isEmpty()) {
+            node.staticMatch = new RouteMatch<>(pattern, handler, Collections.emptyMap());
+        }
+    }
+
+    /**
+     * @return 매칭되는 경로가 없으면 null
+     * @throws IllegalArgumentException 경로 변수의 %XX 인코딩이 잘못된 경우
+     */
+    public RouteMatch<T> match(String path) {
+        // 먼저 값을 꺼내지 않고 찾는다. 정적 경로는 여기서 끝난다. (할당 없음)
+        Node<T> node = find(root, path, 0, null, 0);
+        if (node == null) {
+            return null;
+        }
+        if (node.staticMatch != null) {
+            return node.staticMatch;
+        }
+
+        // 같은 경로를 다시 내려가면서 경로 변수 값을 꺼낸다. (탐색 순서가 같으므로 같은 노드에 도착한다)
+        String[] values = new String[node.variableNames.length];
+        find(root, path, 0, values, 0);
+
+        Map<String, String> pathVariables = new HashMap<>(node.variableNames.length * 2);
+        for (int i = 0; i < node.variableNames.length; i++) {
+            pathVariables.put(node.variableNames[i], values[i]);
+        }
+        return new RouteMatch<>(node.pattern, node.handler, pathVariables);
+    }
+
+    private Node<T> find(Node<T> node, String path, int start, String[] values, int valueCount) {
+        int length = path.length();
+        while (start < length && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start >= length) {
+            if (node.handler != null) {
+                return node;
+            }
+            return node.restChild != null && node.restChild.handler != null ? node.restChild : null;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+
+        // 1. 정적 세그먼트
+        Node<T> child = node.findStaticChild(path, start, end);
+        if (child != null) {
+            Node<T> found = find(child, path, end, values, valueCount);
+            if (found != null) {
+                return found;
+            }
+        }
+
+        // 2. {var}
+        if (node.variableChild != null) {
+            Node<T> found = find(node.variableChild, path, end, values, valueCount + 1);
+            if (found != null) {
+                if (values != null) {
+                    values[valueCount] = decode(path, start, end);
+                }
+                return found;
+            }
+        }
+
+        // 3. *
+        if (node.anyChild != null) {
+            Node<T> found = find(node.anyChild, path, end, values, valueCount);
+            if (found != null) {
+                return found;
+            }
+        }
+
+        // 4. **
+        if (node.restChild != null && node.restChild.handler != null) {
+            return node.restChild;
+        }
+        return null;
+    }
+
+    /**
+     * 경로 세그먼트의 %XX 를 UTF-8 로 디코딩한다. 경로에서는 '+' 를 공백으로 바꾸지 않는다.
+     */
+    static String decode(String path, int start, int end) {
+        int percent = path.indexOf('%', start);
+        if (percent < 0 || percent >= end) {
+            return path.substring(start, end);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(end - start);
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c != '%') {
+                if (c < 0x80) {
+                    bytes.write(c);
+                } else {
+                    byte[] encoded = String.valueOf(c).getBytes(StandardCharsets.UTF_8); // 인코딩되지 않은 문자가 섞인 경우
+                    bytes.write(encoded, 0, encoded.length);
+                }
+                continue;
+            }
+            int high = i + 2 < end ? Character.digit(path.charAt(i + 1), 16) : -1;
+            int low = i + 2 < end ? Character.digit(path.charAt(i + 2), 16) : -1;
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("잘못된 경로 인코딩입니다. path=" + path);
+            }
+            bytes.write((high << 4) | low);
+            i += 2;
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> segments(String pattern) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : pattern.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static class Node<T> {
+
+        private static final String[] NO_KEYS = new String[0];
+
+        // 정적 자식, keys 는 정렬 상태를 유지한다.
+        private String[] staticKeys = NO_KEYS;
+        @SuppressWarnings("unchecked")
+        private Node<T>[] staticChildren = (Node<T>[]) new Node<?>[0];
+
+        private Node<T> variableChild;
+        private Node<T> anyChild;
+        private Node<T> restChild;
+
+        private T handler;
+        private String pattern;
+        private String[] variableNames;
+        private RouteMatch<T> staticMatch;
+
+        private Node<T> staticChild(String segment) {
+            int index = Arrays.binarySearch(staticKeys, segment);
+            if (index >= 0) {
+                return staticChildren[index];
+            }
+
+            int insertAt = -(index + 1);
+            Node<T> child = new Node<>();
+            staticKeys = insert(staticKeys, insertAt, segment);
+            staticChildren = insert(staticChildren, insertAt, child);
+            return child;
+        }
+
+        private Node<T> findStaticChild(String path, int start, int end) {
+            int low = 0;
+            int high = staticKeys.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(staticKeys[mid], path, start, end);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return staticChildren[mid];
+                }
+            }
+            return null;
+        }
+
+        // String.compareTo 와 같은 순서로 key 와 path[start, end) 를 비교한다.
+        private static int compare(String key, String path, int start, int end) {
+            int length = end - start;
+            int min = Math.min(key.length(), length);
+            for (int i = 0; i < min; i++) {
+                int diff = key.charAt(i) - path.charAt(start + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return key.length() - length;
+        }
+
+        private static <E> E[] insert(E[] array, int index, E element) {
+            E[] result = Arrays.copyOf(array, array.length + 1);
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            result[index] = element;
+            return result;
+        }
+    }
+}
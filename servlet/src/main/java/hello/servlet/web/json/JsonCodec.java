@@ -0,0 +1,57 @@
+package hello.servlet.web.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 서블릿 앱의 모든 JSON 응답/요청이 같이 쓰는 ObjectMapper
+ * - ObjectMapper 는 만드는 비용이 크고 thread-safe 하므로 서블릿마다 만들지 않고 하나를 공유한다.
+ *   (타입별 serializer/deserializer 캐시도 하나로 모인다)
+ * - BlackbirdModule : getter/setter 를 리플렉션 대신 LambdaMetafactory 로 만든 람다로 호출한다.
+ * - 응답은 중간 String 없이 응답 스트림에 바로 쓴다. 인코딩 버퍼는 Jackson 이 스레드별로 재사용한다.
+ *
+ * 자주 쓰는 타입은 writerFor/readerFor 로 만든 ObjectWriter/ObjectReader 를 필드에 들고 있으면
+ * 만들 때 serializer/deserializer 를 미리 찾아두기 때문에 요청마다 찾지 않는다.
+ */
+public final class JsonCodec {
+
+    private static final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new BlackbirdModule())
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET) // 응답 스트림은 컨테이너가 닫는다
+            .build();
+
+    private JsonCodec() {
+    }
+
+    public static ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    public static ObjectWriter writerFor(Class<?> type) {
+        return objectMapper.writerFor(type);
+    }
+
+    public static ObjectReader readerFor(Class<?> type) {
+        return objectMapper.readerFor(type);
+    }
+
+    /**
+     * Content-Type: application/json;charset=utf-8 로 value 를 응답 스트림에 바로 쓴다.
+     */
+    public static void write(HttpServletResponse response, Object value) throws IOException {
+        write(response, objectMapper.writer(), value);
+    }
+
+    public static void write(HttpServletResponse response, ObjectWriter writer, Object value) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("utf-8");
+        writer.writeValue(response.getOutputStream(), value);
+    }
+}
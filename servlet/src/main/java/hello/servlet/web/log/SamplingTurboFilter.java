@@ -0,0 +1,56 @@
+package hello.servlet.web.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청마다 반복되는 로그를 N 건 중 1 건만 남기는 필터.
+ * 메시지를 포맷하고 이벤트 객체를 만들기 전에 판단하기 때문에, 걸러진 로그는 할당 없이 버려진다.
+ * WARN 이상은 항상 남긴다.
+ *
+ * <pre>
+ * &lt;turboFilter class="hello.servlet.web.log.SamplingTurboFilter"&gt;
+ *     &lt;loggerPrefix&gt;hello.servlet.web.frontcontroller&lt;/loggerPrefix&gt;
+ *     &lt;rate&gt;100&lt;/rate&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final AtomicLong counter = new AtomicLong();
+
+    private String loggerPrefix = "";
+    private int rate = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format 이 null 이면 isInfoEnabled() 같은 레벨 확인 호출이므로 샘플링하지 않는다
+        if (!isStarted() || rate <= 1 || format == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        // 로그 레벨이 꺼져 있으면 카운터를 건드리지 않는다
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setRate(int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("rate 는 1 이상이어야 합니다. rate=" + rate);
+        }
+        this.rate = rate;
+    }
+}
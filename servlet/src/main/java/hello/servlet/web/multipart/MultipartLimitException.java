@@ -0,0 +1,11 @@
+package hello.servlet.web.multipart;
+
+/**
+ * 요청/파일/필드/헤더 크기 제한을 넘은 경우 (413 Payload Too Large)
+ */
+public class MultipartLimitException extends IllegalStateException {
+
+    public MultipartLimitException(String message) {
+        super(message);
+    }
+}
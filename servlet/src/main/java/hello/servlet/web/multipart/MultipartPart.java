@@ -0,0 +1,43 @@
+package hello.servlet.web.multipart;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * 파싱된 multipart 파트 하나
+ * 파일 파트는 디스크에 저장된 경로(path)와 SHA-256, 일반 필드는 값(value)을 가진다.
+ */
+@Getter
+public class MultipartPart {
+
+    private final String name;
+    private final String filename;
+    private final String contentType;
+    private final long size;
+    private final String sha256;
+    private final Path path;
+    private final String value;
+
+    private MultipartPart(String name, String filename, String contentType, long size, String sha256, Path path, String value) {
+        this.name = name;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.size = size;
+        this.sha256 = sha256;
+        this.path = path;
+        this.value = value;
+    }
+
+    static MultipartPart file(String name, String filename, String contentType, long size, String sha256, Path path) {
+        return new MultipartPart(name, filename, contentType, size, sha256, path, null);
+    }
+
+    static MultipartPart field(String name, String value, long size) {
+        return new MultipartPart(name, null, null, size, null, null, value);
+    }
+
+    public boolean isFile() {
+        return path != null;
+    }
+}
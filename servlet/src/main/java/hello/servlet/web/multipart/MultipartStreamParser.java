@@ -0,0 +1,359 @@
+package hello.servlet.web.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * multipart/form-data 를 스트리밍으로 파싱한다.
+ * 요청 전체나 파트 전체를 메모리에 올리지 않고, 고정 크기 버퍼 하나로 읽으면서
+ * 파일 파트는 도착하는 대로 FileChannel 로 디스크에 쓰고 SHA-256 을 계산한다.
+ *
+ * 요청당 메모리 = 버퍼(bufferSize) + 일반 필드 값 합계(최대 maxFieldSize) 이다.
+ * 헤더 블록은 버퍼 안에 들어와야 하므로 bufferSize 가 헤더 크기 제한이 된다.
+ *
+ * 클라이언트가 보낸 filename 은 경로로 사용하지 않는다. (임시 파일 이름으로 저장)
+ */
+public class MultipartStreamParser {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+    private static final byte[] DASH_DASH = {'-', '-'};
+
+    private final Path directory;
+    private final int bufferSize;
+    private final int maxFieldSize;
+    private final long maxFileSize;
+    private final long maxRequestSize;
+
+    public MultipartStreamParser(Path directory, int bufferSize, int maxFieldSize, long maxFileSize, long maxRequestSize) {
+        if (bufferSize < 1024) {
+            throw new IllegalArgumentException("bufferSize 는 1024 이상이어야 합니다. bufferSize=" + bufferSize);
+        }
+        this.directory = directory;
+        this.bufferSize = bufferSize;
+        this.maxFieldSize = maxFieldSize;
+        this.maxFileSize = maxFileSize;
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    /**
+     * Content-Type 헤더에서 boundary 를 꺼낸다. multipart/form-data 가 아니면 null
+     */
+    public static String boundaryOf(String contentType) {
+        if (contentType == null || !contentType.toLowerCase().startsWith("multipart/form-data")) {
+            return null;
+        }
+        for (String param : contentType.split(";")) {
+            String p = param.trim();
+            if (p.regionMatches(true, 0, "boundary=", 0, 9)) {
+                return unquote(p.substring(9));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 실패하면 그때까지 저장한 파일을 지우고 예외를 던진다.
+     */
+    public List<MultipartPart> parse(InputStream in, String boundary) throws IOException {
+        if (boundary == null || boundary.isEmpty() || boundary.length() > 70) {
+            throw new IllegalArgumentException("잘못된 boundary 입니다. boundary=" + boundary);
+        }
+        List<MultipartPart> parts = new ArrayList<>();
+        try {
+            new Reader(in, boundary, parts).readAll();
+            return parts;
+        } catch (IOException | RuntimeException e) {
+            delete(parts);
+            throw e;
+        }
+    }
+
+    public static void delete(List<MultipartPart> parts) {
+        for (MultipartPart part : parts) {
+            if (part.isFile()) {
+                try {
+                    Files.deleteIfExists(part.getPath());
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * 요청 하나를 읽는 상태 (버퍼, 읽은 바이트 수)
+     */
+    private class Reader {
+
+        private final InputStream in;
+        private final byte[] dashBoundary;
+        private final byte[] delimiter;
+        private final List<MultipartPart> parts;
+
+        private final byte[] buffer = new byte[bufferSize];
+        private int start;
+        private int end;
+        private long totalRead;
+        private long fieldBytes; // 모든 일반 필드 값의 합계
+
+        private Path openFile; // 쓰는 중인 파일, 실패 시 삭제
+
+        Reader(InputStream in, String boundary, List<MultipartPart> parts) {
+            this.in = in;
+            this.dashBoundary = ("--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+            this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+            this.parts = parts;
+        }
+
+        void readAll() throws IOException {
+            try {
+                skipPreamble();
+                while (true) {
+                    ensure(2);
+                    if (startsWith(DASH_DASH)) {
+                        return; // 마지막 boundary
+                    }
+                    if (!startsWith(CRLF)) {
+                        throw new IllegalArgumentException("boundary 뒤에 CRLF 가 없습니다.");
+                    }
+                    start += 2;
+                    readPart();
+                }
+            } finally {
+                if (openFile != null) {
+                    Files.deleteIfExists(openFile);
+                }
+            }
+        }
+
+        private void skipPreamble() throws IOException {
+            while (true) {
+                int index = indexOf(dashBoundary, start);
+                if (index >= 0) {
+                    start = index + dashBoundary.length;
+                    return;
+                }
+                start = Math.max(start, end - dashBoundary.length + 1);
+                if (fill() < 0) {
+                    throw new IllegalArgumentException("boundary 를 찾을 수 없습니다.");
+                }
+            }
+        }
+
+        private void readPart() throws IOException {
+            int headerEnd;
+            while ((headerEnd = indexOf(HEADER_END, start)) < 0) {
+                if (start == 0 && end == buffer.length) {
+                    throw new MultipartLimitException("파트 헤더가 너무 큽니다. 최대=" + bufferSize);
+                }
+                if (fill() < 0) {
+                    throw new IllegalArgumentException("파트 헤더가 끝나지 않았습니다.");
+                }
+            }
+            PartHeaders headers = PartHeaders.parse(new String(buffer, start, headerEnd - start, StandardCharsets.UTF_8));
+            start = headerEnd + HEADER_END.length;
+
+            if (headers.filename != null) {
+                parts.add(readFile(headers));
+            } else {
+                parts.add(readField(headers));
+            }
+        }
+
+        private MultipartPart readFile(PartHeaders headers) throws IOException {
+            MessageDigest digest = sha256();
+            openFile = Files.createTempFile(directory, "upload-", ".part");
+            long size = 0;
+            try (FileChannel channel = FileChannel.open(openFile, StandardOpenOption.WRITE)) {
+                int length;
+                while ((length = nextBodyChunk()) != 0) {
+                    if (length > 0) {
+                        size += length;
+                        if (size > maxFileSize) {
+                            throw new MultipartLimitException("파일이 너무 큽니다. 최대=" + maxFileSize + ", name=" + headers.name);
+                        }
+                        digest.update(buffer, start, length);
+                        ByteBuffer chunk = ByteBuffer.wrap(buffer, start, length);
+                        while (chunk.hasRemaining()) {
+                            channel.write(chunk);
+                        }
+                        start += length;
+                    }
+                }
+            }
+            Path path = openFile;
+            openFile = null;
+            return MultipartPart.file(headers.name, headers.filename, headers.contentType, size, toHex(digest.digest()), path);
+        }
+
+        private MultipartPart readField(PartHeaders headers) throws IOException {
+            ByteArrayOutputStream value = new ByteArrayOutputStream();
+            int length;
+            while ((length = nextBodyChunk()) != 0) {
+                if (length > 0) {
+                    fieldBytes += length;
+                    if (fieldBytes > maxFieldSize) {
+                        throw new MultipartLimitException("필드 값이 너무 큽니다. 최대=" + maxFieldSize + ", name=" + headers.name);
+                    }
+                    value.write(buffer, start, length);
+                    start += length;
+                }
+            }
+            return MultipartPart.field(headers.name, value.toString(StandardCharsets.UTF_8), value.size());
+        }
+
+        /**
+         * 버퍼의 start 부터 delimiter 앞까지 중 안전하게 내보낼 수 있는 길이를 반환한다.
+         * 양수: [start, start + 길이) 가 본문, 호출한 쪽이 start 를 옮긴다.
+         * 음수: 버퍼를 다시 채웠으니 다시 호출한다.
+         * 0: 파트 끝, delimiter 를 지나 start 를 옮겨 두었다.
+         */
+        private int nextBodyChunk() throws IOException {
+            int index = indexOf(delimiter, start);
+            if (index >= 0) {
+                if (index > start) {
+                    return index - start;
+                }
+                start = index + delimiter.length;
+                return 0;
+            }
+            // delimiter 일부가 버퍼 끝에 걸쳐 있을 수 있으므로 그 길이만큼은 남겨 둔다
+            int safe = end - (delimiter.length - 1);
+            if (safe > start) {
+                return safe - start;
+            }
+            if (fill() < 0) {
+                throw new IllegalArgumentException("파트가 끝나기 전에 요청이 끝났습니다.");
+            }
+            return -1;
+        }
+
+        private void ensure(int n) throws IOException {
+            while (end - start < n) {
+                if (fill() < 0) {
+                    throw new IllegalArgumentException("요청이 예상보다 일찍 끝났습니다.");
+                }
+            }
+        }
+
+        /**
+         * 남은 데이터를 버퍼 앞으로 옮기고 뒤를 채운다.
+         */
+        private int fill() throws IOException {
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                start = 0;
+            }
+            int read = in.read(buffer, end, buffer.length - end);
+            if (read > 0) {
+                end += read;
+                totalRead += read;
+                if (totalRead > maxRequestSize) {
+                    throw new MultipartLimitException("요청이 너무 큽니다. 최대=" + maxRequestSize);
+                }
+            }
+            return read;
+        }
+
+        private boolean startsWith(byte[] prefix) {
+            for (int i = 0; i < prefix.length; i++) {
+                if (buffer[start + i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int indexOf(byte[] pattern, int from) {
+            byte first = pattern[0];
+            int last = end - pattern.length;
+            for (int i = from; i <= last; i++) {
+                if (buffer[i] != first) {
+                    continue;
+                }
+                int j = 1;
+                while (j < pattern.length && buffer[i + j] == pattern[j]) {
+                    j++;
+                }
+                if (j == pattern.length) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Content-Disposition 의 name, filename 과 Content-Type
+     */
+    private static class PartHeaders {
+
+        private String name;
+        private String filename;
+        private String contentType;
+
+        static PartHeaders parse(String block) {
+            PartHeaders headers = new PartHeaders();
+            for (String line : block.split("\r\n")) {
+                int colon = line.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                String headerName = line.substring(0, colon).trim();
+                String headerValue = line.substring(colon + 1).trim();
+                if (headerName.equalsIgnoreCase("Content-Disposition")) {
+                    for (String param : headerValue.split(";")) {
+                        String p = param.trim();
+                        if (p.startsWith("name=")) {
+                            headers.name = unquote(p.substring(5));
+                        } else if (p.startsWith("filename=")) {
+                            headers.filename = unquote(p.substring(9));
+                        }
+                    }
+                } else if (headerName.equalsIgnoreCase("Content-Type")) {
+                    headers.contentType = headerValue;
+                }
+            }
+            if (headers.name == null) {
+                throw new IllegalArgumentException("Content-Disposition 에 name 이 없습니다.");
+            }
+            return headers;
+        }
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xf, 16);
+            hex[i * 2 + 1] = Character.forDigit(bytes[i] & 0xf, 16);
+        }
+        return new String(hex);
+    }
+}
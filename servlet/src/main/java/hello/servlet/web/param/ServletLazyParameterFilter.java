@@ -0,0 +1,13 @@
+package hello.servlet.web.param;
+
+import hello.web.param.LazyParameterFilter;
+
+import javax.servlet.annotation.WebFilter;
+
+/**
+ * 폼 파라미터 필터(web-support)를 @ServletComponentScan 으로 등록한다.
+ * 폼 POST 만 감싸고 나머지 요청은 그대로 넘긴다.
+ */
+@WebFilter(filterName = LazyParameterFilter.NAME, urlPatterns = "/*", asyncSupported = true)
+public class ServletLazyParameterFilter extends LazyParameterFilter {
+}
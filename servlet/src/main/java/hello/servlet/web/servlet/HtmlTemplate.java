@@ -0,0 +1,86 @@
+package hello.servlet.web.servlet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {{name}} 자리에 값을 넣는 작은 HTML 템플릿
+ * 고정된 HTML 조각은 시작할 때 한 번만 UTF-8 byte[] 로 변환해 두고, 요청마다 그대로 복사한다.
+ *
+ * HtmlTemplate<Member> row = HtmlTemplate.<Member>compile("<td>{{id}}</td>")
+ *         .bind("id", (w, member) -> w.writeLong(member.getId()));
+ */
+public class HtmlTemplate<T> {
+
+    public interface ValueWriter<T> {
+        void write(HtmlWriter w, T model) throws IOException;
+    }
+
+    private final byte[][] fragments; // 값 자리 사이의 고정 조각 (값 자리 수 + 1 개)
+    private final String[] names;
+    private final ValueWriter<T>[] valueWriters;
+
+    @SuppressWarnings("unchecked")
+    private HtmlTemplate(List<String> fragments, List<String> names) {
+        this.fragments = new byte[fragments.size()][];
+        for (int i = 0; i < fragments.size(); i++) {
+            this.fragments[i] = fragments.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        this.names = names.toArray(new String[0]);
+        this.valueWriters = (ValueWriter<T>[]) new ValueWriter<?>[names.size()];
+    }
+
+    public static <T> HtmlTemplate<T> compile(String template) {
+        List<String> fragments = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int start = template.indexOf("{{", position);
+            if (start < 0) {
+                break;
+            }
+            int end = template.indexOf("}}", start);
+            if (end < 0) {
+                throw new IllegalArgumentException("닫히지 않은 {{ 가 있습니다. position=" + start);
+            }
+            fragments.add(template.substring(position, start));
+            names.add(template.substring(start + 2, end).trim());
+            position = end + 2;
+        }
+        fragments.add(template.substring(position));
+
+        return new HtmlTemplate<>(fragments, names);
+    }
+
+    /**
+     * 같은 이름의 값 자리에 모두 적용된다.
+     */
+    public HtmlTemplate<T> bind(String name, ValueWriter<T> valueWriter) {
+        boolean found = false;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                valueWriters[i] = valueWriter;
+                found = true;
+            }
+        }
+        if (!found) {
+            throw new IllegalArgumentException("템플릿에 없는 이름입니다. name=" + name);
+        }
+        return this;
+    }
+
+    public void render(HtmlWriter w, T model) throws IOException {
+        for (int i = 0; i < valueWriters.length; i++) {
+            w.write(fragments[i]);
+            ValueWriter<T> valueWriter = valueWriters[i];
+            if (valueWriter == null) {
+                throw new IllegalStateException("값이 연결되지 않았습니다. name=" + names[i]);
+            }
+            valueWriter.write(w, model);
+        }
+        w.write(fragments[valueWriters.length]);
+    }
+}
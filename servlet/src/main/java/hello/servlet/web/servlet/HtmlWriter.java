@@ -0,0 +1,144 @@
+package hello.servlet.web.servlet;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * UTF-8 바이트를 버퍼에 모았다가 OutputStream(ServletOutputStream)에 직접 쓴다.
+ * PrintWriter 를 거치지 않고, 숫자는 String 을 만들지 않고 바로 바이트로 쓴다.
+ *
+ * 버퍼는 스레드마다 하나를 재사용하므로, 한 스레드에서 동시에 두 개의 HtmlWriter 를 사용하면 안 된다.
+ */
+public class HtmlWriter implements Flushable {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] MIN_LONG = String.valueOf(Long.MIN_VALUE).getBytes();
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int count;
+
+    public HtmlWriter(OutputStream out) {
+        this.out = out;
+        this.buffer = buffers.get();
+    }
+
+    public void write(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - count) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    public void writeInt(int value) throws IOException {
+        writeLong(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            write(MIN_LONG);
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[count++] = '-';
+            value = -value;
+        }
+        int start = count;
+        do {
+            buffer[count++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        reverse(start, count - 1);
+    }
+
+    public void writeLong(Long value) throws IOException {
+        if (value == null) {
+            write(NULL);
+            return;
+        }
+        writeLong(value.longValue());
+    }
+
+    /**
+     * HTML 특수 문자(& < > " ')를 escape 하고 UTF-8 로 쓴다. null 은 "null"
+     */
+    public void writeEscaped(String text) throws IOException {
+        if (text == null) {
+            write(NULL);
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            ensure(6); // 문자 하나의 최대 길이 (&quot; / UTF-8 4바이트)
+            switch (c) {
+                case '&': writeAscii("&amp;"); break;
+                case '<': writeAscii("&lt;"); break;
+                case '>': writeAscii("&gt;"); break;
+                case '"': writeAscii("&quot;"); break;
+                case '\'': writeAscii("&#39;"); break;
+                default:
+                    if (c < 0x80) {
+                        buffer[count++] = (byte) c;
+                    } else if (c < 0x800) {
+                        buffer[count++] = (byte) (0xC0 | (c >> 6));
+                        buffer[count++] = (byte) (0x80 | (c & 0x3F));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                        buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                        buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                        buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                        buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        buffer[count++] = '?'; // 짝이 없는 surrogate
+                    } else {
+                        buffer[count++] = (byte) (0xE0 | (c >> 12));
+                        buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                        buffer[count++] = (byte) (0x80 | (c & 0x3F));
+                    }
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void writeAscii(String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            buffer[count++] = (byte) ascii.charAt(i);
+        }
+    }
+
+    private void ensure(int length) throws IOException {
+        if (buffer.length - count < length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            byte tmp = buffer[from];
+            buffer[from++] = buffer[to];
+            buffer[to--] = tmp;
+        }
+    }
+}
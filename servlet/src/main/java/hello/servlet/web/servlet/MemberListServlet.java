@@ -9,12 +9,45 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.util.List;
 
 @WebServlet(name = "memberListServlet", urlPatterns = "/servlet/members")
 public class MemberListServlet extends HttpServlet {
 
+    // 고정된 HTML 은 시작할 때 UTF-8 byte[] 로 한 번만 변환해 둔다.
+    private static final HtmlTemplate<Object> HEADER = HtmlTemplate.compile(
+            "<html>" +
+            "<head>" +
+            " <meta charset=\"UTF-8\">" +
+            " <title>Title</title>" +
+            "</head>" +
+            "<body>" +
+            "<a href=\"/index.html\">메인</a>" +
+            "<table>" +
+            " <thead>" +
+            " <th>id</th>" +
+            " <th>username</th>" +
+            " <th>age</th>" +
+            " </thead>" +
+            " <tbody>");
+
+    private static final HtmlTemplate<Member> ROW = HtmlTemplate.<Member>compile(
+            " <tr>" +
+            " <td>{{id}}</td>" +
+            " <td>{{username}}</td>" +
+            " <td>{{age}}</td>" +
+            " </tr>")
+            .bind("id", (w, member) -> w.writeLong(member.getId()))
+            .bind("username", (w, member) -> w.writeEscaped(member.getUsername()))
+            .bind("age", (w, member) -> w.writeInt(member.getAge()));
+
+    private static final HtmlTemplate<Object> FOOTER = HtmlTemplate.compile(
+            " </tbody>" +
+            "</table>" +
+            "</body>" +
+            "</html>");
+
     private MemberRepository memberRepository = MemberRepository.getInstance();
 
     @Override
@@ -24,39 +57,16 @@ public class MemberListServlet extends HttpServlet {
 
         List<Member> members = memberRepository.findAll();
 
-        PrintWriter w = response.getWriter();
-        w.write("<html>");
-        w.write("<head>");
-        w.write(" <meta charset=\"UTF-8\">");
-        w.write(" <title>Title</title>");
-        w.write("</head>");
-        w.write("<body>");
-        w.write("<a href=\"/index.html\">메인</a>");
-        w.write("<table>");
-        w.write(" <thead>");
-        w.write(" <th>id</th>");
-        w.write(" <th>username</th>");
-        w.write(" <th>age</th>");
-        w.write(" </thead>");
-        w.write(" <tbody>");
-        /*
-         w.write(" <tr>");
-         w.write(" <td>1</td>");
-         w.write(" <td>userA</td>");
-         w.write(" <td>10</td>");
-         w.write(" </tr>");
-        */
+        render(members, response.getOutputStream());
+    }
+
+    static void render(List<Member> members, OutputStream out) throws IOException {
+        HtmlWriter w = new HtmlWriter(out);
+        HEADER.render(w, null);
         for (Member member : members) {
-            w.write(" <tr>");
-            w.write(" <td>" + member.getId() + "</td>");
-            w.write(" <td>" + member.getUsername() + "</td>");
-            w.write(" <td>" + member.getAge() + "</td>");
-            w.write(" </tr>");
+            ROW.render(w, member);
         }
-
-        w.write(" </tbody>");
-        w.write("</table>");
-        w.write("</body>");
-        w.write("</html>");
+        FOOTER.render(w, null);
+        w.flush();
     }
 }
@@ -2,6 +2,7 @@ package hello.servlet.web.servlet;
 
 import hello.servlet.domain.member.Member;
 import hello.servlet.domain.member.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -9,16 +10,36 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
 
+@Slf4j
 @WebServlet(name = "memberSaveServlet", urlPatterns = "/servlet/members/save")
 public class MemberSaveServlet extends HttpServlet {
 
+    // 고정된 HTML 은 시작할 때 UTF-8 byte[] 로 한 번만 변환해 둔다.
+    private static final HtmlTemplate<Member> RESULT = HtmlTemplate.<Member>compile(
+            "<html>\n" +
+            "<head>\n" +
+            " <meta charset=\"UTF-8\">\n" +
+            "</head>\n" +
+            "<body>\n" +
+            "성공\n" +
+            "<ul>\n" +
+            " <li>id={{id}}</li>\n" +
+            " <li>username={{username}}</li>\n" +
+            " <li>age={{age}}</li>\n" +
+            "</ul>\n" +
+            "<a href=\"/index.html\">메인</a>\n" +
+            "</body>\n" +
+            "</html>")
+            .bind("id", (w, member) -> w.writeLong(member.getId()))
+            .bind("username", (w, member) -> w.writeEscaped(member.getUsername()))
+            .bind("age", (w, member) -> w.writeInt(member.getAge()));
+
     private MemberRepository memberRepository = MemberRepository.getInstance();
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        System.out.println("MemberSaveServlet.service");
+        log.info("MemberSaveServlet.service");
         String username = request.getParameter("username");
         int age = Integer.parseInt(request.getParameter("age"));
 
@@ -28,20 +49,8 @@ public class MemberSaveServlet extends HttpServlet {
         response.setContentType("text/html");
         response.setCharacterEncoding("utf-8");
 
-        PrintWriter w = response.getWriter();
-        w.write("<html>\n" +
-                "<head>\n" +
-                " <meta charset=\"UTF-8\">\n" +
-                "</head>\n" +
-                "<body>\n" +
-                "성공\n" +
-                "<ul>\n" +
-                " <li>id="+member.getId()+"</li>\n" +
-                " <li>username="+member.getUsername()+"</li>\n" +
-                " <li>age="+member.getAge()+"</li>\n" +
-                "</ul>\n" +
-                "<a href=\"/index.html\">메인</a>\n" +
-                "</body>\n" +
-                "</html>");
+        HtmlWriter w = new HtmlWriter(response.getOutputStream());
+        RESULT.render(w, member);
+        w.flush();
     }
 }
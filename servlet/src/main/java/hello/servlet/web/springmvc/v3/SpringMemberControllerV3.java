@@ -34,8 +34,12 @@ public class SpringMemberControllerV3 {
     }
 
     @GetMapping
-    public String members(Model model) {
-        List<Member> members = memberRepository.findAll();
+    public String members(
+            @RequestParam(value = "username", required = false) String username,
+            @RequestParam(value = "minAge", required = false) Integer minAge,
+            @RequestParam(value = "maxAge", required = false) Integer maxAge,
+            Model model) {
+        List<Member> members = memberRepository.search(username, minAge, maxAge);
 
         model.addAttribute("members", members);
         return "members";
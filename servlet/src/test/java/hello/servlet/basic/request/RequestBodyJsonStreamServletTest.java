@@ -0,0 +1,39 @@
+package hello.servlet.basic.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestBodyJsonStreamServletTest {
+
+    RequestBodyJsonStreamServlet servlet = new RequestBodyJsonStreamServlet();
+
+    @Test
+    void jsonArray() throws Exception {
+        String body = "[{\"username\":\"hello\",\"age\":20},{\"username\":\"kim\",\"age\":30}]";
+
+        assertThat(post(body, "application/json")).isEqualTo("ok count=2");
+    }
+
+    @Test
+    void ndjson() throws Exception {
+        String body = "{\"username\":\"hello\",\"age\":20}\n{\"username\":\"kim\",\"age\":30}\n{\"username\":\"lee\",\"age\":40}\n";
+
+        assertThat(post(body, "application/x-ndjson")).isEqualTo("ok count=3");
+    }
+
+    private String post(String body, String contentType) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/request-body-json-stream");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        servlet.service(request, response);
+
+        return response.getContentAsString();
+    }
+}
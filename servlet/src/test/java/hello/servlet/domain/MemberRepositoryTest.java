@@ -5,7 +5,14 @@ import hello.servlet.domain.member.MemberRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -46,4 +53,96 @@ public class MemberRepositoryTest {
         // then
         assertThat(result.size()).isEqualTo(2);
     }
+
+    @Test
+    void searchByUsernamePrefix() {
+        // given
+        memberRepository.save(new Member("kim", 20));
+        memberRepository.save(new Member("kimchi", 35));
+        memberRepository.save(new Member("ki", 40));
+        memberRepository.save(new Member("lee", 25));
+        memberRepository.save(new Member(null, 30));
+
+        // when
+        List<Member> result = memberRepository.search("kim", null, null);
+        List<Member> withAge = memberRepository.search("kim", 30, null);
+
+        // then
+        assertThat(result).extracting(Member::getUsername).containsExactly("kim", "kimchi");
+        assertThat(withAge).extracting(Member::getUsername).containsExactly("kimchi");
+    }
+
+    @Test
+    void searchByAgeRange() {
+        // given
+        for (int age = 10; age <= 50; age += 10) {
+            memberRepository.save(new Member("member" + age, age));
+        }
+        memberRepository.save(new Member("same", 30));
+
+        // when, then 경계 포함
+        assertThat(memberRepository.search(null, 20, 30)).extracting(Member::getAge).containsExactly(20, 30, 30);
+        assertThat(memberRepository.search("", null, 20)).extracting(Member::getAge).containsExactly(10, 20);
+        assertThat(memberRepository.search(null, 40, null)).extracting(Member::getAge).containsExactly(40, 50);
+        assertThat(memberRepository.search(null, 40, 20)).isEmpty();
+        assertThat(memberRepository.search(null, null, null)).hasSize(6);
+    }
+
+    @Test
+    void searchInIdOrder() {
+        // given 이름, 나이 순서와 저장 순서가 다르다
+        Member kimchi = memberRepository.save(new Member("kimchi", 30));
+        Member kim = memberRepository.save(new Member("kim", 20));
+        Member kimbap = memberRepository.save(new Member("kimbap", 25));
+
+        // when, then findAll() 과 같은 id 순서
+        assertThat(memberRepository.findAll()).containsExactly(kimchi, kim, kimbap);
+        assertThat(memberRepository.search("kim", null, null)).containsExactly(kimchi, kim, kimbap);
+        assertThat(memberRepository.search(null, 20, 30)).containsExactly(kimchi, kim, kimbap);
+    }
+
+    @Test
+    void searchAfterClear() {
+        memberRepository.save(new Member("kim", 20));
+        memberRepository.clearStore();
+
+        assertThat(memberRepository.search("kim", null, null)).isEmpty();
+        assertThat(memberRepository.search(null, 0, 100)).isEmpty();
+    }
+
+    @Test
+    void concurrentSave() throws Exception {
+        // given
+        int threadCount = 8;
+        int savePerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when 여러 스레드가 동시에 저장
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> ids = new ArrayList<>();
+                for (int i = 0; i < savePerThread; i++) {
+                    ids.add(memberRepository.save(new Member("member", i)).getId());
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        Set<Long> ids = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            ids.addAll(future.get());
+        }
+        executor.shutdown();
+
+        // then 중복된 id 없이, 저장한 회원이 모두 조회된다.
+        assertThat(ids).hasSize(threadCount * savePerThread);
+        assertThat(memberRepository.findAll()).hasSize(threadCount * savePerThread);
+        for (Long id : ids) {
+            assertThat(memberRepository.findById(id).getId()).isEqualTo(id);
+        }
+    }
 }
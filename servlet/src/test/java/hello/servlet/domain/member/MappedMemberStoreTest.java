@@ -0,0 +1,91 @@
+package hello.servlet.domain.member;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedMemberStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void saveAndFind() {
+        MappedMemberStore store = MappedMemberStore.open(directory);
+
+        Member saved = store.save(new Member("회원1", 20));
+
+        Member found = store.findById(saved.getId());
+        assertThat(found.getUsername()).isEqualTo("회원1");
+        assertThat(found.getAge()).isEqualTo(20);
+        assertThat(store.findById(saved.getId() + 1)).isNull();
+        assertThat(store.findById(null)).isNull();
+    }
+
+    @Test
+    void reopen() {
+        // given
+        MappedMemberStore store = MappedMemberStore.open(directory);
+        store.save(new Member("member1", 20));
+        store.save(new Member(null, 30));
+        store.force();
+
+        // when 다시 열기 (재시작)
+        MappedMemberStore reopened = MappedMemberStore.open(directory);
+
+        // then
+        List<Member> members = reopened.findAll();
+        assertThat(members).extracting(Member::getId).containsExactly(1L, 2L);
+        assertThat(members).extracting(Member::getUsername).containsExactly("member1", null);
+        assertThat(reopened.save(new Member("member3", 40)).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void clear() {
+        MappedMemberStore store = MappedMemberStore.open(directory);
+        store.save(new Member("member1", 20));
+
+        store.clear();
+
+        assertThat(store.findAll()).isEmpty();
+        assertThat(store.findById(1L)).isNull();
+        assertThat(store.save(new Member("member2", 30)).getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void concurrentSave() throws Exception {
+        MappedMemberStore store = MappedMemberStore.open(directory);
+        int threadCount = 8;
+        int savePerThread = 20_000; // username heap 이 1MB 구간 경계를 넘도록
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < savePerThread; i++) {
+                    store.save(new Member("thread" + thread + "-member" + i, i % 100));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        List<Member> members = store.findAll();
+        assertThat(members).hasSize(threadCount * savePerThread);
+        for (Member member : members) {
+            assertThat(member.getUsername()).matches("thread\\d-member\\d+");
+            assertThat(member.getAge()).isEqualTo(Integer.parseInt(member.getUsername().substring(member.getUsername().indexOf("member") + 6)) % 100);
+        }
+    }
+}
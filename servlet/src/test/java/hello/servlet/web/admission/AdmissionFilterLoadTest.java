@@ -0,0 +1,145 @@
+package hello.servlet.web.admission;
+
+import hello.web.admission.AdmissionFilter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 처리 용량이 4 인 자원(커넥션 풀 4개, 요청당 50ms)에 용량의 10배 요청을 한꺼번에 여러 번 보낸다.
+ * 입장 제어가 없으면 모든 요청이 자원 앞에서 기다려 p99 가 계속 늘어나고,
+ * 입장 제어가 있으면 넘치는 요청은 바로 503 을 받고 허용된 요청의 p99 는 용량 근처에 머문다.
+ *
+ * 응답 시간을 비교하므로 기본 test 에서는 빼고 ./gradlew loadTest 로 실행한다.
+ * 거절 수와 한도 상태는 web-support 의 AdmissionFilterTest 에서 시간과 관계없이 확인한다.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.threads.max=32", "server.tomcat.threads.min-spare=32",
+                "server.servlet.context-parameters.admissionFilter.enabled=false"}) // /* 에 걸린 기본 필터는 끄고 비교한다
+class AdmissionFilterLoadTest {
+
+    static final int CAPACITY = 4;
+    static final long WORK_MILLIS = 50;
+    static final int REQUESTS_PER_WAVE = 40;
+    static final int WAVES = 5;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    FilterRegistrationBean<AdmissionFilter> loadTestAdmissionFilter;
+
+    HttpClient client = HttpClient.newHttpClient();
+
+    @TestConfiguration
+    static class LoadTestConfig {
+
+        @Bean
+        ServletRegistrationBean<HttpServlet> limitedResourceServlet() {
+            return new ServletRegistrationBean<>(new LimitedResourceServlet(), "/load-test/*");
+        }
+
+        @Bean
+        FilterRegistrationBean<AdmissionFilter> loadTestAdmissionFilter() {
+            FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(new AdmissionFilter());
+            registration.setName("loadTestAdmissionFilter");
+            registration.addUrlPatterns("/load-test/guarded/*");
+            registration.addInitParameter("clientRate", "100000");
+            registration.addInitParameter("clientBurst", "100000");
+            registration.addInitParameter("initialLimit", "8");
+            registration.addInitParameter("minLimit", "2");
+            registration.addInitParameter("maxLimit", "16");
+            registration.addInitParameter("maxQueueWaitMillis", "0");
+            return registration;
+        }
+    }
+
+    static class LimitedResourceServlet extends HttpServlet {
+
+        private final Semaphore pool = new Semaphore(CAPACITY);
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            pool.acquireUninterruptibly();
+            try {
+                Thread.sleep(WORK_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                pool.release();
+            }
+            response.getWriter().write("ok");
+        }
+    }
+
+    @Test
+    void p99StaysStablePastSaturation() {
+        Result unguarded = load("/load-test/unguarded");
+        Result guarded = load("/load-test/guarded");
+
+        assertThat(unguarded.rejected).isZero();
+        assertThat(guarded.rejected).isGreaterThan(0);
+        assertThat(guarded.admittedP99Millis).isLessThan(unguarded.admittedP99Millis / 2);
+        assertThat(guarded.rejectedMaxMillis).isLessThan(unguarded.admittedP99Millis / 2); // 거절은 기다리지 않는다
+
+        AdmissionFilter filter = loadTestAdmissionFilter.getFilter();
+        assertThat(filter.getMetrics().getOverloaded().sum()).isEqualTo(guarded.rejected);
+        assertThat(filter.getLimiter().getInFlight()).isZero();
+        assertThat(filter.getLimiter().getLimit()).isBetween(2, 16);
+    }
+
+    private Result load(String path) {
+        Result result = new Result();
+        List<Long> admitted = new ArrayList<>();
+        for (int wave = 0; wave < WAVES; wave++) {
+            List<CompletableFuture<long[]>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS_PER_WAVE; i++) {
+                long start = System.nanoTime();
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .thenApply(response -> new long[]{response.statusCode(), (System.nanoTime() - start) / 1_000_000}));
+            }
+            for (CompletableFuture<long[]> response : responses) {
+                long[] statusAndMillis = response.join();
+                if (statusAndMillis[0] == 200) {
+                    admitted.add(statusAndMillis[1]);
+                } else {
+                    assertThat(statusAndMillis[0]).isIn(429L, 503L);
+                    result.rejected++;
+                    result.rejectedMaxMillis = Math.max(result.rejectedMaxMillis, statusAndMillis[1]);
+                }
+            }
+        }
+        admitted.sort(null);
+        result.admittedP99Millis = admitted.get((int) Math.ceil(admitted.size() * 0.99) - 1);
+        return result;
+    }
+
+    static class Result {
+        long admittedP99Millis;
+        long rejectedMaxMillis;
+        int rejected;
+    }
+}
@@ -0,0 +1,103 @@
+package hello.servlet.web.cache;
+
+import hello.servlet.domain.member.Member;
+import hello.servlet.domain.member.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 브라우저처럼 ETag/Last-Modified 를 기억했다가 다시 요청할 때, 본문 전송과 화면 렌더링이 얼마나 줄어드는지 확인
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CachePolicyHttpTest {
+
+    static final int REPEAT = 10;
+
+    @LocalServerPort
+    int port;
+
+    HttpClient client = HttpClient.newHttpClient();
+    MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @BeforeEach
+    void saveMembers() {
+        for (int i = 0; i < 50; i++) {
+            memberRepository.save(new Member("member" + i, i));
+        }
+    }
+
+    @AfterEach
+    void clearStore() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    void repeatRequestsAreNotModified() throws Exception {
+        for (String path : new String[]{"/servlet/members", "/servlet-mvc/members", "/front-controller/v4/members", "/springmvc/v3/members"}) {
+            HttpResponse<byte[]> first = get(path, null);
+            assertThat(first.statusCode()).isEqualTo(200);
+            assertThat(first.headers().firstValue("Cache-Control")).hasValue("no-cache");
+            String etag = first.headers().firstValue("ETag").orElseThrow();
+
+            long bytes = first.body().length;
+            int fullResponses = 1;
+            for (int i = 1; i < REPEAT; i++) {
+                HttpResponse<byte[]> response = get(path, etag);
+                bytes += response.body().length;
+                if (response.statusCode() == 200) {
+                    fullResponses++;
+                }
+            }
+
+            // 캐시가 없으면 REPEAT 번 모두 본문을 받는다
+            assertThat(fullResponses).as(path).isEqualTo(1);
+            assertThat(bytes).as(path).isEqualTo(first.body().length);
+            assertThat(first.body().length * (long) REPEAT - bytes).as(path).isGreaterThan(0);
+        }
+    }
+
+    @Test
+    void etagChangesAfterSave() throws Exception {
+        String etag = get("/servlet/members", null).headers().firstValue("ETag").orElseThrow();
+        assertThat(get("/front-controller/v3/members", null).headers().firstValue("ETag")).hasValue(etag); // 같은 데이터는 같은 ETag
+
+        memberRepository.save(new Member("new", 1));
+
+        HttpResponse<byte[]> response = get("/servlet/members", etag);
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(new String(response.body())).contains("new");
+        assertThat(response.headers().firstValue("ETag")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void staticResourceLastModified() throws Exception {
+        HttpResponse<byte[]> first = get("/basic.html", null);
+        String lastModified = first.headers().firstValue("Last-Modified").orElseThrow();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/basic.html"))
+                .header("If-Modified-Since", lastModified)
+                .build();
+        HttpResponse<byte[]> second = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(second.statusCode()).isEqualTo(304);
+        assertThat(second.body()).isEmpty();
+    }
+
+    private HttpResponse<byte[]> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (ifNoneMatch != null) {
+            builder.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,80 @@
+package hello.servlet.web.coalesce;
+
+import hello.servlet.domain.member.Member;
+import hello.servlet.domain.member.MemberRepository;
+import hello.web.coalesce.CoalescingFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import javax.servlet.ServletContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 목록을 동시에 여러 번 요청해도 모든 응답이 한 번 렌더링한 것과 같은지 확인
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.servlet.context-parameters.admissionFilter.enabled=false") // 입장 제어로 거절되지 않게
+class CoalescingFilterHttpTest {
+
+    static final int CONCURRENT = 20;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ServletContext servletContext;
+
+    HttpClient client = HttpClient.newHttpClient();
+    MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @BeforeEach
+    void saveMembers() {
+        for (int i = 0; i < 500; i++) {
+            memberRepository.save(new Member("member" + i, i));
+        }
+    }
+
+    @AfterEach
+    void clearStore() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    void concurrentReadsGetTheSameResponse() {
+        CoalescingFilter filter = (CoalescingFilter) servletContext.getAttribute(CoalescingFilter.ATTRIBUTE_NAME);
+
+        for (String path : new String[]{"/servlet/members", "/springmvc/v3/members"}) {
+            byte[] expected = get(path).join().body();
+            long before = filter.getExecutions() + filter.getCoalesced();
+
+            List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT; i++) {
+                responses.add(get(path));
+            }
+            for (CompletableFuture<HttpResponse<byte[]>> response : responses) {
+                HttpResponse<byte[]> r = response.join();
+                assertThat(r.statusCode()).isEqualTo(200);
+                assertThat(r.headers().firstValue("Content-Type").orElseThrow()).startsWith("text/html");
+                assertThat(r.body()).isEqualTo(expected);
+            }
+            assertThat(filter.getExecutions() + filter.getCoalesced() - before).isEqualTo(CONCURRENT);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> get(String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
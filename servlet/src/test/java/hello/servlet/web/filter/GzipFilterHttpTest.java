@@ -0,0 +1,91 @@
+package hello.servlet.web.filter;
+
+import hello.servlet.domain.member.Member;
+import hello.servlet.domain.member.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 톰캣에서 서블릿, JSP, 비동기(AsyncContext.dispatch) 응답이 gzip 으로 내려오는지 확인
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class GzipFilterHttpTest {
+
+    @LocalServerPort
+    int port;
+
+    HttpClient client = HttpClient.newHttpClient();
+    MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @BeforeEach
+    void saveMembers() {
+        for (int i = 0; i < 50; i++) {
+            memberRepository.save(new Member("member" + i, i));
+        }
+    }
+
+    @AfterEach
+    void clearStore() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    void servlet() throws Exception {
+        assertGzipContains("/servlet/members", "member49");
+    }
+
+    @Test
+    void jsp() throws Exception {
+        assertGzipContains("/servlet-mvc/members", "member49");
+    }
+
+    @Test
+    void async() throws Exception {
+        assertGzipContains("/front-controller/v5/async/v4/members", "member49");
+    }
+
+    @Test
+    void staticResource() throws Exception {
+        assertGzipContains("/index.html", "<html");
+    }
+
+    @Test
+    void identityWithoutAcceptEncoding() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/servlet/members")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(response.body()).contains("member49");
+    }
+
+    private void assertGzipContains(String path, String expected) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip")
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gunzip(response.body())).contains(expected);
+    }
+
+    private String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
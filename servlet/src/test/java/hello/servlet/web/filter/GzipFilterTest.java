@@ -0,0 +1,218 @@
+package hello.servlet.web.filter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GzipFilterTest {
+
+    static final String LARGE_BODY = "<li>회원 hello, age 20</li>\n".repeat(200);
+
+    GzipFilter filter = new GzipFilter();
+
+    @AfterEach
+    void destroy() {
+        filter.destroy();
+    }
+
+    @Test
+    void compressLargeResponse() throws Exception {
+        filter.init(new MockFilterConfig());
+
+        MockHttpServletResponse response = doFilter(gzipRequest(), html(LARGE_BODY));
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(response.getHeader("Content-Length")).isNull();
+        assertThat(response.getContentAsByteArray().length).isLessThan(LARGE_BODY.getBytes(StandardCharsets.UTF_8).length / 10);
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void smallResponseNotCompressed() throws Exception {
+        MockFilterConfig config = new MockFilterConfig();
+        config.addInitParameter("threshold", "1024");
+        filter.init(config);
+
+        MockHttpServletResponse response = doFilter(gzipRequest(), html("<p>ok</p>"));
+
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentLength()).isEqualTo(9);
+        assertThat(response.getContentAsString()).isEqualTo("<p>ok</p>");
+    }
+
+    @Test
+    void notCompressedWithoutAcceptEncoding() throws Exception {
+        filter.init(new MockFilterConfig());
+
+        MockHttpServletResponse response = doFilter(new MockHttpServletRequest("GET", "/members"), html(LARGE_BODY));
+
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void alreadyEncodedNotCompressed() throws Exception {
+        filter.init(new MockFilterConfig());
+        byte[] body = new byte[4096];
+
+        MockHttpServletResponse response = doFilter(gzipRequest(), new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType("text/css");
+                response.setHeader("Content-Encoding", "gzip"); // 미리 압축된 정적 리소스
+                response.setContentLength(body.length);
+                response.getOutputStream().write(body);
+            }
+        });
+
+        assertThat(response.getContentLength()).isEqualTo(4096);
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void deflaterReused() throws Exception {
+        filter.init(new MockFilterConfig());
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = doFilter(gzipRequest(), html(LARGE_BODY));
+            assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(LARGE_BODY);
+        }
+    }
+
+    @Test
+    void nonBlockingWriteNotCompressed() throws Exception {
+        filter.init(new MockFilterConfig());
+        byte[] body = LARGE_BODY.getBytes(StandardCharsets.UTF_8);
+        NonBlockingResponse response = new NonBlockingResponse(new MockHttpServletResponse());
+
+        filter.doFilter(gzipRequest(), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType("text/html");
+                ServletOutputStream out = response.getOutputStream();
+                out.write(body, 0, 10); // listener 를 걸기 전에 blocking 으로 쓴 내용
+                out.setWriteListener(new WriteListener() {
+                    @Override
+                    public void onWritePossible() throws IOException {
+                        out.write(body, 10, body.length - 10);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+                });
+                response.setHeader("X-Ready", String.valueOf(out.isReady()));
+            }
+        }));
+
+        MockHttpServletResponse written = response.getMock();
+        assertThat(written.getHeader("Content-Encoding")).isNull();
+        assertThat(written.getContentAsByteArray()).isEqualTo(body);
+        assertThat(response.listener).isNotNull(); // 원래 스트림에 listener 를 넘긴다
+        assertThat(written.getHeader("X-Ready")).isEqualTo("false"); // isReady 도 원래 스트림을 따른다
+    }
+
+    @Test
+    void acceptsGzip() {
+        assertThat(GzipFilter.acceptsGzip(acceptEncoding("gzip, deflate, br"))).isTrue();
+        assertThat(GzipFilter.acceptsGzip(acceptEncoding("br;q=1.0, gzip;q=0.8"))).isTrue();
+        assertThat(GzipFilter.acceptsGzip(acceptEncoding("gzip;q=0"))).isFalse();
+        assertThat(GzipFilter.acceptsGzip(acceptEncoding("deflate, br"))).isFalse();
+    }
+
+    private MockHttpServletResponse doFilter(MockHttpServletRequest request, HttpServlet servlet) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    private HttpServlet html(String body) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType("text/html");
+                response.setCharacterEncoding("utf-8");
+                response.getWriter().write(body);
+            }
+        };
+    }
+
+    private MockHttpServletRequest gzipRequest() {
+        return acceptEncoding("gzip, deflate");
+    }
+
+    private MockHttpServletRequest acceptEncoding(String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/members");
+        request.addHeader("Accept-Encoding", value);
+        return request;
+    }
+
+    private String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * setWriteListener 를 받으면 바로 onWritePossible 을 호출하고, 그 뒤로는 isReady 가 false 인 응답
+     */
+    static class NonBlockingResponse extends HttpServletResponseWrapper {
+
+        private final MockHttpServletResponse mock;
+        WriteListener listener;
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                mock.getOutputStream().write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return listener == null;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    writeListener.onWritePossible();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                listener = writeListener;
+            }
+        };
+
+        NonBlockingResponse(MockHttpServletResponse mock) {
+            super(mock);
+            this.mock = mock;
+        }
+
+        MockHttpServletResponse getMock() {
+            return mock;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package hello.servlet.web.frontcontroller;
+
+import hello.servlet.domain.member.Member;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonViewTest {
+
+    JsonView jsonView = new JsonView();
+
+    @Test
+    void render() throws Exception {
+        Member member = new Member("kim", 20);
+        member.setId(1L);
+        Map<String, Object> model = new LinkedHashMap<>();
+        model.put("members", List.of(member));
+        model.put("count", 1);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jsonView.render(model, new MockHttpServletRequest(), response);
+
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(response.getContentAsString())
+                .isEqualTo("{\"members\":[{\"id\":1,\"username\":\"kim\",\"age\":20}],\"count\":1}");
+    }
+
+    @Test
+    void acceptsJson() {
+        MockHttpServletRequest api = new MockHttpServletRequest();
+        api.addHeader("Accept", "application/json");
+        MockHttpServletRequest browser = new MockHttpServletRequest();
+        browser.addHeader("Accept", "text/html,application/xhtml+xml,application/json;q=0.9,*/*;q=0.8");
+
+        assertThat(JsonView.acceptsJson(api)).isTrue();
+        assertThat(JsonView.acceptsJson(browser)).isFalse();
+        assertThat(JsonView.acceptsJson(new MockHttpServletRequest())).isFalse();
+    }
+
+    @Test
+    void isJsonViewName() {
+        assertThat(JsonView.isJsonViewName("json:members")).isTrue();
+        assertThat(JsonView.isJsonViewName("members")).isFalse();
+    }
+}
@@ -0,0 +1,153 @@
+package hello.servlet.web.frontcontroller.V5;
+
+import hello.servlet.web.frontcontroller.V4.ControllerV4;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 톰캣 스레드를 2개로 줄이고 느린 요청 여러 개와 빠른 요청 하나를 동시에 보낸다.
+ * 느린 핸들러는 시간 대신 래치로 막아두고, 몇 개가 어느 스레드에서 시작됐는지로 확인한다.
+ * 동기 처리는 느린 요청이 톰캣 스레드를 모두 잡아서 빠른 요청이 처리되지 않고,
+ * 비동기 처리는 느린 핸들러가 asyncExecutor 스레드에서 실행되므로 빠른 요청이 바로 처리된다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.threads.max=2", "server.tomcat.threads.min-spare=2"})
+class FrontControllerServletV5AsyncTest {
+
+    static final int TOMCAT_THREADS = 2;
+    static final int SLOW_REQUESTS = 6;
+    static final long AWAIT_SECONDS = 10;
+
+    static volatile CountDownLatch slowStarted;
+    static volatile CountDownLatch slowRelease;
+    static volatile CountDownLatch fastHandled;
+    static final Set<String> slowThreads = ConcurrentHashMap.newKeySet();
+
+    @LocalServerPort
+    int port;
+
+    HttpClient client = HttpClient.newHttpClient();
+
+    @TestConfiguration
+    static class LoadTestConfig {
+
+        @Bean
+        ServletRegistrationBean<LoadTestServlet> loadTestServlet() {
+            return new ServletRegistrationBean<>(new LoadTestServlet(), "/load-test/*");
+        }
+    }
+
+    static class LoadTestServlet extends FrontControllerServletV5 {
+
+        LoadTestServlet() {
+            ControllerV4 slow = (paramMap, model) -> {
+                slowThreads.add(Thread.currentThread().getName());
+                slowStarted.countDown();
+                await(slowRelease);
+                return "new-form";
+            };
+            ControllerV4 fast = (paramMap, model) -> {
+                fastHandled.countDown();
+                return "new-form";
+            };
+
+            addHandler("/load-test/sync/slow", slow);
+            addAsyncHandler("/load-test/async/slow", slow);
+            addHandler("/load-test/fast", fast);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        slowRelease = new CountDownLatch(1);
+        fastHandled = new CountDownLatch(1);
+        slowThreads.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowRelease.countDown();
+    }
+
+    @Test
+    void asyncSlowHandlersDoNotBlockFastOnes() throws Exception {
+        // 톰캣 스레드보다 많은 느린 핸들러가 동시에 실행 중 = 컨테이너 스레드를 잡고 있지 않다
+        slowStarted = new CountDownLatch(SLOW_REQUESTS);
+        List<CompletableFuture<HttpResponse<String>>> slowResponses = sendSlowRequests("/load-test/async/slow");
+        assertThat(slowStarted.await(AWAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(slowThreads).allMatch(name -> name.startsWith("front-controller-v5-async-"));
+
+        // 느린 핸들러가 아직 막혀 있는 동안 빠른 요청이 처리된다
+        HttpResponse<String> fastResponse = client.send(request("/load-test/fast"), HttpResponse.BodyHandlers.ofString());
+        assertThat(fastResponse.statusCode()).isEqualTo(200);
+        assertThat(slowResponses).noneMatch(CompletableFuture::isDone);
+
+        slowRelease.countDown();
+        for (CompletableFuture<HttpResponse<String>> slowResponse : slowResponses) {
+            HttpResponse<String> response = slowResponse.get(AWAIT_SECONDS, TimeUnit.SECONDS);
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).contains("<form action=\"save\" method=\"post\">"); // AsyncContext.dispatch 로 JSP 렌더링
+        }
+    }
+
+    @Test
+    void syncSlowHandlersBlockFastOnes() throws Exception {
+        // 톰캣 스레드를 모두 느린 핸들러가 잡고 있다
+        slowStarted = new CountDownLatch(TOMCAT_THREADS);
+        List<CompletableFuture<HttpResponse<String>>> slowResponses = sendSlowRequests("/load-test/sync/slow");
+        assertThat(slowStarted.await(AWAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(slowThreads).noneMatch(name -> name.startsWith("front-controller-v5-async-"));
+
+        // 스레드가 풀릴 때까지 빠른 요청은 핸들러에 도착하지 못한다
+        CompletableFuture<HttpResponse<String>> fastResponse =
+                client.sendAsync(request("/load-test/fast"), HttpResponse.BodyHandlers.ofString());
+        assertThat(fastHandled.await(500, TimeUnit.MILLISECONDS)).isFalse();
+
+        slowRelease.countDown();
+        assertThat(fastResponse.get(AWAIT_SECONDS, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        assertThat(fastHandled.getCount()).isZero();
+        for (CompletableFuture<HttpResponse<String>> slowResponse : slowResponses) {
+            assertThat(slowResponse.get(AWAIT_SECONDS, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        }
+    }
+
+    private List<CompletableFuture<HttpResponse<String>>> sendSlowRequests(String path) {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < SLOW_REQUESTS; i++) {
+            responses.add(client.sendAsync(request(path), HttpResponse.BodyHandlers.ofString()));
+        }
+        return responses;
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(AWAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package hello.servlet.web.frontcontroller.V5;
+
+import hello.servlet.web.frontcontroller.ModelView;
+import hello.servlet.web.frontcontroller.metrics.RouteMetrics;
+import hello.servlet.web.frontcontroller.metrics.RouteMetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrontControllerServletV5InterceptorTest {
+
+    static final String NEW_FORM = "/front-controller/v5/v4/members/new-form";
+
+    List<String> calls = new ArrayList<>();
+
+    class RecordingInterceptor implements MyHandlerInterceptor {
+
+        private final String name;
+        private final boolean proceed;
+
+        RecordingInterceptor(String name, boolean proceed) {
+            this.name = name;
+            this.proceed = proceed;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution) {
+            calls.add(name + ".preHandle");
+            return proceed;
+        }
+
+        @Override
+        public void postHandle(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution, ModelView mv) {
+            calls.add(name + ".postHandle " + mv.getViewName());
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution,
+                                    long startNanos, Exception ex) {
+            calls.add(name + ".afterCompletion " + execution.getPattern());
+        }
+    }
+
+    @Test
+    void interceptorOrder() throws Exception {
+        FrontControllerServletV5 servlet = new FrontControllerServletV5();
+        servlet.addInterceptor(new RecordingInterceptor("first", true));
+        servlet.addInterceptor(new RecordingInterceptor("second", true));
+
+        MockHttpServletResponse response = get(servlet, NEW_FORM);
+
+        assertThat(response.getForwardedUrl()).isEqualTo("/WEB-INF/views/new-form.jsp");
+        assertThat(calls).containsExactly(
+                "first.preHandle", "second.preHandle",
+                "second.postHandle new-form", "first.postHandle new-form",
+                "second.afterCompletion " + NEW_FORM, "first.afterCompletion " + NEW_FORM);
+    }
+
+    @Test
+    void preHandleFalse() throws Exception {
+        FrontControllerServletV5 servlet = new FrontControllerServletV5();
+        servlet.addInterceptor(new RecordingInterceptor("first", true));
+        servlet.addInterceptor(new RecordingInterceptor("second", false));
+        servlet.addInterceptor(new RecordingInterceptor("third", true));
+
+        MockHttpServletResponse response = get(servlet, NEW_FORM);
+
+        assertThat(response.getForwardedUrl()).isNull(); // 핸들러, 뷰 실행 안 함
+        assertThat(calls).containsExactly("first.preHandle", "second.preHandle", "first.afterCompletion " + NEW_FORM);
+    }
+
+    @Test
+    void metrics() throws Exception {
+        FrontControllerServletV5 servlet = new FrontControllerServletV5();
+        RouteMetrics routeMetrics = RouteMetricsRegistry.getInstance().get("/front-controller/v5/v4/members/{id}");
+        long before = routeMetrics.getRequests();
+
+        get(servlet, "/front-controller/v5/v4/members/1");
+        get(servlet, "/front-controller/v5/v4/members/2");
+
+        assertThat(routeMetrics.getRequests()).isEqualTo(before + 2);
+        assertThat(routeMetrics.getActive()).isZero();
+        assertThat(routeMetrics.getLatency().getCount()).isEqualTo(before + 2);
+    }
+
+    private MockHttpServletResponse get(FrontControllerServletV5 servlet, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+}
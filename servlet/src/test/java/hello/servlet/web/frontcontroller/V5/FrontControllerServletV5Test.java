@@ -0,0 +1,138 @@
+package hello.servlet.web.frontcontroller.V5;
+
+import hello.servlet.web.frontcontroller.V4.ControllerV4;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrontControllerServletV5Test {
+
+    FrontControllerServletV5 servlet = new FrontControllerServletV5();
+
+    @Test
+    void invalidId() throws Exception {
+        assertThat(get("/front-controller/v5/v3/members/abc").getStatus()).isEqualTo(400);
+        assertThat(get("/front-controller/v5/v4/members/abc").getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void unknownId() throws Exception {
+        assertThat(get("/front-controller/v5/v3/members/" + Long.MAX_VALUE).getStatus()).isEqualTo(404);
+        assertThat(get("/front-controller/v5/v4/members/" + Long.MAX_VALUE).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void annotationControllerParams() throws Exception {
+        assertThat(get("/front-controller/v5/annotation/members/abc").getStatus()).isEqualTo(400);
+        assertThat(get("/front-controller/v5/annotation/members/" + Long.MAX_VALUE).getStatus()).isEqualTo(404);
+
+        // age 가 없음
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/front-controller/v5/annotation/members/save");
+        request.addParameter("username", "kim");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void invalidAgeRange() throws Exception {
+        for (String path : new String[]{"/front-controller/v5/v3/members", "/front-controller/v5/v4/members"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            request.addParameter("minAge", "abc");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            servlet.service(request, response);
+            assertThat(response.getStatus()).isEqualTo(400);
+        }
+    }
+
+    @Test
+    void invalidPathEncoding() throws Exception {
+        assertThat(get("/front-controller/v5/v4/members/%G1").getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void rejectedAsyncHandler() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FrontControllerServletV5 servlet = new FrontControllerServletV5(1, 1); // 스레드 1개, 큐 1개
+        servlet.addAsyncHandler("/blocking", (ControllerV4) (paramMap, model) -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "new-form";
+        });
+
+        try {
+            MockHttpServletResponse running = getAsync(servlet, "/blocking");
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue(); // asyncExecutor 스레드가 핸들러를 실행 중
+            MockHttpServletResponse queued = getAsync(servlet, "/blocking");
+            MockHttpServletResponse rejected = getAsync(servlet, "/blocking");
+
+            assertThat(running.getStatus()).isEqualTo(200);
+            assertThat(queued.getStatus()).isEqualTo(200);
+            assertThat(rejected.getStatus()).isEqualTo(503);
+        } finally {
+            release.countDown();
+            servlet.destroy();
+        }
+    }
+
+    @Test
+    void asyncAfterCompletionAfterRender() throws Exception {
+        CountDownLatch completed = new CountDownLatch(1);
+        FrontControllerServletV5 servlet = new FrontControllerServletV5();
+        servlet.addAsyncHandler("/async", (ControllerV4) (paramMap, model) -> "new-form");
+        servlet.addInterceptor(new MyHandlerInterceptor() {
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, HandlerExecution execution,
+                                        long startNanos, Exception ex) {
+                completed.countDown();
+            }
+        });
+
+        try {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/async");
+            request.setAsyncSupported(true);
+            servlet.service(request, new MockHttpServletResponse());
+            MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+            CountDownLatch dispatched = new CountDownLatch(1);
+            asyncContext.addDispatchHandler(dispatched::countDown);
+
+            // JSP 로 dispatch 된 뒤에도 렌더링이 끝나기 전이므로 afterCompletion 은 아직이다
+            assertThat(dispatched.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(asyncContext.getDispatchedPath()).isEqualTo("/WEB-INF/views/new-form.jsp");
+            assertThat(completed.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+            asyncContext.complete(); // 컨테이너가 JSP 렌더링을 마침
+            assertThat(completed.getCount()).isZero();
+        } finally {
+            servlet.destroy();
+        }
+    }
+
+    private MockHttpServletResponse getAsync(FrontControllerServletV5 servlet, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+
+    private MockHttpServletResponse get(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,80 @@
+package hello.servlet.web.frontcontroller.annotation;
+
+import hello.servlet.web.frontcontroller.HttpStatusException;
+import hello.servlet.web.frontcontroller.RequestParamMap;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HandlerMethodScannerTest {
+
+    @MyRequestMapping("/hello")
+    static class HelloController {
+
+        @MyRequestMapping("/save")
+        public String save(@MyRequestParam("username") String username,
+                           @MyRequestParam("age") int age,
+                           Map<String, Object> model) {
+            model.put("username", username);
+            model.put("age", age);
+            return "save-result";
+        }
+    }
+
+    HandlerMethodScanner scanner = new HandlerMethodScanner();
+
+    @Test
+    void scan() {
+        List<HandlerMethod> handlerMethods = scanner.scan("hello.servlet.web.frontcontroller");
+
+        assertThat(handlerMethods).extracting(HandlerMethod::getPath)
+                .contains("/front-controller/v5/annotation/members/new-form",
+                        "/front-controller/v5/annotation/members/{id}");
+    }
+
+    @Test
+    void invoke() {
+        HandlerMethod handlerMethod = scanner.createHandlerMethods(HelloController.class).get(0);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/hello/save");
+        request.addParameter("username", "kim");
+        request.addParameter("age", "20");
+        Map<String, Object> model = new HashMap<>();
+
+        Object viewName = handlerMethod.invoke(request, new MockHttpServletResponse(), new RequestParamMap(request), model);
+
+        assertThat(handlerMethod.getPath()).isEqualTo("/hello/save");
+        assertThat(viewName).isEqualTo("save-result");
+        assertThat(model).containsEntry("username", "kim").containsEntry("age", 20);
+    }
+
+    @Test
+    void missingRequiredParam() {
+        HandlerMethod handlerMethod = scanner.createHandlerMethods(HelloController.class).get(0);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/hello/save");
+        request.addParameter("username", "kim");
+
+        assertThatThrownBy(() -> handlerMethod.invoke(request, new MockHttpServletResponse(), new RequestParamMap(request), new HashMap<>()))
+                .isInstanceOf(HttpStatusException.class)
+                .extracting("status").isEqualTo(400);
+    }
+
+    @Test
+    void invalidNumberParam() {
+        HandlerMethod handlerMethod = scanner.createHandlerMethods(HelloController.class).get(0);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/hello/save");
+        request.addParameter("username", "kim");
+        request.addParameter("age", "twenty");
+
+        assertThatThrownBy(() -> handlerMethod.invoke(request, new MockHttpServletResponse(), new RequestParamMap(request), new HashMap<>()))
+                .isInstanceOf(HttpStatusException.class)
+                .extracting("status").isEqualTo(400);
+    }
+}
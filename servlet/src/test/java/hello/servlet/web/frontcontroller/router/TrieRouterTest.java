@@ -0,0 +1,93 @@
+package hello.servlet.web.frontcontroller.router;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrieRouterTest {
+
+    TrieRouter<String> router = new TrieRouter<>();
+
+    @Test
+    void staticRoute() {
+        router.add("/members", "list");
+        router.add("/members/new-form", "form");
+
+        assertThat(router.match("/members").getHandler()).isEqualTo("list");
+        assertThat(router.match("/members/new-form").getHandler()).isEqualTo("form");
+        assertThat(router.match("/members/new-form").getPathVariables()).isEmpty();
+        assertThat(router.match("/items")).isNull();
+    }
+
+    @Test
+    void pathVariable() {
+        router.add("/users/{userId}/orders/{orderId}", "order");
+
+        RouteMatch<String> match = router.match("/users/userA/orders/100");
+
+        assertThat(match.getHandler()).isEqualTo("order");
+        assertThat(match.getPathVariables())
+                .containsEntry("userId", "userA")
+                .containsEntry("orderId", "100");
+    }
+
+    @Test
+    void staticSegmentBeforeVariable() {
+        router.add("/members/{id}", "find");
+        router.add("/members/save", "save");
+
+        assertThat(router.match("/members/save").getHandler()).isEqualTo("save");
+        assertThat(router.match("/members/1").getPathVariables()).containsEntry("id", "1");
+    }
+
+    @Test
+    void backtrackToVariable() {
+        // /members/save/... 로 내려갔다가 매칭 실패하면 {id} 로 다시 찾는다.
+        router.add("/members/save/confirm", "confirm");
+        router.add("/members/{id}/edit", "edit");
+
+        RouteMatch<String> match = router.match("/members/save/edit");
+
+        assertThat(match.getHandler()).isEqualTo("edit");
+        assertThat(match.getPathVariables()).containsEntry("id", "save");
+    }
+
+    @Test
+    void wildcard() {
+        router.add("/files/*/raw", "raw");
+        router.add("/static/**", "static");
+
+        assertThat(router.match("/files/a.txt/raw").getHandler()).isEqualTo("raw");
+        assertThat(router.match("/static/css/bootstrap.min.css").getHandler()).isEqualTo("static");
+        assertThat(router.match("/static").getHandler()).isEqualTo("static");
+    }
+
+    @Test
+    void decodePathVariable() {
+        router.add("/members/{username}", "find");
+
+        assertThat(router.match("/members/%ED%99%8D%EA%B8%B8%EB%8F%99").getPathVariables())
+                .containsEntry("username", "홍길동");
+        // 경로에서 + 는 공백이 아니다
+        assertThat(router.match("/members/a+b").getPathVariables()).containsEntry("username", "a+b");
+        assertThatThrownBy(() -> router.match("/members/%E"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void staticRouteReusesMatch() {
+        // 경로 변수가 없으면 매칭할 때마다 새로 만들지 않는다
+        router.add("/members", "list");
+
+        assertThat(router.match("/members")).isSameAs(router.match("/members"));
+    }
+
+    @Test
+    void duplicateRoute() {
+        router.add("/members", "list");
+
+        assertThatThrownBy(() -> router.add("/members/", "other"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
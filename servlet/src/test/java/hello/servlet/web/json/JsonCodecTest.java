@@ -0,0 +1,41 @@
+package hello.servlet.web.json;
+
+import hello.servlet.basic.HelloData;
+import hello.servlet.basic.response.ResponseJsonServlet;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonCodecTest {
+
+    @Test
+    void blackbirdRegistered() {
+        assertThat(JsonCodec.objectMapper().getRegisteredModuleIds()).anyMatch(id -> id.toString().contains("Blackbird"));
+    }
+
+    @Test
+    void readAndWrite() throws Exception {
+        byte[] body = "{\"username\":\"김\",\"age\":20}".getBytes(StandardCharsets.UTF_8);
+
+        HelloData data = JsonCodec.readerFor(HelloData.class).readValue(body);
+
+        assertThat(data.getUsername()).isEqualTo("김");
+        assertThat(data.getAge()).isEqualTo(20);
+        assertThat(JsonCodec.writerFor(HelloData.class).writeValueAsBytes(data)).isEqualTo(body);
+    }
+
+    @Test
+    void responseJsonServlet() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ResponseJsonServlet().service(new MockHttpServletRequest("GET", "/response-json"), response);
+
+        assertThat(response.getContentType()).isEqualTo("application/json;charset=utf-8");
+        assertThat(response.getContentAsString()).isEqualTo("{\"username\":\"kim\",\"age\":20}");
+        assertThat(response.isCommitted()).isTrue(); // 스트림에 바로 썼다
+    }
+}
@@ -0,0 +1,64 @@
+package hello.servlet.web.log;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SamplingTurboFilterTest {
+
+    LoggerContext context = new LoggerContext();
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setLoggerPrefix("hello.servlet.web.frontcontroller");
+        filter.setRate(10);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @Test
+    void sample() {
+        Logger log = context.getLogger("hello.servlet.web.frontcontroller.V3.FrontControllerServletV3");
+        for (int i = 0; i < 100; i++) {
+            if (log.isInfoEnabled()) { // 레벨 확인은 샘플링 카운트에 포함되지 않는다
+                log.info("service {}", i);
+            }
+            log.debug("꺼진 레벨 {}", i);
+        }
+
+        assertThat(appender.list).hasSize(10);
+        assertThat(appender.list.get(1).getFormattedMessage()).isEqualTo("service 10");
+    }
+
+    @Test
+    void warnAndOtherLoggerNotSampled() {
+        Logger log = context.getLogger("hello.servlet.web.frontcontroller.V5.FrontControllerServletV5");
+        Logger other = context.getLogger("hello.servlet.basic.request.RequestBodyJsonServlet");
+        for (int i = 0; i < 10; i++) {
+            log.warn("warn {}", i);
+            other.info("info {}", i);
+        }
+
+        assertThat(appender.list).hasSize(20);
+    }
+
+    @Test
+    void invalidRate() {
+        assertThatThrownBy(() -> new SamplingTurboFilter().setRate(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,163 @@
+package hello.servlet.web.multipart;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultipartStreamParserTest {
+
+    static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void parse() throws Exception {
+        byte[] file = randomBytes(300_000);
+        // 본문 안에 boundary 와 비슷한 바이트가 있어도 끊지 않는다
+        byte[] tricky = ("\r\n--" + BOUNDARY.substring(0, 20) + "\r\n--").getBytes(StandardCharsets.ISO_8859_1);
+        byte[] body = new Body()
+                .field("username", "hello")
+                .file("file", "big.bin", file)
+                .file("tricky", "tricky.txt", tricky)
+                .file("empty", "empty.txt", new byte[0])
+                .end();
+
+        // 버퍼를 작게 해서 delimiter 가 버퍼 경계에 걸치는 경우까지 확인
+        MultipartStreamParser parser = new MultipartStreamParser(directory, 1024, 1024, 1_000_000, 10_000_000);
+        List<MultipartPart> parts = parser.parse(new SlowInputStream(body), BOUNDARY);
+
+        assertThat(parts).hasSize(4);
+        assertThat(parts.get(0).isFile()).isFalse();
+        assertThat(parts.get(0).getValue()).isEqualTo("hello");
+
+        assertFile(parts.get(1), "big.bin", file);
+        assertFile(parts.get(2), "tricky.txt", tricky);
+        assertFile(parts.get(3), "empty.txt", new byte[0]);
+    }
+
+    @Test
+    void fileTooLarge() throws Exception {
+        byte[] body = new Body().file("file", "big.bin", randomBytes(10_000)).end();
+        MultipartStreamParser parser = new MultipartStreamParser(directory, 1024, 1024, 5_000, 1_000_000);
+
+        assertThatThrownBy(() -> parser.parse(new ByteArrayInputStream(body), BOUNDARY))
+                .isInstanceOf(MultipartLimitException.class);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty(); // 쓰던 파일은 지운다
+        }
+    }
+
+    @Test
+    void fieldsTooLarge() throws Exception {
+        byte[] body = new Body().field("a", "x".repeat(600)).field("b", "y".repeat(600)).end();
+        MultipartStreamParser parser = new MultipartStreamParser(directory, 1024, 1024, 5_000, 1_000_000);
+
+        assertThatThrownBy(() -> parser.parse(new ByteArrayInputStream(body), BOUNDARY))
+                .isInstanceOf(MultipartLimitException.class);
+    }
+
+    @Test
+    void truncated() throws Exception {
+        byte[] body = new Body().file("file", "big.bin", randomBytes(5_000)).end();
+        byte[] truncated = Arrays.copyOf(body, body.length - 100);
+        MultipartStreamParser parser = new MultipartStreamParser(directory, 1024, 1024, 1_000_000, 1_000_000);
+
+        assertThatThrownBy(() -> parser.parse(new ByteArrayInputStream(truncated), BOUNDARY))
+                .isInstanceOf(IllegalArgumentException.class);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void boundaryOf() {
+        assertThat(MultipartStreamParser.boundaryOf("multipart/form-data; boundary=abc")).isEqualTo("abc");
+        assertThat(MultipartStreamParser.boundaryOf("multipart/form-data; charset=utf-8; boundary=\"a b\"")).isEqualTo("a b");
+        assertThat(MultipartStreamParser.boundaryOf("application/json")).isNull();
+    }
+
+    private void assertFile(MultipartPart part, String filename, byte[] expected) throws Exception {
+        assertThat(part.isFile()).isTrue();
+        assertThat(part.getFilename()).isEqualTo(filename);
+        assertThat(part.getSize()).isEqualTo(expected.length);
+        assertThat(Files.readAllBytes(part.getPath())).isEqualTo(expected);
+        assertThat(part.getSha256()).isEqualTo(sha256Hex(expected));
+    }
+
+    private String sha256Hex(byte[] bytes) throws Exception {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    static class Body {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Body field(String name, String value) {
+            write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n");
+            return this;
+        }
+
+        Body file(String name, String filename, byte[] content) {
+            write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename + "\"\r\n"
+                    + "Content-Type: application/octet-stream\r\n\r\n");
+            out.writeBytes(content);
+            write("\r\n");
+            return this;
+        }
+
+        byte[] end() {
+            write("--" + BOUNDARY + "--\r\n");
+            return out.toByteArray();
+        }
+
+        private void write(String s) {
+            out.writeBytes(s.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 네트워크처럼 조금씩(최대 777 바이트) 읽히는 스트림
+     */
+    static class SlowInputStream extends InputStream {
+
+        private final ByteArrayInputStream in;
+
+        SlowInputStream(byte[] bytes) {
+            this.in = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return in.read(b, off, Math.min(len, 777));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package hello.servlet.web.servlet;
+
+import hello.servlet.domain.member.Member;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HtmlTemplateTest {
+
+    HtmlTemplate<Member> template = HtmlTemplate.<Member>compile("<li>id={{id}}, username={{ username }}, age={{age}}</li>")
+            .bind("id", (w, member) -> w.writeLong(member.getId()))
+            .bind("username", (w, member) -> w.writeEscaped(member.getUsername()))
+            .bind("age", (w, member) -> w.writeInt(member.getAge()));
+
+    @Test
+    void render() throws Exception {
+        Member member = new Member("회원<script>&\"'😀", -20);
+        member.setId(Long.MAX_VALUE);
+
+        assertThat(render(template, member))
+                .isEqualTo("<li>id=9223372036854775807, username=회원&lt;script&gt;&amp;&quot;&#39;😀, age=-20</li>");
+    }
+
+    @Test
+    void renderNull() throws Exception {
+        assertThat(render(template, new Member(null, 0))).isEqualTo("<li>id=null, username=null, age=0</li>");
+    }
+
+    @Test
+    void largerThanBuffer() throws Exception {
+        Member member = new Member("a".repeat(20_000), 1);
+        member.setId(1L);
+
+        assertThat(render(template, member)).hasSize(20_000 + "<li>id=1, username=, age=1</li>".length());
+    }
+
+    @Test
+    void memberList() throws Exception {
+        Member member = new Member("kim", 20);
+        member.setId(1L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        MemberListServlet.render(List.of(member), out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .startsWith("<html><head> <meta charset=\"UTF-8\">")
+                .contains(" <tbody> <tr> <td>1</td> <td>kim</td> <td>20</td> </tr> </tbody>")
+                .endsWith("</html>");
+    }
+
+    @Test
+    void unboundName() {
+        HtmlTemplate<Member> unbound = HtmlTemplate.compile("{{id}}");
+
+        assertThatThrownBy(() -> render(unbound, new Member())).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> unbound.bind("age", (w, member) -> w.writeInt(member.getAge())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String render(HtmlTemplate<Member> template, Member member) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HtmlWriter w = new HtmlWriter(out);
+        template.render(w, member);
+        w.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
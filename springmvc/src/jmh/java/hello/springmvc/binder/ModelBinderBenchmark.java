@@ -0,0 +1,58 @@
+package hello.springmvc.binder;
+
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.HelloDataBinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HelloData(username, age) 바인딩 비교 (-prof gc 로 요청당 할당량 확인)
+ * spring    : ServletModelAttributeMethodProcessor 가 요청마다 하는 일 (WebDataBinder + BeanWrapper + ConversionService)
+ * generated : @GenerateBinder 로 생성된 HelloDataBinder (setter 직접 호출)
+ *
+ * 파라미터는 둘 다 request.getParameter 로 읽어서 바인딩 비용만 비교한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModelBinderBenchmark {
+
+    private final DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService();
+    private final HelloDataBinder generatedBinder = new HelloDataBinder();
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("POST", "/model-attribute-v1");
+        request.addParameter("username", "hello");
+        request.addParameter("age", "20");
+    }
+
+    @Benchmark
+    public Object spring() {
+        HelloData target = new HelloData();
+        ExtendedServletRequestDataBinder binder = new ExtendedServletRequestDataBinder(target, "helloData");
+        binder.setConversionService(conversionService);
+        binder.bind(request);
+        return binder.getBindingResult().hasErrors() ? null : target;
+    }
+
+    @Benchmark
+    public Object generated() {
+        Map<String, String> rejected = new HashMap<>();
+        HelloData target = generatedBinder.bind(request::getParameter, rejected);
+        return rejected.isEmpty() ? target : null;
+    }
+}
@@ -0,0 +1,110 @@
+package hello.springmvc.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import hello.springmvc.basic.HelloData;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포맷별 HelloData 인코딩/디코딩 비용 (-prof gc 로 할당량 확인)
+ * single : HelloData 하나, list : HelloData 1000 개 배열
+ *
+ * 페이로드 크기(bytes)는 @Setup 에서 포맷별로 한 번 출력한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinaryCodecBenchmark {
+
+    private static final int LIST_SIZE = 1000;
+
+    @Param({"json", "cbor", "smile", "msgpack"})
+    String format;
+
+    private ObjectWriter singleWriter;
+    private ObjectReader singleReader;
+    private ObjectWriter listWriter;
+    private ObjectReader listReader;
+
+    private HelloData single;
+    private HelloData[] list;
+    private byte[] singleBytes;
+    private byte[] listBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper(factory(format)).registerModule(new BlackbirdModule());
+        singleWriter = mapper.writerFor(HelloData.class);
+        singleReader = mapper.readerFor(HelloData.class);
+        listWriter = mapper.writerFor(HelloData[].class);
+        listReader = mapper.readerFor(HelloData[].class);
+
+        single = helloData("hello", 20);
+        list = new HelloData[LIST_SIZE];
+        for (int i = 0; i < LIST_SIZE; i++) {
+            list[i] = helloData("member" + i, i % 100);
+        }
+        singleBytes = singleWriter.writeValueAsBytes(single);
+        listBytes = listWriter.writeValueAsBytes(list);
+
+        System.out.printf("%n[%s] single=%d bytes, list(%d)=%d bytes%n", format, singleBytes.length, LIST_SIZE, listBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeSingle() throws IOException {
+        return singleWriter.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public HelloData decodeSingle() throws IOException {
+        return singleReader.readValue(singleBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeList() throws IOException {
+        return listWriter.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public HelloData[] decodeList() throws IOException {
+        return listReader.readValue(listBytes);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "json":
+                return new JsonFactory();
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            case "msgpack":
+                return new MessagePackFactory();
+            default:
+                throw new IllegalArgumentException("unknown format: " + format);
+        }
+    }
+
+    private static HelloData helloData(String username, int age) {
+        HelloData data = new HelloData();
+        data.setUsername(username);
+        data.setAge(age);
+        return data;
+    }
+}
@@ -0,0 +1,83 @@
+package hello.springmvc.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hello.springmvc.basic.HelloData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NDJSON 수집 처리량 (records/s, 요청 하나에 RECORDS 건)
+ * perRequest : 레코드마다 요청 하나씩 받던 방식 (/request-body-json-v3), 바인딩만 측정 (HTTP 왕복 비용 제외)
+ * pipeline   : IngestPipeline 으로 한 요청에서 RECORDS 건 읽기 + 큐 + 워커 + 응답 쓰기
+ *
+ * 큐 크기가 작으면 읽기 스레드가 워커를 자주 기다린다. 처리 비용은 0 이라 큐 전달 비용이 그대로 보인다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IngestPipelineBenchmark {
+
+    private static final int RECORDS = 10_000;
+
+    @Param({"1", "16", "256"})
+    int queueCapacity;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectReader helloDataReader = objectMapper.readerFor(HelloData.class);
+
+    private IngestPipeline pipeline;
+    private byte[] ndjson;
+    private byte[][] singles;
+
+    @Setup
+    public void setUp() {
+        pipeline = new IngestPipeline(objectMapper.getFactory(), queueCapacity, data -> {
+        });
+
+        StringBuilder sb = new StringBuilder();
+        singles = new byte[RECORDS][];
+        for (int i = 0; i < RECORDS; i++) {
+            String line = "{\"username\":\"member" + i + "\",\"age\":" + (i % 100) + "}";
+            singles[i] = line.getBytes(StandardCharsets.UTF_8);
+            sb.append(line).append('\n');
+        }
+        ndjson = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public long perRequest() throws IOException {
+        long ageSum = 0;
+        for (byte[] single : singles) {
+            HelloData data = helloDataReader.readValue(new ByteArrayInputStream(single));
+            ageSum += data.getAge();
+        }
+        return ageSum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public long pipeline() throws IOException {
+        return pipeline.ingest(helloDataReader.readValues(new ByteArrayInputStream(ndjson)), new ByteArrayOutputStream(RECORDS * 24)).getCount();
+    }
+}
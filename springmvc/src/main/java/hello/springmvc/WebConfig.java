@@ -0,0 +1,138 @@
+package hello.springmvc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import hello.springmvc.codec.MessagePackHttpMessageConverter;
+import hello.springmvc.ingest.IngestPipeline;
+import hello.springmvc.param.LazyRequestParamArgumentResolver;
+import hello.web.binder.ModelBinderArgumentResolver;
+import hello.web.param.LazyParameterFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 캐시 정책
+ * - 정적 리소스(static/) : Last-Modified 로 매번 검증 (application.properties)
+ * - 뷰 템플릿 응답 : 저장소 같은 변경 기준이 없으므로 렌더링 결과의 해시로 ETag 를 만든다.
+ *                  렌더링 비용은 그대로지만 바뀌지 않았으면 304 로 본문 전송을 생략한다.
+ *
+ * @RequestParam 은 읽는 파라미터만 디코딩하는 LazyParameters 로 바인딩한다.
+ * 폼 요청은 LazyParameterFilter 가 감싸서 @ModelAttribute, @RequestParam Map 등 다른 경로도 같은 값을 읽는다.
+ * @GenerateBinder 가 붙은 @ModelAttribute 는 컴파일할 때 생성된 바인더로 바인딩한다.
+ *
+ * JSON 은 스프링 부트가 만든 ObjectMapper 하나를 메시지 컨버터와 컨트롤러가 같이 쓴다. (직접 new ObjectMapper() 하지 않는다)
+ * @RequestBody, @ResponseBody 는 Content-Type / Accept 가 CBOR, Smile, MessagePack 이면 바이너리로 읽고 쓴다.
+ */
+@Slf4j
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // 스프링 부트가 설정한 빌더 (prototype 이라 꺼낼 때마다 새로 만든다), Module 빈(BlackbirdModule)도 등록되어 있다.
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public WebConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/response-view-v1", "/response-view-v2", "/response/hello");
+        return registration;
+    }
+
+    /**
+     * 폼 POST 의 getParameter* 를 LazyParameters 로 읽게 한다. 다른 필터가 파라미터를 읽기 전에 감싸도록 맨 앞에 둔다.
+     */
+    @Bean
+    public FilterRegistrationBean<LazyParameterFilter> lazyParameterFilter() {
+        FilterRegistrationBean<LazyParameterFilter> registration = new FilterRegistrationBean<>(new LazyParameterFilter());
+        registration.setName(LazyParameterFilter.NAME);
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * 스프링 부트가 Module 빈을 ObjectMapper 에 등록한다.
+     * getter/setter 를 리플렉션 대신 LambdaMetafactory 로 만든 람다로 호출한다.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * 바이너리 포맷 메시지 컨버터를 목록 맨 뒤에 넣는다.
+     * - Accept 가 없거나 모든 타입을 받으면 앞에 있는 JSON 컨버터가 선택되므로 기존 응답은 그대로 JSON 이다.
+     * - 클래스패스에 CBOR/Smile 이 있으면 스프링이 기본 컨버터를 넣는데, 빌더 설정(모듈 등)이 빠져 있어서 바꾼다.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(binaryObjectMapper(new CBORFactory())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(binaryObjectMapper(new SmileFactory())));
+        converters.add(new MessagePackHttpMessageConverter(binaryObjectMapper(new MessagePackFactory())));
+    }
+
+    private ObjectMapper binaryObjectMapper(JsonFactory factory) {
+        return objectMapperBuilder.getObject().factory(factory).build();
+    }
+
+    /**
+     * NDJSON 수집(/request-body-json-ndjson) 처리 큐, 큐 크기만큼만 읽어 두고 나머지는 읽지 않고 기다린다.
+     * 동시에 수집할 수 있는 요청은 워커 수(ingest.max-workers)까지, 넘치면 503
+     */
+    @Bean(destroyMethod = "shutdown")
+    public IngestPipeline ingestPipeline(ObjectMapper objectMapper,
+                                         @Value("${ingest.queue-capacity:256}") int queueCapacity,
+                                         @Value("${ingest.max-workers:" + IngestPipeline.DEFAULT_MAX_WORKERS + "}") int maxWorkers) {
+        return new IngestPipeline(objectMapper.getFactory(), queueCapacity, maxWorkers,
+                data -> log.trace("ingest username={}, age={}", data.getUsername(), data.getAge()));
+    }
+
+    /**
+     * @RequestParam, @ModelAttribute 를 직접 만든 resolver 가 먼저 처리하도록 resolver 목록 맨 앞에 넣는다.
+     * (WebMvcConfigurer.addArgumentResolvers 로 추가하면 기본 resolver 뒤에 붙어서 호출되지 않는다)
+     */
+    @Bean
+    public static BeanPostProcessor lazyRequestParamResolverRegistrar() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter) {
+                    RequestMappingHandlerAdapter adapter = (RequestMappingHandlerAdapter) bean;
+                    List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>();
+                    resolvers.add(new LazyRequestParamArgumentResolver());
+                    resolvers.add(new ModelBinderArgumentResolver());
+                    resolvers.addAll(adapter.getArgumentResolvers());
+                    adapter.setArgumentResolvers(resolvers);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package hello.springmvc.basic;
 
+import hello.binder.GenerateBinder;
 import lombok.Data;
 
 @Data // @Getter , @Setter , @ToString , @EqualsAndHashCode , @RequiredArgsConstructor 를 자동으로 적용
+@GenerateBinder // 컴파일할 때 HelloDataBinder 생성
 public class HelloData {
     private String username;
     private int age;
@@ -1,12 +1,14 @@
 package hello.springmvc.basic.request;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.ingest.IngestPipeline;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,7 +18,8 @@ import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * {"username":"hello", "age":20}
@@ -26,29 +29,32 @@ import java.nio.charset.StandardCharsets;
 @Controller
 public class RequestBodyJsonController {
 
-    private ObjectMapper objectMapper = new ObjectMapper();
+    // HelloData deserializer 를 만들 때 한 번 찾아둔다.
+    private final ObjectReader helloDataReader;
+    private final IngestPipeline ingestPipeline;
+
+    // 메시지 컨버터와 같은 ObjectMapper 를 쓴다. (WebConfig)
+    public RequestBodyJsonController(ObjectMapper objectMapper, IngestPipeline ingestPipeline) {
+        this.helloDataReader = objectMapper.readerFor(HelloData.class);
+        this.ingestPipeline = ingestPipeline;
+    }
 
     /**
-     * HttpServletRequest를 사용해서 직접 HTTP 메시지 바디에서 데이터를 읽어와서, 문자로 변환한다.
-     * 문자로 된 JSON 데이터를 Jackson 라이브러리인 objectMapper 를 사용해서 자바 객체로 변환한다.
+     * HttpServletRequest를 사용해서 직접 HTTP 메시지 바디에서 데이터를 읽는다.
+     * 바디를 문자로 복사하지 않고, helloDataReader 가 InputStream 을 직접 파싱해서 자바 객체로 변환한다.
      */
     @PostMapping("/request-body-json-v1")
     public void requestBodyJsonV1(HttpServletRequest request, HttpServletResponse response) throws IOException {
         ServletInputStream inputStream = request.getInputStream();
-        String messageBody = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
-
-        log.info("messageBody={}", messageBody);
-
-        HelloData data = objectMapper.readValue(messageBody, HelloData.class);
+        HelloData data = helloDataReader.readValue(inputStream);
         log.info("username={}, age={}", data.getUsername(), data.getAge());
 
         response.getWriter().write("ok");
     }
 
     /**
-     * @RequestBody
-     * HttpMessageConverter 사용 -> StringHttpMessageConverter 적용
-     * HTTP 메시지에서 데이터를 꺼내고 messageBody에 저장한다.
+     * InputStream(Reader): HTTP 요청 메시지 바디의 내용을 직접 조회
+     * @RequestBody String 으로 받으면 바디 전체가 문자로 복사되므로, 스트림을 받아서 바로 파싱한다.
      *
      * @ResponseBody
      * - 모든 메서드에 @ResponseBody 적용
@@ -57,8 +63,8 @@ public class RequestBodyJsonController {
      */
     @ResponseBody
     @PostMapping("/request-body-json-v2")
-    public String requestBodyJsonV2(@RequestBody String messageBody) throws JsonProcessingException {
-        HelloData data = objectMapper.readValue(messageBody, HelloData.class);
+    public String requestBodyJsonV2(InputStream inputStream) throws IOException {
+        HelloData data = helloDataReader.readValue(inputStream);
         log.info("username={}, age={}", data.getUsername(), data.getAge());
         return "ok";
     }
@@ -113,4 +119,44 @@ public class RequestBodyJsonController {
         log.info("username={}, age={}", data.getUsername(), data.getAge());
         return data;
     }
+
+    /**
+     * JSON 배열 또는 NDJSON(한 줄에 JSON 객체 하나)을 HelloData 하나씩 읽는다.
+     * 바디 전체를 메모리에 올리지 않기 때문에 레코드 수가 많아도 메모리 사용량이 일정하다.
+     * content-type: application/json 또는 application/x-ndjson
+     */
+    @ResponseBody
+    @PostMapping("/request-body-json-stream")
+    public String requestBodyJsonStream(InputStream inputStream) throws IOException {
+        long count = 0;
+        long ageSum = 0;
+        try (MappingIterator<HelloData> iterator = helloDataReader.readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                HelloData data = iterator.nextValue();
+                count++;
+                ageSum += data.getAge();
+            }
+        }
+        log.info("count={}, ageSum={}", count, ageSum);
+        return "ok count=" + count;
+    }
+
+    /**
+     * NDJSON(한 줄에 HelloData 하나)을 요청 하나로 여러 건 받는다.
+     * 한 줄씩 읽어서 IngestPipeline 의 큐에 넣고, 큐가 가득 차면 읽기를 멈춘다. (backpressure)
+     * 응답도 NDJSON 으로 레코드마다 {"seq":1,"status":"ok"} 를 처리되는 대로 보내고, 마지막 줄에 처리량 요약을 보낸다.
+     * 수집 워커가 모두 사용 중이면 본문을 읽지 않고 503 으로 응답한다.
+     * content-type: application/x-ndjson
+     */
+    @PostMapping(value = "/request-body-json-ndjson", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void requestBodyJsonNdjson(InputStream inputStream, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("utf-8");
+        try (MappingIterator<HelloData> records = helloDataReader.readValues(inputStream)) {
+            ingestPipeline.ingest(records, response.getOutputStream());
+        } catch (RejectedExecutionException e) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package hello.springmvc.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.Assert;
+
+/**
+ * MessagePack 메시지 컨버터 (스프링이 제공하는 CBOR/Smile 컨버터와 같은 방식)
+ * content-type / accept: application/x-msgpack, application/msgpack
+ */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final MediaType APPLICATION_X_MSGPACK = new MediaType("application", "x-msgpack");
+    public static final MediaType APPLICATION_MSGPACK = new MediaType("application", "msgpack");
+
+    public MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, APPLICATION_X_MSGPACK, APPLICATION_MSGPACK);
+        Assert.isInstanceOf(MessagePackFactory.class, objectMapper.getFactory(), "MessagePackFactory required");
+    }
+}
@@ -0,0 +1,241 @@
+package hello.springmvc.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import hello.springmvc.basic.HelloData;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * NDJSON 으로 들어오는 HelloData 를 하나씩 읽어서 크기가 정해진 큐에 넣고, 워커 스레드가 꺼내서 처리한다.
+ *
+ * 요청 스레드(읽기) -> ArrayBlockingQueue(queueCapacity) -> 워커 스레드(처리 + 응답 쓰기)
+ * - 처리가 밀려서 큐가 가득 차면 요청 스레드가 큐에 넣다가 멈춘다. 바디를 더 읽지 않으므로
+ *   소켓 수신 버퍼가 차고 TCP 윈도우가 닫혀서 보내는 쪽도 멈춘다. (backpressure)
+ * - 워커는 레코드마다 {"seq":1,"status":"ok"} 한 줄을 응답에 쓴다.
+ *   flush 는 큐가 비었을 때만 해서, 밀려 있을 때는 여러 줄을 한 번에 보낸다.
+ * - 마지막에 요청 스레드가 {"count":..,"failed":..,"elapsedMillis":..,"recordsPerSecond":..} 한 줄을 쓴다.
+ *
+ * 응답 스트림은 워커가 끝날 때까지 워커만 쓰고, 요청 스레드는 워커가 끝난(Future.get) 뒤에 쓴다.
+ *
+ * 요청 하나가 워커 하나를 끝까지 쓴다. 워커는 maxWorkers 개까지만 만들고, 모두 사용 중이면 기다리지 않고
+ * 본문을 읽기 전에 RejectedExecutionException 을 던진다. (컨트롤러가 503 으로 응답)
+ */
+@Slf4j
+public class IngestPipeline {
+
+    public static final int DEFAULT_MAX_WORKERS = 16;
+
+    // 읽기가 끝났다는 표시
+    private static final Record END = new Record(0, null);
+    // 큐가 가득 찼을 때 워커가 죽었는지 확인하는 간격
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final JsonFactory jsonFactory;
+    private final int queueCapacity;
+    private final Consumer<HelloData> processor;
+    private final ThreadPoolExecutor workers;
+
+    public IngestPipeline(JsonFactory jsonFactory, int queueCapacity, Consumer<HelloData> processor) {
+        this(jsonFactory, queueCapacity, DEFAULT_MAX_WORKERS, processor);
+    }
+
+    public IngestPipeline(JsonFactory jsonFactory, int queueCapacity, int maxWorkers, Consumer<HelloData> processor) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity 는 1 이상이어야 합니다. queueCapacity=" + queueCapacity);
+        }
+        if (maxWorkers <= 0) {
+            throw new IllegalArgumentException("maxWorkers 는 1 이상이어야 합니다. maxWorkers=" + maxWorkers);
+        }
+        this.jsonFactory = jsonFactory;
+        this.queueCapacity = queueCapacity;
+        this.processor = processor;
+        // 대기 큐 없이 (SynchronousQueue) 쉬는 워커가 없으면 maxWorkers 까지 만들고, 그 이상은 거절 (AbortPolicy)
+        this.workers = new ThreadPoolExecutor(0, maxWorkers, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new WorkerThreadFactory());
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * records 를 끝까지 읽어서 처리하고, 레코드별 결과와 요약을 out 에 쓴다.
+     * out 은 닫지 않는다.
+     *
+     * @throws RejectedExecutionException 워커가 모두 사용 중인 경우 (records 를 읽기 전에 던진다)
+     */
+    public IngestResult ingest(MappingIterator<HelloData> records, OutputStream out) throws IOException {
+        BlockingQueue<Record> queue = new ArrayBlockingQueue<>(queueCapacity);
+        JsonGenerator generator = jsonFactory.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null); // 줄바꿈은 직접 쓴다
+
+        long start = System.nanoTime();
+        Future<long[]> worker = workers.submit(() -> drain(queue, generator));
+
+        long seq = 0;
+        String readError = null;
+        try {
+            while (records.hasNextValue()) {
+                HelloData data = records.nextValue();
+                enqueue(queue, new Record(++seq, data), worker);
+            }
+        } catch (JsonProcessingException e) {
+            // 잘못된 줄 이후는 읽지 않는다. 그 앞까지 처리한 결과는 그대로 돌려준다.
+            readError = "seq " + (seq + 1) + ": " + e.getOriginalMessage();
+        } catch (IOException | RuntimeException e) {
+            worker.cancel(true);
+            throw e;
+        }
+        enqueue(queue, END, worker);
+
+        long[] counts = await(worker);
+        IngestResult result = new IngestResult(counts[0], counts[1], System.nanoTime() - start, readError);
+        writeSummary(generator, result);
+        generator.close();
+        log.debug("ingest count={}, failed={}, recordsPerSecond={}", result.getCount(), result.getFailed(), result.getRecordsPerSecond());
+        return result;
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private long[] drain(BlockingQueue<Record> queue, JsonGenerator generator) throws IOException, InterruptedException {
+        long count = 0;
+        long failed = 0;
+        while (true) {
+            Record record = queue.take();
+            if (record == END) {
+                break;
+            }
+
+            generator.writeStartObject();
+            generator.writeNumberField("seq", record.seq);
+            try {
+                processor.accept(record.data);
+                generator.writeStringField("status", "ok");
+            } catch (RuntimeException e) {
+                failed++;
+                generator.writeStringField("status", "error");
+                generator.writeStringField("message", String.valueOf(e.getMessage()));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            count++;
+
+            if (queue.isEmpty()) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+        return new long[]{count, failed};
+    }
+
+    /**
+     * 큐에 자리가 날 때까지 기다린다. (backpressure)
+     * 워커가 먼저 끝났으면(응답 쓰기 실패 등) 더 기다리지 않고 워커의 예외를 던진다.
+     */
+    private void enqueue(BlockingQueue<Record> queue, Record record, Future<long[]> worker) throws IOException {
+        try {
+            while (!queue.offer(record, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (worker.isDone()) {
+                    await(worker);
+                    throw new IllegalStateException("본문을 다 읽기 전에 ingest 작업 스레드가 멈췄습니다.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            worker.cancel(true);
+            throw new InterruptedIOException("ingest 큐를 기다리는 중 인터럽트되었습니다.");
+        }
+    }
+
+    private long[] await(Future<long[]> worker) throws IOException {
+        try {
+            return worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            worker.cancel(true);
+            throw new InterruptedIOException("ingest 작업 스레드를 기다리는 중 인터럽트되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IllegalStateException("ingest 작업 스레드에서 예외가 발생했습니다.", cause);
+        }
+    }
+
+    private void writeSummary(JsonGenerator generator, IngestResult result) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("count", result.getCount());
+        generator.writeNumberField("failed", result.getFailed());
+        generator.writeNumberField("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()));
+        generator.writeNumberField("recordsPerSecond", result.getRecordsPerSecond());
+        if (result.getError() != null) {
+            generator.writeStringField("error", result.getError());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    private static class Record {
+        private final long seq;
+        private final HelloData data;
+
+        private Record(long seq, HelloData data) {
+            this.seq = seq;
+            this.data = data;
+        }
+    }
+
+    @Getter
+    public static class IngestResult {
+        private final long count;
+        private final long failed;
+        private final long elapsedNanos;
+        private final String error; // 읽다가 JSON 오류가 나면 메시지, 없으면 null
+
+        public IngestResult(long count, long failed, long elapsedNanos, String error) {
+            this.count = count;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+            this.error = error;
+        }
+
+        public long getRecordsPerSecond() {
+            return elapsedNanos == 0 ? 0 : count * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ingest-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package hello.springmvc.param;
+
+import hello.web.param.LazyParameters;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.AbstractNamedValueMethodArgumentResolver;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
+
+/**
+ * @RequestParam 단순 타입(String, int, Integer, String[] ...) 을 LazyParameters 로 읽는다.
+ * 타입 변환, required, defaultValue 처리는 스프링 기본 resolver 와 같은 부모 클래스가 한다.
+ *
+ * Map, MultipartFile 같은 나머지 @RequestParam 은 스프링 기본 resolver 가 그대로 처리한다.
+ * 기본 resolver 보다 먼저 호출되어야 하므로 WebConfig 에서 목록 맨 앞에 넣는다.
+ */
+public class LazyRequestParamArgumentResolver extends AbstractNamedValueMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.hasParameterAnnotation(RequestParam.class)) {
+            return false;
+        }
+        Class<?> type = parameter.nestedIfOptional().getNestedParameterType();
+        return !Map.class.isAssignableFrom(type) && BeanUtils.isSimpleProperty(type);
+    }
+
+    @Override
+    protected NamedValueInfo createNamedValueInfo(MethodParameter parameter) {
+        RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+        return new NamedValueInfo(requestParam.name(), requestParam.required(), requestParam.defaultValue());
+    }
+
+    @Override
+    protected Object resolveName(String name, MethodParameter parameter, NativeWebRequest request) {
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        if (servletRequest == null) {
+            return null;
+        }
+        String[] values = LazyParameters.of(servletRequest).getValues(name);
+        if (values == null) {
+            return null;
+        }
+        return values.length == 1 ? values[0] : values;
+    }
+
+    @Override
+    protected void handleMissingValue(String name, MethodParameter parameter) throws MissingServletRequestParameterException {
+        // 스프링 기본 resolver 와 같은 예외 (400)
+        throw new MissingServletRequestParameterException(name, parameter.getNestedParameterType().getSimpleName());
+    }
+}
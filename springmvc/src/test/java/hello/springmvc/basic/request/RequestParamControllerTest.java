@@ -0,0 +1,119 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.HelloDataBinder;
+import hello.web.param.LazyParameters;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * @RequestParam 이 LazyRequestParamArgumentResolver 로, HelloData 가 생성된 HelloDataBinder 로 바인딩되는지 확인
+ * LazyParameters 가 본문을 읽은 뒤에도 스프링 기본 처리와 request.getParameter 가 본문 파라미터를 보는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(RequestParamControllerTest.MixedController.class)
+class RequestParamControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void formBody() throws Exception {
+        MvcResult result = mockMvc.perform(post("/request-param-v2")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .content("username=hello&age=20&field1=a&field2=b"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("ok"))
+                .andReturn();
+
+        assertThat(result.getRequest().getAttribute(LazyParameters.class.getName())).isNotNull();
+    }
+
+    @Test
+    void requiredAndDefaultValue() throws Exception {
+        mockMvc.perform(get("/request-param-required").param("age", "20"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/request-param-v3?username=hello&age=abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/request-param-default?username="))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void modelAttribute() throws Exception {
+        mockMvc.perform(post("/model-attribute-v1")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .content("username=hello&age=20"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/model-attribute-v2?username=hello&age=abc"))
+                .andExpect(status().isBadRequest()); // 스프링 기본 바인더와 같이 BindException
+    }
+
+    @Test
+    void mixedHandler() throws Exception {
+        // @RequestParam 이 먼저 본문을 읽고, @Validated 는 스프링 기본 처리로 바인딩한다
+        mockMvc.perform(post("/request-param-mixed?page=2")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .content("username=hello&age=20"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("page=2, helloData=hello/20, map=hello, getParameter=20"));
+    }
+
+    @Test
+    void formBodyTooLarge() throws Exception {
+        mockMvc.perform(post("/request-param-v2")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .content(new byte[2 * 1024 * 1024 + 1]))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void generatedBinder() {
+        Map<String, String> rejected = new HashMap<>();
+
+        HelloData helloData = new HelloDataBinder().bind(Map.of("username", "hello", "age", " 20 ")::get, rejected);
+        HelloData invalid = new HelloDataBinder().bind(Map.of("age", "")::get, rejected);
+
+        assertThat(helloData.getUsername()).isEqualTo("hello");
+        assertThat(helloData.getAge()).isEqualTo(20);
+        assertThat(invalid.getUsername()).isNull();
+        assertThat(rejected).containsOnlyKeys("age"); // int 에 빈 문자열은 변환 실패
+    }
+
+    @RestController
+    static class MixedController {
+
+        @PostMapping("/request-param-mixed")
+        public String mixed(@RequestParam int page,
+                            @Validated @ModelAttribute HelloData helloData,
+                            @RequestParam Map<String, String> params,
+                            HttpServletRequest request) {
+            return "page=" + page
+                    + ", helloData=" + helloData.getUsername() + "/" + helloData.getAge()
+                    + ", map=" + params.get("username")
+                    + ", getParameter=" + request.getParameter("age");
+        }
+    }
+}
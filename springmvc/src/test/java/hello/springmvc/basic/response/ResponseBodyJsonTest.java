@@ -0,0 +1,154 @@
+package hello.springmvc.basic.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.request.RequestBodyJsonController;
+import hello.springmvc.codec.MessagePackHttpMessageConverter;
+import hello.springmvc.ingest.IngestPipeline;
+import org.junit.jupiter.api.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseBodyJsonTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void sharedObjectMapper() {
+        assertThat(objectMapper.getRegisteredModuleIds()).anyMatch(id -> id.toString().contains("Blackbird"));
+    }
+
+    @Test
+    void responseBodyJson() throws Exception {
+        mockMvc.perform(get("/response-body-json-v1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"username\":\"userA\",\"age\":20}", true));
+        mockMvc.perform(get("/response-body-json-v2"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"username\":\"userA\",\"age\":20}", true));
+    }
+
+    @Test
+    void requestBodyJson() throws Exception {
+        String body = "{\"username\":\"hello\",\"age\":20}";
+        for (String path : new String[]{"/request-body-json-v2", "/request-body-json-v3"}) {
+            mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("ok"));
+        }
+        mockMvc.perform(post("/request-body-json-v5").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(content().json(body, true));
+    }
+
+    @Test
+    void requestBodyNdjson() throws Exception {
+        String body = "{\"username\":\"a\",\"age\":10}\n{\"username\":\"b\",\"age\":20}\n";
+        String result = mockMvc.perform(post("/request-body-json-ndjson").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = result.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("{\"seq\":1,\"status\":\"ok\"}");
+        assertThat(lines[1]).isEqualTo("{\"seq\":2,\"status\":\"ok\"}");
+        assertThat(lines[2]).startsWith("{\"count\":2,\"failed\":0,");
+    }
+
+    @Test
+    void requestBodyNdjsonRejectedWhenWorkersBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IngestPipeline pipeline = new IngestPipeline(objectMapper.getFactory(), 1, 1, data -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        MockMvc busyMockMvc = MockMvcBuilders.standaloneSetup(new RequestBodyJsonController(objectMapper, pipeline)).build();
+        String body = "{\"username\":\"a\",\"age\":10}\n";
+
+        // 하나뿐인 워커를 잡아 둔다
+        Thread busy = new Thread(() -> {
+            try {
+                pipeline.ingest(objectMapper.readerFor(HelloData.class).readValues(body), new ByteArrayOutputStream());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        busy.start();
+        try {
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            busyMockMvc.perform(post("/request-body-json-ndjson").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            release.countDown();
+            busy.join(TimeUnit.SECONDS.toMillis(5));
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void binaryFormats() throws Exception {
+        Map<MediaType, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put(new MediaType("application", "cbor"), new ObjectMapper(new CBORFactory()));
+        formats.put(new MediaType("application", "x-jackson-smile"), new ObjectMapper(new SmileFactory()));
+        formats.put(MessagePackHttpMessageConverter.APPLICATION_X_MSGPACK, new ObjectMapper(new MessagePackFactory()));
+
+        HelloData data = new HelloData();
+        data.setUsername("hello");
+        data.setAge(20);
+
+        for (Map.Entry<MediaType, ObjectMapper> format : formats.entrySet()) {
+            MediaType mediaType = format.getKey();
+            ObjectMapper mapper = format.getValue();
+
+            byte[] response = mockMvc.perform(get("/response-body-json-v2").accept(mediaType))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(mediaType))
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertThat(mapper.readValue(response, HelloData.class).getUsername()).isEqualTo("userA");
+
+            byte[] echoed = mockMvc.perform(post("/request-body-json-v5").contentType(mediaType).accept(mediaType)
+                            .content(mapper.writeValueAsBytes(data)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(mediaType))
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertThat(mapper.readValue(echoed, HelloData.class)).isEqualTo(data);
+        }
+
+        // Accept 가 없으면 그대로 JSON
+        mockMvc.perform(get("/response-body-json-v2"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
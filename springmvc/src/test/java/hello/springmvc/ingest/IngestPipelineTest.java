@@ -0,0 +1,185 @@
+package hello.springmvc.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IngestPipelineTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectReader helloDataReader = objectMapper.readerFor(HelloData.class);
+    private IngestPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void ackPerRecord() throws Exception {
+        AtomicInteger ageSum = new AtomicInteger();
+        pipeline = new IngestPipeline(objectMapper.getFactory(), 2, data -> {
+            if (data.getAge() < 0) {
+                throw new IllegalArgumentException("age");
+            }
+            ageSum.addAndGet(data.getAge());
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        IngestPipeline.IngestResult result = pipeline.ingest(helloDataReader.readValues(
+                "{\"username\":\"a\",\"age\":10}\n{\"username\":\"b\",\"age\":-1}\n{\"username\":\"c\",\"age\":20}\n"), out);
+
+        assertThat(result.getCount()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(ageSum.get()).isEqualTo(30);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("{\"seq\":1,\"status\":\"ok\"}");
+        assertThat(lines[1]).isEqualTo("{\"seq\":2,\"status\":\"error\",\"message\":\"age\"}");
+        assertThat(lines[2]).isEqualTo("{\"seq\":3,\"status\":\"ok\"}");
+        assertThat(lines[3]).startsWith("{\"count\":3,\"failed\":1,");
+    }
+
+    @Test
+    void invalidLineStopsReading() throws Exception {
+        pipeline = new IngestPipeline(objectMapper.getFactory(), 2, data -> {
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        IngestPipeline.IngestResult result = pipeline.ingest(helloDataReader.readValues(
+                "{\"username\":\"a\",\"age\":10}\n{\"username\":\n{\"username\":\"c\",\"age\":20}\n"), out);
+
+        assertThat(result.getCount()).isEqualTo(1);
+        assertThat(result.getError()).startsWith("seq 2:");
+    }
+
+    /**
+     * 처리가 멈춰 있으면 (처리 중 1건 + 큐 크기) 만큼만 읽고 더 읽지 않는다.
+     */
+    @Test
+    void backpressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = new IngestPipeline(objectMapper.getFactory(), 2, data -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CountingInputStream body = new CountingInputStream(100);
+
+        Thread reader = new Thread(() -> {
+            try {
+                pipeline.ingest(helloDataReader.readValues(body), new ByteArrayOutputStream());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        reader.start();
+
+        // 처리 중 1건 + 큐 2건 + 큐에 넣으려고 기다리는 1건
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (body.records() < 4 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+        assertThat(body.records()).isEqualTo(4);
+
+        release.countDown();
+        reader.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(body.records()).isEqualTo(100);
+    }
+
+    /**
+     * 워커가 모두 사용 중이면 기다리지 않고 본문을 읽기 전에 거절한다.
+     */
+    @Test
+    void rejectsWhenWorkersBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = new IngestPipeline(objectMapper.getFactory(), 2, 1, data -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Thread busy = new Thread(() -> {
+            try {
+                pipeline.ingest(helloDataReader.readValues(new CountingInputStream(3)), new ByteArrayOutputStream());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        busy.start();
+        try {
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CountingInputStream body = new CountingInputStream(3);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertThatThrownBy(() -> pipeline.ingest(helloDataReader.readValues(body), out))
+                    .isInstanceOf(RejectedExecutionException.class);
+            assertThat(body.records()).isLessThanOrEqualTo(1); // 파서가 첫 토큰만 읽는다
+            assertThat(out.size()).isZero();
+        } finally {
+            release.countDown();
+        }
+        busy.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(busy.isAlive()).isFalse();
+    }
+
+    /**
+     * 한 번에 한 줄씩만 돌려주는 바디, 지금까지 몇 줄을 읽어 갔는지 센다.
+     */
+    private static class CountingInputStream extends InputStream {
+        private final int total;
+        private volatile int records;
+        private byte[] line = new byte[0];
+        private int position;
+
+        CountingInputStream(int total) {
+            this.total = total;
+        }
+
+        int records() {
+            return records;
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position == line.length) {
+                if (records == total) {
+                    return -1;
+                }
+                line = ("{\"username\":\"member" + records + "\",\"age\":20}\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+                records++;
+            }
+            int n = Math.min(len, line.length - position);
+            System.arraycopy(line, position, b, off, n);
+            position += n;
+            return n;
+        }
+    }
+}
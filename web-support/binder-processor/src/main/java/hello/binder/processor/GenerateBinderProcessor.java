@@ -0,0 +1,168 @@
+package hello.binder.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @GenerateBinder 가 붙은 클래스마다 클래스이름 + "Binder" 를 만든다.
+ * 필드 이름과 타입만 보고 setter 호출 코드를 만들기 때문에, setter 가 롬복으로 만들어지는 클래스도 사용할 수 있다.
+ *
+ * 예) HelloData(username: String, age: int)
+ * <pre>
+ * HelloData target = new HelloData();
+ * value = parameters.apply("username");
+ * if (value != null) { target.setUsername(value); }
+ * value = parameters.apply("age");
+ * if (value != null) { Integer converted = BinderConversions.toInteger(value, "age", true, rejected); if (!rejected.containsKey("age")) { target.setAge(converted); } }
+ * </pre>
+ */
+@SupportedAnnotationTypes(GenerateBinderProcessor.ANNOTATION)
+public class GenerateBinderProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "hello.binder.GenerateBinder";
+    private static final String RUNTIME_PACKAGE = "hello.binder";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS || ((TypeElement) element).getNestingKind() != NestingKind.TOP_LEVEL) {
+                    error(element, "@GenerateBinder 는 최상위 클래스에만 사용할 수 있습니다.");
+                    continue;
+                }
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        List<Field> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+                continue;
+            }
+            String conversion = conversionOf(field.asType());
+            if (conversion == null) {
+                error(field, "지원하지 않는 타입입니다. (String, int, Integer, long, Long) type=" + field.asType());
+                return;
+            }
+            fields.add(new Field(field.getSimpleName().toString(), conversion, field.asType().getKind().isPrimitive()));
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String typeName = type.getSimpleName().toString();
+        String binderName = typeName + "Binder";
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? binderName : packageName + "." + binderName, type);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                write(out, packageName, typeName, binderName, fields);
+            }
+        } catch (IOException e) {
+            error(type, "바인더를 생성할 수 없습니다. " + e.getMessage());
+        }
+    }
+
+    private void write(PrintWriter out, String packageName, String typeName, String binderName, List<Field> fields) {
+        if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+        out.println("import " + RUNTIME_PACKAGE + ".BinderConversions;");
+        out.println("import " + RUNTIME_PACKAGE + ".ModelBinder;");
+        out.println();
+        out.println("import java.util.Map;");
+        out.println("import java.util.function.Function;");
+        out.println();
+        out.println("@javax.annotation.processing.Generated(\"" + GenerateBinderProcessor.class.getName() + "\")");
+        out.println("public final class " + binderName + " implements ModelBinder<" + typeName + "> {");
+        out.println();
+        out.println("    @Override");
+        out.println("    public " + typeName + " bind(Function<String, String> parameters, Map<String, String> rejected) {");
+        out.println("        " + typeName + " target = new " + typeName + "();");
+        out.println("        String value;");
+        for (Field field : fields) {
+            String setter = "set" + Character.toUpperCase(field.name.charAt(0)) + field.name.substring(1);
+            out.println();
+            out.println("        value = parameters.apply(\"" + field.name + "\");");
+            out.println("        if (value != null) {");
+            if (field.conversion.isEmpty()) {
+                out.println("            target." + setter + "(value);");
+            } else {
+                String boxed = field.conversion.substring(2); // toInteger -> Integer
+                out.println("            " + boxed + " converted = BinderConversions." + field.conversion
+                        + "(value, \"" + field.name + "\", " + field.primitive + ", rejected);");
+                out.println("            if (!rejected.containsKey(\"" + field.name + "\")) {");
+                out.println("                target." + setter + "(converted);");
+                out.println("            }");
+            }
+            out.println("        }");
+        }
+        out.println("        return target;");
+        out.println("    }");
+        out.println("}");
+    }
+
+    /**
+     * @return 변환 메서드 이름, String 은 빈 문자열, 지원하지 않으면 null
+     */
+    private String conversionOf(TypeMirror type) {
+        if (type.getKind() == TypeKind.INT) {
+            return "toInteger";
+        }
+        if (type.getKind() == TypeKind.LONG) {
+            return "toLong";
+        }
+        switch (type.toString()) {
+            case "java.lang.String":
+                return "";
+            case "java.lang.Integer":
+                return "toInteger";
+            case "java.lang.Long":
+                return "toLong";
+            default:
+                return null;
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static class Field {
+        private final String name;
+        private final String conversion;
+        private final boolean primitive;
+
+        Field(String name, String conversion, boolean primitive) {
+            this.name = name;
+            this.conversion = conversion;
+            this.primitive = primitive;
+        }
+    }
+}
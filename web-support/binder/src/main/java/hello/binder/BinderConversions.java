@@ -0,0 +1,46 @@
+package hello.binder;
+
+import java.util.Map;
+
+/**
+ * 생성된 바인더에서 사용하는 타입 변환
+ * 스프링 기본 바인더와 같이 앞뒤 공백은 무시하고, 빈 문자열은 wrapper 타입이면 null, 기본 타입이면 변환 실패로 본다.
+ */
+public final class BinderConversions {
+
+    private BinderConversions() {
+    }
+
+    public static Integer toInteger(String value, String field, boolean primitive, Map<String, String> rejected) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return reject(primitive, field, value, rejected);
+        }
+        try {
+            return Integer.valueOf(trimmed);
+        } catch (NumberFormatException e) {
+            rejected.put(field, value);
+            return null;
+        }
+    }
+
+    public static Long toLong(String value, String field, boolean primitive, Map<String, String> rejected) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return reject(primitive, field, value, rejected);
+        }
+        try {
+            return Long.valueOf(trimmed);
+        } catch (NumberFormatException e) {
+            rejected.put(field, value);
+            return null;
+        }
+    }
+
+    private static <T> T reject(boolean primitive, String field, String value, Map<String, String> rejected) {
+        if (primitive) {
+            rejected.put(field, value);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,20 @@
+package hello.binder;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컴파일할 때 요청 파라미터를 setter 로 바로 넣는 바인더(클래스이름 + "Binder")를 만든다.
+ * 필드마다 같은 이름의 요청 파라미터를 읽어서 setXxx 를 호출한다. (String, int, Integer, long, Long)
+ *
+ * 기본 생성자와 setter 가 있어야 한다. (@Data)
+ * 바인더는 ModelBinderArgumentResolver 가 @ModelAttribute(생략 포함) 바인딩에 사용한다.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GenerateBinder {
+}
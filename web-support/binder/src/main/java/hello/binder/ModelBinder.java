@@ -0,0 +1,16 @@
+package hello.binder;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * @GenerateBinder 로 생성되는 바인더
+ */
+public interface ModelBinder<T> {
+
+    /**
+     * @param parameters 파라미터 이름 -> 값 (없으면 null)
+     * @param rejected   타입 변환에 실패한 필드 -> 원래 값을 담는다. (해당 setter 는 호출하지 않는다)
+     */
+    T bind(Function<String, String> parameters, Map<String, String> rejected);
+}
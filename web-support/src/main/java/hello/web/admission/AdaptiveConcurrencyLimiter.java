@@ -0,0 +1,143 @@
+package hello.web.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 응답 시간을 보고 동시 처리 한도를 스스로 조절한다. (gradient 방식)
+ * - 응답 시간이 지금까지의 최소 응답 시간(minRtt)의 tolerance 배 안이면 한도를 조금씩(√limit) 늘린다.
+ * - 그보다 느려지면 minRtt / rtt 비율만큼 줄인다. 한도를 넘는 요청이 큐에 쌓여 지연이 커지기 전에 잘라낸다.
+ * - minRtt 는 부하 조건이 바뀔 수 있으므로 일정 샘플마다 다시 측정한다.
+ *
+ * 획득/반납은 CAS 로 처리하고, 한도 계산은 tryLock 에 성공한 스레드만 한다. (나머지 샘플은 건너뜀)
+ * 한도에 걸린 요청은 maxWait 동안만 기다렸다가 거절된다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int MIN_RTT_RESET_SAMPLES = 1000;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private double estimatedLimit;
+    private volatile long minRttNanos = Long.MAX_VALUE;
+    private int samples;
+
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition released = waitLock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("1 <= minLimit <= initialLimit <= maxLimit 이어야 합니다.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 한도에 걸리면 maxWaitNanos 동안 반납을 기다린다.
+     */
+    public boolean tryAcquire(long maxWaitNanos) throws InterruptedException {
+        if (tryAcquire()) {
+            return true;
+        }
+        if (maxWaitNanos <= 0) {
+            return false;
+        }
+        waiters.incrementAndGet();
+        waitLock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (!tryAcquire()) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            waitLock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * @param rttNanos 요청 처리 시간, 한도 계산에 사용한다. 실패한 요청처럼 측정값이 의미 없으면 음수
+     */
+    public void release(long rttNanos) {
+        inFlight.decrementAndGet();
+        if (waiters.get() > 0) {
+            waitLock.lock();
+            try {
+                released.signal();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        if (rttNanos > 0) {
+            onSample(rttNanos);
+        }
+    }
+
+    private void onSample(long rttNanos) {
+        if (!sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            if (++samples % MIN_RTT_RESET_SAMPLES == 0) {
+                minRttNanos = rttNanos;
+            } else {
+                minRttNanos = Math.min(minRttNanos, rttNanos);
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * minRttNanos / rttNanos));
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            // 한도의 절반도 쓰지 않고 있으면 늘릴 근거가 없다
+            if (newLimit > estimatedLimit && inFlight.get() + 1 < estimatedLimit / 2) {
+                return;
+            }
+            newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+            limit = (int) estimatedLimit;
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getMinRttMicros() {
+        long min = minRttNanos;
+        return min == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMicros(min);
+    }
+}
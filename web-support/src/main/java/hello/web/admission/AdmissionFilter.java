@@ -0,0 +1,194 @@
+package hello.web.admission;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 입장 제어(admission control) 필터
+ * 1. 클라이언트(IP)별 토큰 버킷: 초당 clientRate 개를 넘으면 429
+ * 2. 전체 동시 처리 한도(AdaptiveConcurrencyLimiter): 한도에 걸리면 maxQueueWaitMillis 만큼만 기다리고 503
+ *
+ * 과부하 때 톰캣 큐에 요청이 쌓여 모든 요청이 느려지는 대신, 넘치는 요청을 바로 거절해서 허용된 요청의 응답 시간을 지킨다.
+ * 거절 응답은 에러 페이지(sendError) 없이 상태 코드와 짧은 본문만 쓴다.
+ *
+ * 등록은 각 애플리케이션이 한다. (servlet: @WebFilter, item-service: FilterRegistrationBean)
+ * excludedPaths(쉼표로 구분한 URI 접미사)는 과부하 중에도 통과시킨다. 상태 조회 경로를 넣는다.
+ */
+public class AdmissionFilter implements Filter {
+
+    public static final String NAME = "admissionFilter";
+
+    private static final int STRIPES = 1024;
+
+    // init 전에도(MockMvc 는 필터의 init 을 호출하지 않는다) 기본값으로 동작한다
+    private boolean enabled = true;
+    private StripedTokenBuckets clientBuckets = new StripedTokenBuckets(STRIPES, 500, 1000);
+    private AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 4, 200, 2.0);
+    private long maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private String[] excludedPaths = {"/admission/metrics"};
+    private final AdmissionMetrics metrics = new AdmissionMetrics();
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        enabled = Boolean.parseBoolean(param(filterConfig, "enabled", "true"));
+        clientBuckets = new StripedTokenBuckets(STRIPES,
+                doubleParam(filterConfig, "clientRate", 500), intParam(filterConfig, "clientBurst", 1000));
+        limiter = new AdaptiveConcurrencyLimiter(intParam(filterConfig, "initialLimit", 50),
+                intParam(filterConfig, "minLimit", 4), intParam(filterConfig, "maxLimit", 200),
+                doubleParam(filterConfig, "tolerance", 2.0));
+        maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(intParam(filterConfig, "maxQueueWaitMillis", 10));
+        excludedPaths = param(filterConfig, "excludedPaths", "/admission/metrics").split("\\s*,\\s*");
+        // 상태 조회 서블릿에서 필터 이름으로 찾는다
+        filterConfig.getServletContext().setAttribute(attributeName(filterConfig.getFilterName()), this);
+    }
+
+    public static String attributeName(String filterName) {
+        return AdmissionFilter.class.getName() + "." + filterName;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        if (!enabled || isExcluded(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long arrivedAt = System.nanoTime();
+        String client = request.getRemoteAddr();
+        if (!clientBuckets.tryAcquire(client, arrivedAt)) {
+            metrics.getRateLimited().increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(clientBuckets.nanosUntilNext(client, arrivedAt)) + 1);
+            reject(httpResponse, 429, retryAfterSeconds);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = limiter.tryAcquire(maxQueueWaitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        long admittedAt = System.nanoTime();
+        if (!acquired) {
+            metrics.getOverloaded().increment();
+            reject(httpResponse, HttpServletResponse.SC_SERVICE_UNAVAILABLE, 1);
+            return;
+        }
+        metrics.getAdmitted().increment();
+        metrics.getQueueWait().record(admittedAt - arrivedAt);
+
+        boolean async = false;
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+            if (request.isAsyncStarted()) {
+                // 비동기 요청은 완료될 때 한도를 반납한다
+                request.getAsyncContext().addListener(new ReleaseListener(admittedAt));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                complete(admittedAt, failed);
+            }
+        }
+    }
+
+    private void complete(long admittedAt, boolean failed) {
+        long elapsed = System.nanoTime() - admittedAt;
+        metrics.getLatency().record(elapsed);
+        limiter.release(failed ? -1 : elapsed);
+    }
+
+    private void reject(HttpServletResponse response, int status, long retryAfterSeconds) throws IOException {
+        response.setStatus(status);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write(status == 429 ? "too many requests" : "overloaded");
+    }
+
+    private boolean isExcluded(HttpServletRequest request) {
+        // 과부하 중에도 상태 조회는 되어야 한다
+        String uri = request.getRequestURI();
+        for (String excludedPath : excludedPaths) {
+            if (!excludedPath.isEmpty() && uri.endsWith(excludedPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    public AdmissionMetrics getMetrics() {
+        return metrics;
+    }
+
+    private static int intParam(FilterConfig config, String name, int defaultValue) {
+        return Integer.parseInt(param(config, name, String.valueOf(defaultValue)));
+    }
+
+    private static double doubleParam(FilterConfig config, String name, double defaultValue) {
+        return Double.parseDouble(param(config, name, String.valueOf(defaultValue)));
+    }
+
+    /**
+     * 컨텍스트 파라미터 "필터이름.파라미터" 가 있으면 우선 사용한다.
+     * 예) server.servlet.context-parameters.admissionFilter.maxLimit=100
+     */
+    private static String param(FilterConfig config, String name, String defaultValue) {
+        String value = config.getServletContext().getInitParameter(config.getFilterName() + "." + name);
+        if (value == null) {
+            value = config.getInitParameter(name);
+        }
+        return value == null ? defaultValue : value;
+    }
+
+    private class ReleaseListener implements AsyncListener {
+
+        private final long admittedAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseListener(long admittedAt) {
+            this.admittedAt = admittedAt;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                complete(admittedAt, false);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                complete(admittedAt, true);
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
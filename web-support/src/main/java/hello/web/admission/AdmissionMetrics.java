@@ -0,0 +1,19 @@
+package hello.web.admission;
+
+import hello.web.metrics.LatencyHistogram;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 입장 제어 결과: 허용/거절 수, 한도에 걸려 기다린 시간, 허용된 요청의 처리 시간
+ */
+@Getter
+public class AdmissionMetrics {
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();   // 429
+    private final LongAdder overloaded = new LongAdder();    // 503
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram latency = new LatencyHistogram();
+}
@@ -0,0 +1,39 @@
+package hello.web.admission;
+
+/**
+ * 클라이언트(키)별 토큰 버킷
+ * 키마다 버킷을 만들면 클라이언트 수만큼 메모리가 늘어나므로, 고정 개수의 버킷 배열에 키의 해시로 나눠 담는다.
+ * 버킷(stripe)이 여러 개라서 서로 다른 클라이언트의 요청이 같은 CAS 를 두고 경쟁하지 않는다.
+ * 해시가 겹치는 클라이언트끼리는 한도를 나눠 쓴다. (stripes 를 충분히 크게 잡는다)
+ */
+public class StripedTokenBuckets {
+
+    private final TokenBucket[] buckets;
+    private final int mask;
+
+    public StripedTokenBuckets(int stripes, double ratePerSecond, int burst) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes 는 2의 제곱이어야 합니다. stripes=" + stripes);
+        }
+        long now = System.nanoTime();
+        this.buckets = new TokenBucket[stripes];
+        for (int i = 0; i < stripes; i++) {
+            buckets[i] = new TokenBucket(ratePerSecond, burst, now);
+        }
+        this.mask = stripes - 1;
+    }
+
+    public boolean tryAcquire(String key, long nowNanos) {
+        return bucketOf(key).tryAcquire(nowNanos);
+    }
+
+    public long nanosUntilNext(String key, long nowNanos) {
+        return bucketOf(key).nanosUntilNext(nowNanos);
+    }
+
+    private TokenBucket bucketOf(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return buckets[h & mask];
+    }
+}
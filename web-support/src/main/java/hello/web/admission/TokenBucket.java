@@ -0,0 +1,45 @@
+package hello.web.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 초당 rate 개, 최대 burst 개까지 몰아서 허용하는 토큰 버킷
+ * 토큰 수 대신 "다음 토큰이 생기는 이론상 시각"(GCRA) 하나만 저장해서 CAS 한 번으로 처리한다.
+ * 타이머나 토큰 채우는 스레드가 필요 없다.
+ */
+class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate 와 burst 는 0 보다 커야 합니다. rate=" + ratePerSecond + ", burst=" + burst);
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        // 과거 시각으로 두면 max(tat, now) 가 항상 now 가 되어 처음부터 burst 개가 모두 차 있다
+        this.theoreticalArrival = new AtomicLong(nowNanos - toleranceNanos - intervalNanos);
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = Math.max(tat, nowNanos);
+            if (base - nowNanos > toleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 다음 요청이 허용될 때까지 남은 시간 (Retry-After 계산용)
+     */
+    long nanosUntilNext(long nowNanos) {
+        return Math.max(0, theoreticalArrival.get() - toleranceNanos - nowNanos);
+    }
+}
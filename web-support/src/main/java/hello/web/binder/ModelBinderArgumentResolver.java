@@ -0,0 +1,114 @@
+package hello.web.binder;
+
+import hello.binder.GenerateBinder;
+import hello.binder.ModelBinder;
+import hello.web.param.LazyParameters;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.ModelFactory;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ServletModelAttributeMethodProcessor;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.annotation.Annotation;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @GenerateBinder 가 붙은 타입의 @ModelAttribute(생략 포함) 를 생성된 바인더로 처리한다.
+ * 스프링 기본 처리(ServletModelAttributeMethodProcessor)는 요청마다 BeanWrapper 로 프로퍼티를 찾고 변환기를 고르지만,
+ * 생성된 바인더는 setter 를 바로 호출한다.
+ *
+ * 스프링과 같게 동작하는 부분
+ * - 모델에 객체와 BindingResult 를 넣는다.
+ * - 변환 실패는 typeMismatch 필드 오류, 다음 파라미터가 BindingResult 가 아니면 BindException(400)
+ * 다음 경우는 스프링 기본 처리에 맡긴다: 모델에 이미 같은 이름이 있을 때(@SessionAttributes 등), @Valid/@Validated, binding = false
+ *
+ * 파라미터는 LazyParameters 로 읽는다. 폼 본문을 여기서 읽으므로 LazyParameterFilter 를 같이 등록해야
+ * 스프링 기본 처리와 request.getParameter 도 본문 파라미터를 본다.
+ * 기본 resolver 보다 먼저 호출되어야 하므로 각 애플리케이션의 WebConfig 에서 목록 맨 앞에 넣는다.
+ */
+public class ModelBinderArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final ServletModelAttributeMethodProcessor fallback = new ServletModelAttributeMethodProcessor(true);
+    private final Map<Class<?>, ModelBinder<?>> binders = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.getParameterType().isAnnotationPresent(GenerateBinder.class)) {
+            return false;
+        }
+        return parameter.hasParameterAnnotation(ModelAttribute.class) || parameter.getParameterAnnotations().length == 0;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        String name = ModelFactory.getNameForParameter(parameter);
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (request == null || mavContainer.containsAttribute(name) || !isBindingOnly(parameter)) {
+            return fallback.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        }
+
+        Map<String, String> rejected = new LinkedHashMap<>();
+        Object target = binderOf(parameter.getParameterType()).bind(LazyParameters.of(request)::get, rejected);
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(target, name);
+        for (Map.Entry<String, String> entry : rejected.entrySet()) {
+            String field = entry.getKey();
+            bindingResult.addError(new FieldError(name, field, entry.getValue(), true,
+                    bindingResult.resolveMessageCodes("typeMismatch", field), null, "타입 변환에 실패했습니다. field=" + field));
+        }
+        if (bindingResult.hasErrors() && !isErrorsNext(parameter)) {
+            throw new BindException(bindingResult);
+        }
+
+        Map<String, Object> model = bindingResult.getModel();
+        mavContainer.removeAttributes(model);
+        mavContainer.addAllAttributes(model);
+        return target;
+    }
+
+    /**
+     * 검증(@Valid, @Validated) 없이 바인딩만 하는 경우
+     */
+    private boolean isBindingOnly(MethodParameter parameter) {
+        ModelAttribute modelAttribute = parameter.getParameterAnnotation(ModelAttribute.class);
+        if (modelAttribute != null && !modelAttribute.binding()) {
+            return false;
+        }
+        for (Annotation annotation : parameter.getParameterAnnotations()) {
+            if (annotation.annotationType().getSimpleName().startsWith("Valid")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isErrorsNext(MethodParameter parameter) {
+        Class<?>[] types = parameter.getExecutable().getParameterTypes();
+        int next = parameter.getParameterIndex() + 1;
+        return next < types.length && Errors.class.isAssignableFrom(types[next]);
+    }
+
+    private ModelBinder<?> binderOf(Class<?> type) {
+        return binders.computeIfAbsent(type, ModelBinderArgumentResolver::load);
+    }
+
+    private static ModelBinder<?> load(Class<?> type) {
+        String binderName = type.getName() + "Binder";
+        try {
+            return (ModelBinder<?>) Class.forName(binderName, true, type.getClassLoader()).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("생성된 바인더가 없습니다. 애노테이션 프로세서 설정을 확인하세요. binder=" + binderName, e);
+        }
+    }
+}
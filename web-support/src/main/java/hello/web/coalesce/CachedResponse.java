@@ -0,0 +1,53 @@
+package hello.web.coalesce;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * leader 가 렌더링한 응답 (상태, 헤더, 본문 byte[])
+ * follower 는 같은 헤더와 본문을 자기 응답에 그대로 쓴다.
+ */
+class CachedResponse {
+
+    private final int status;
+    private final List<Consumer<HttpServletResponse>> headers;
+    private final byte[] body;
+
+    CachedResponse(int status, List<Consumer<HttpServletResponse>> headers, byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * 정상 응답(200)만 나눠 쓴다. 304 나 오류는 요청마다 다를 수 있다.
+     */
+    boolean isShareable() {
+        return status == HttpServletResponse.SC_OK;
+    }
+
+    int getBodyLength() {
+        return body.length;
+    }
+
+    void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        for (Consumer<HttpServletResponse> header : headers) {
+            header.accept(response);
+        }
+        writeBodyTo(response);
+    }
+
+    /**
+     * leader 는 헤더를 이미 자기 응답에 썼으므로 본문만 쓴다.
+     */
+    void writeBodyTo(HttpServletResponse response) throws IOException {
+        if (body.length == 0) {
+            return;
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,264 @@
+package hello.web.coalesce;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * leader 의 응답을 기록한다.
+ * - 상태/헤더는 실제 응답에도 그대로 쓰고, follower 에게 다시 쓸 수 있도록 순서대로 기록한다.
+ * - 본문은 실제 응답에 쓰지 않고 byte[] 로 모은다. (끝난 뒤 leader 와 follower 가 같은 byte[] 를 쓴다)
+ * - sendError/sendRedirect/addCookie 는 요청마다 달라야 하므로 실제 응답으로 넘기고 나눠 쓰지 않는다.
+ * - non-blocking 쓰기(setWriteListener)로 바꾸면 본문을 모을 수 없으므로 실제 응답으로 넘기고 나눠 쓰지 않는다.
+ */
+class CapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final List<Consumer<HttpServletResponse>> headers = new ArrayList<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(8192);
+    private int status = SC_OK;
+    private boolean passThrough;
+    private boolean used;
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CapturingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * @return 나눠 쓸 수 없는 응답(sendError, sendRedirect, 쿠키)이면 null
+     */
+    CachedResponse toCachedResponse() {
+        used = true;
+        if (passThrough) {
+            return null;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        return new CachedResponse(status, headers, body.toByteArray());
+    }
+
+    /**
+     * leader 로 실행되어 응답을 기록했는지 여부
+     */
+    boolean isUsed() {
+        return used;
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        status = sc;
+        super.setStatus(sc);
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            return; // 본문 길이는 마지막에 쓴다
+        }
+        headers.add(r -> r.setHeader(name, value));
+        super.setHeader(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            return;
+        }
+        headers.add(r -> r.addHeader(name, value));
+        super.addHeader(name, value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        headers.add(r -> r.setDateHeader(name, date));
+        super.setDateHeader(name, date);
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        headers.add(r -> r.addDateHeader(name, date));
+        super.addDateHeader(name, date);
+    }
+
+    @Override
+    public void setContentType(String type) {
+        headers.add(r -> r.setContentType(type));
+        super.setContentType(type);
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        headers.add(r -> r.setCharacterEncoding(charset));
+        super.setCharacterEncoding(charset);
+    }
+
+    @Override
+    public void setLocale(Locale loc) {
+        headers.add(r -> r.setLocale(loc));
+        super.setLocale(loc);
+    }
+
+    @Override
+    public void setContentLength(int len) {
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        passThrough = true;
+        super.addCookie(cookie);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        passThrough = true;
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        passThrough = true;
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        passThrough = true;
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() 가 이미 호출되었습니다.");
+        }
+        if (outputStream == null) {
+            outputStream = new CapturingOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() 이 이미 호출되었습니다.");
+            }
+            outputStream = new CapturingOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() {
+        // 모으는 중에는 실제 응답을 커밋하지 않는다
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return passThrough && super.isCommitted();
+    }
+
+    @Override
+    public void resetBuffer() {
+        body.reset();
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        body.reset();
+        headers.clear();
+        status = SC_OK;
+        super.reset();
+    }
+
+    private class CapturingOutputStream extends ServletOutputStream {
+
+        // setWriteListener 이후에는 모으지 않고 실제 응답의 스트림에 쓴다
+        private ServletOutputStream nonBlockingTarget;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (nonBlockingTarget != null) {
+                nonBlockingTarget.write(b);
+                return;
+            }
+            body.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (nonBlockingTarget != null) {
+                nonBlockingTarget.write(b, off, len);
+                return;
+            }
+            body.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (nonBlockingTarget != null) {
+                nonBlockingTarget.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return nonBlockingTarget == null || nonBlockingTarget.isReady();
+        }
+
+        /**
+         * 지금까지 모은 본문은 blocking 으로 먼저 내보내고, listener 는 실제 응답의 스트림에 넘긴다.
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                if (nonBlockingTarget == null) {
+                    passThrough = true;
+                    if (writer != null) {
+                        writer.flush();
+                    }
+                    nonBlockingTarget = getResponse().getOutputStream();
+                    body.writeTo(nonBlockingTarget);
+                    body.reset();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            nonBlockingTarget.setWriteListener(writeListener);
+        }
+    }
+}
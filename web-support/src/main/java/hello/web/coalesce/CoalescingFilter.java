@@ -0,0 +1,104 @@
+package hello.web.coalesce;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 회원/상품 목록처럼 자주 읽히는 화면에 같은 GET 이 동시에 몰리면, findAll() 과 렌더링을 한 번만 하고 결과 byte[] 를 나눠 쓴다.
+ * key 는 경로 + 쿼리 + 응답을 바꾸는 요청 헤더(Accept-Encoding, If-None-Match)
+ *
+ * 동기 요청에만 건다. (비동기 요청은 요청 스레드가 끝난 뒤에 응답을 쓰므로 모을 수 없다)
+ * 등록 경로는 각 애플리케이션이 정한다. (servlet: @WebFilter, item-service: FilterRegistrationBean)
+ * 결과는 /coalescing/metrics 에서 확인한다.
+ */
+public class CoalescingFilter implements Filter {
+
+    public static final String ATTRIBUTE_NAME = CoalescingFilter.class.getName();
+
+    private final SingleFlight<String, CachedResponse> singleFlight = new SingleFlight<>();
+    private final LongAdder savedBytes = new LongAdder();
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        filterConfig.getServletContext().setAttribute(ATTRIBUTE_NAME, this);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        if (!"GET".equals(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CapturingResponseWrapper wrapper = new CapturingResponseWrapper(httpResponse);
+        CachedResponse cached = execute(keyOf(httpRequest), () -> {
+            chain.doFilter(request, wrapper);
+            return wrapper.toCachedResponse();
+        });
+
+        if (cached == null) {
+            // leader 가 실패했거나 나눠 쓸 수 없는 응답이면 직접 처리한다
+            if (!wrapper.isUsed()) {
+                chain.doFilter(request, response);
+            }
+            return;
+        }
+        if (wrapper.isUsed()) {
+            cached.writeBodyTo(httpResponse);
+            return;
+        }
+        if (!cached.isShareable()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        savedBytes.add(cached.getBodyLength());
+        cached.writeTo(httpResponse);
+    }
+
+    private CachedResponse execute(String key, Callable<CachedResponse> computation) throws IOException, ServletException {
+        try {
+            return singleFlight.execute(key, computation);
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    static String keyOf(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+        key.append('|').append(request.getHeader("Accept-Encoding"));
+        key.append('|').append(request.getHeader("If-None-Match"));
+        return key.toString();
+    }
+
+    public long getExecutions() {
+        return singleFlight.getExecutions();
+    }
+
+    public long getCoalesced() {
+        return singleFlight.getCoalesced();
+    }
+
+    public long getSavedNanos() {
+        return singleFlight.getSavedNanos();
+    }
+
+    public long getSavedBytes() {
+        return savedBytes.sum();
+    }
+}
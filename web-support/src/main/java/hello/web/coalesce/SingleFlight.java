@@ -0,0 +1,83 @@
+package hello.web.coalesce;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 같은 key 로 동시에 들어온 계산을 한 번만 실행하고 결과를 나눠 쓴다. (single-flight)
+ * 먼저 온 요청(leader)이 계산하고, 계산 중에 같은 key 로 온 요청(follower)은 그 결과를 기다린다.
+ * 계산이 끝나면 key 를 지우므로 결과를 캐시하지는 않는다. 끝난 뒤에 온 요청은 다시 계산한다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    /**
+     * @return 계산 결과. follower 는 leader 의 계산이 예외로 끝나면 null 을 받는다. (직접 다시 처리한다)
+     */
+    public V execute(K key, Callable<V> computation) throws Exception {
+        Flight<V> flight = new Flight<>();
+        Flight<V> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            return join(running);
+        }
+
+        executions.increment();
+        long start = System.nanoTime();
+        try {
+            V result = computation.call();
+            flight.elapsedNanos = System.nanoTime() - start;
+            flight.complete(result);
+            return result;
+        } catch (Exception | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private V join(Flight<V> running) throws InterruptedException {
+        try {
+            V result = running.get();
+            coalesced.increment();
+            savedNanos.add(running.elapsedNanos);
+            return result;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * leader 가 실행한 계산 수
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * leader 의 결과를 받아 계산을 건너뛴 요청 수
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 건너뛴 계산들의 시간 합 (follower 마다 leader 의 계산 시간을 더한다)
+     */
+    public long getSavedNanos() {
+        return savedNanos.sum();
+    }
+
+    private static class Flight<V> extends CompletableFuture<V> {
+        // complete() 전에 쓰고 get() 뒤에 읽으므로 CompletableFuture 가 가시성을 보장한다
+        private long elapsedNanos;
+    }
+}
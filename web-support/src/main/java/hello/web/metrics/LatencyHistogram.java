@@ -0,0 +1,75 @@
+package hello.web.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 응답 시간 히스토그램 (락 없음, 기록할 때 객체를 만들지 않음)
+ * 구간은 마이크로초 기준 2의 제곱 단위: [0,1), [1,2), [2,4), [4,8) ... 마지막 구간은 그 이상 전부
+ */
+public class LatencyHistogram {
+
+    static final int BUCKET_COUNT = 40; // 2^38 us (약 76시간) 이상은 마지막 구간
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(nanos / 1000));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @param percentile 0 ~ 100
+     * @return 해당 백분위가 속한 구간의 상한 (마이크로초), 기록이 없으면 0
+     */
+    public long percentileMicros(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(rank, 1)) {
+                return bucketUpperBoundMicros(i);
+            }
+        }
+        return bucketUpperBoundMicros(BUCKET_COUNT - 1);
+    }
+
+    static int bucketIndex(long micros) {
+        int index = 64 - Long.numberOfLeadingZeros(micros); // 0 -> 0, 1 -> 1, 2~3 -> 2, 4~7 -> 3
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    static long bucketUpperBoundMicros(int index) {
+        return 1L << index;
+    }
+}
@@ -0,0 +1,54 @@
+package hello.web.param;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 폼 POST 를 LazyParameterRequest 로 감싸서, 어느 쪽에서 읽든 파라미터를 LazyParameters 에서 꺼내게 한다.
+ * 폼 본문이 MAX_BODY_SIZE 를 넘으면 413 으로 응답한다. (Content-Length 로 미리, 길이를 모르면 읽다가)
+ *
+ * 등록 경로는 각 애플리케이션이 정한다. (servlet: @WebFilter, springmvc: FilterRegistrationBean)
+ */
+public class LazyParameterFilter implements Filter {
+
+    public static final String NAME = "lazyParameterFilter";
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        if (!LazyParameters.isForm(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (httpRequest.getContentLengthLong() > LazyParameters.MAX_BODY_SIZE) {
+            httpResponse.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        try {
+            chain.doFilter(new LazyParameterRequest(httpRequest), response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            // 스프링은 핸들러 예외를 NestedServletException 으로 감싸서 던진다
+            if (!isPayloadTooLarge(e) || httpResponse.isCommitted()) {
+                throw e;
+            }
+            httpResponse.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        }
+    }
+
+    private static boolean isPayloadTooLarge(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PayloadTooLargeException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
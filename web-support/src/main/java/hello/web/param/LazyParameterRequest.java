@@ -0,0 +1,48 @@
+package hello.web.param;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * getParameter* 를 컨테이너 대신 LazyParameters 에서 읽는 요청
+ * LazyParameters 가 본문을 먼저 읽어도 @ModelAttribute, @RequestParam Map, request.getParameter 가 같은 값을 본다.
+ */
+public class LazyParameterRequest extends HttpServletRequestWrapper {
+
+    public LazyParameterRequest(HttpServletRequest request) {
+        super(request);
+    }
+
+    private LazyParameters parameters() {
+        return LazyParameters.of((HttpServletRequest) getRequest());
+    }
+
+    @Override
+    public String getParameter(String name) {
+        return parameters().get(name);
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters().getValues(name);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters().getNames());
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        LazyParameters parameters = parameters();
+        Map<String, String[]> map = new LinkedHashMap<>();
+        for (String name : parameters.getNames()) {
+            map.put(name, parameters.getValues(name));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,355 @@
+package hello.web.param;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestWrapper;
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 쿼리 스트링과 x-www-form-urlencoded 본문을 필요할 때만 디코딩하는 파라미터 파서
+ *
+ * 컨테이너(request.getParameter)는 처음 호출될 때 모든 파라미터의 이름과 값을 디코딩해서 String 으로 만든다.
+ * 여기서는 원본 byte[] 를 한 번 훑어서 이름/값의 위치(int[])만 기록하고,
+ * get(name) 이 호출된 파라미터의 값만 String 으로 만든다. 읽지 않는 필드가 많은 폼일수록 차이가 크다.
+ *
+ * 본문을 직접 읽으므로 컨테이너는 더 이상 본문 파라미터를 볼 수 없다.
+ * 그래서 폼 요청은 LazyParameterFilter 가 request.getParameter* 도 여기서 읽는 요청으로 감싼다.
+ * 폼 요청이 아니거나 컨테이너가 이미 본문을 읽었으면 컨테이너의 파라미터를 그대로 사용한다.
+ * 본문이 MAX_BODY_SIZE 를 넘으면 PayloadTooLargeException (필터가 413 으로 응답한다)
+ * 퍼센트 인코딩이 잘못된 파라미터는 톰캣처럼 없는 것으로 본다. (읽을 때 디코딩하므로 그 때 건너뛴다)
+ */
+public class LazyParameters {
+
+    private static final String ATTRIBUTE_NAME = LazyParameters.class.getName();
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+    static final int MAX_BODY_SIZE = 2 * 1024 * 1024; // 톰캣 maxPostSize 기본값과 같다
+
+    private final byte[][] sources;
+    private final Charset[] charsets;
+    private final HttpServletRequest container;
+
+    // 파라미터마다 [source, nameStart, nameEnd, valueEnd] (값은 nameEnd + 1 부터, '=' 가 없으면 nameEnd == valueEnd)
+    private final int[] positions;
+    private int count;
+
+    private LazyParameters(byte[][] sources, Charset[] charsets, HttpServletRequest container) {
+        this.sources = sources;
+        this.charsets = charsets;
+        this.container = container;
+        // '&' 개수로 파라미터 수의 상한을 구해서 배열을 한 번만 만든다
+        int capacity = 0;
+        for (byte[] source : sources) {
+            capacity += countOf(source, (byte) '&') + 1;
+        }
+        this.positions = new int[capacity * 4];
+        for (int s = 0; s < sources.length; s++) {
+            scan(s);
+        }
+    }
+
+    /**
+     * 요청마다 한 번만 만들고 요청 attribute 에 보관한다.
+     */
+    public static LazyParameters of(HttpServletRequest request) {
+        HttpServletRequest source = unwrap(request);
+        Object cached = source.getAttribute(ATTRIBUTE_NAME);
+        if (cached instanceof LazyParameters) {
+            return (LazyParameters) cached;
+        }
+        LazyParameters parameters = create(source);
+        source.setAttribute(ATTRIBUTE_NAME, parameters);
+        return parameters;
+    }
+
+    /**
+     * 이미 받은 byte[] 로 만든다. (query, body 는 null 가능)
+     */
+    public static LazyParameters parse(byte[] query, byte[] body, Charset bodyCharset) {
+        return new LazyParameters(new byte[][]{orEmpty(query), orEmpty(body)},
+                new Charset[]{StandardCharsets.UTF_8, bodyCharset}, null);
+    }
+
+    /**
+     * LazyParameterRequest 아래의 원래 요청을 꺼낸다.
+     * 감싼 요청을 컨테이너로 쓰면 getParameter 가 다시 여기로 돌아오기 때문이다.
+     */
+    private static HttpServletRequest unwrap(HttpServletRequest request) {
+        ServletRequest current = request;
+        while (current instanceof ServletRequestWrapper) {
+            if (current instanceof LazyParameterRequest) {
+                return (HttpServletRequest) ((LazyParameterRequest) current).getRequest();
+            }
+            current = ((ServletRequestWrapper) current).getRequest();
+        }
+        return request;
+    }
+
+    private static LazyParameters create(HttpServletRequest request) {
+        if (!isForm(request)) {
+            // 폼이 아니면 컨테이너에 맡긴다. (multipart 의 part 파라미터, forward 나 테스트에서 직접 넣은 파라미터)
+            return container(request);
+        }
+
+        byte[] body = readBody(request);
+        if (body == null) {
+            return container(request);
+        }
+        String queryString = request.getQueryString();
+        // 쿼리 스트링은 %XX 로 인코딩된 ASCII 이므로 ISO-8859-1 로 그대로 byte[] 로 옮긴다
+        byte[] query = queryString == null ? null : queryString.getBytes(StandardCharsets.ISO_8859_1);
+        String encoding = request.getCharacterEncoding();
+        return parse(query, body, encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding));
+    }
+
+    private static LazyParameters container(HttpServletRequest request) {
+        return new LazyParameters(new byte[0][], new Charset[0], request);
+    }
+
+    static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return "POST".equals(request.getMethod())
+                && contentType != null && contentType.regionMatches(true, 0, FORM_CONTENT_TYPE, 0, FORM_CONTENT_TYPE.length());
+    }
+
+    /**
+     * @return 본문, 컨테이너가 이미 읽어서 Content-Length 만큼 읽을 수 없으면 null
+     */
+    private static byte[] readBody(HttpServletRequest request) {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > MAX_BODY_SIZE) {
+            throw new PayloadTooLargeException("폼 본문이 너무 큽니다. contentLength=" + contentLength);
+        }
+        ServletInputStream in;
+        try {
+            in = request.getInputStream();
+        } catch (IllegalStateException e) {
+            return null; // getReader() 가 이미 호출된 경우
+        } catch (IOException e) {
+            throw new UncheckedIOException("폼 본문을 읽을 수 없습니다.", e);
+        }
+
+        try {
+            if (contentLength >= 0) {
+                byte[] body = in.readNBytes((int) contentLength);
+                return body.length == contentLength ? body : null;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                if (out.size() > MAX_BODY_SIZE) {
+                    throw new PayloadTooLargeException("폼 본문이 너무 큽니다. size=" + out.size());
+                }
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("폼 본문을 읽을 수 없습니다.", e);
+        }
+    }
+
+    private static byte[] orEmpty(byte[] bytes) {
+        return bytes == null ? new byte[0] : bytes;
+    }
+
+    private void scan(int source) {
+        byte[] bytes = sources[source];
+        int start = 0;
+        while (start <= bytes.length) {
+            int end = indexOf(bytes, (byte) '&', start);
+            if (end > start) {
+                int equals = indexOf(bytes, (byte) '=', start, end);
+                add(source, start, equals, end);
+            }
+            start = end + 1;
+        }
+    }
+
+    private void add(int source, int nameStart, int nameEnd, int valueEnd) {
+        int p = count * 4;
+        positions[p] = source;
+        positions[p + 1] = nameStart;
+        positions[p + 2] = nameEnd;
+        positions[p + 3] = valueEnd;
+        count++;
+    }
+
+    /**
+     * 첫 번째 값, 없으면 null
+     */
+    public String get(String name) {
+        if (container != null) {
+            return container.getParameter(name);
+        }
+        for (int i = 0; i < count; i++) {
+            if (nameEquals(i, name)) {
+                String value = value(i);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 같은 이름의 모든 값 (username=kim&username=lee), 없으면 null
+     */
+    public String[] getValues(String name) {
+        if (container != null) {
+            return container.getParameterValues(name);
+        }
+        List<String> values = null;
+        for (int i = 0; i < count; i++) {
+            String value;
+            if (nameEquals(i, name) && (value = value(i)) != null) {
+                if (values == null) {
+                    values = new ArrayList<>(2);
+                }
+                values.add(value);
+            }
+        }
+        return values == null ? null : values.toArray(new String[0]);
+    }
+
+    /**
+     * 전체 이름 (순서 유지), 이 때는 모든 이름과 값을 디코딩한다. (값이 잘못된 파라미터는 뺀다)
+     */
+    public Set<String> getNames() {
+        if (container != null) {
+            return new LinkedHashSet<>(Collections.list(container.getParameterNames()));
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            String name = name(i);
+            if (name != null && value(i) != null) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 전체 파라미터, 이름마다 첫 번째 값
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String name : getNames()) {
+            map.put(name, get(name));
+        }
+        return map;
+    }
+
+    private boolean nameEquals(int i, String name) {
+        int p = i * 4;
+        byte[] bytes = sources[positions[p]];
+        int start = positions[p + 1];
+        int end = positions[p + 2];
+        if (!needsDecoding(bytes, start, end)) {
+            // 대부분의 이름은 인코딩이 필요 없는 ASCII 라서 String 을 만들지 않고 비교한다
+            if (end - start != name.length()) {
+                return false;
+            }
+            for (int k = 0; k < name.length(); k++) {
+                char c = name.charAt(k);
+                if (c >= 0x80) {
+                    return name.equals(name(i)); // ASCII 가 아닌 이름은 charset 으로 디코딩해서 비교
+                }
+                if (bytes[start + k] != c) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return name.equals(name(i));
+    }
+
+    private String name(int i) {
+        int p = i * 4;
+        return decode(sources[positions[p]], positions[p + 1], positions[p + 2], charsets[positions[p]]);
+    }
+
+    private String value(int i) {
+        int p = i * 4;
+        int nameEnd = positions[p + 2];
+        int valueEnd = positions[p + 3];
+        if (nameEnd == valueEnd) {
+            return ""; // "flag" 처럼 '=' 가 없는 경우
+        }
+        return decode(sources[positions[p]], nameEnd + 1, valueEnd, charsets[positions[p]]);
+    }
+
+    /**
+     * @return 잘못된 퍼센트 인코딩(%ZZ, 끝이 잘린 %E)이면 null
+     */
+    static String decode(byte[] bytes, int start, int end, Charset charset) {
+        if (!needsDecoding(bytes, start, end)) {
+            return new String(bytes, start, end - start, charset);
+        }
+        byte[] decoded = new byte[end - start];
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            byte b = bytes[i];
+            if (b == '+') {
+                decoded[length++] = ' ';
+            } else if (b == '%' && i + 2 < end) {
+                int high = Character.digit(bytes[i + 1], 16);
+                int low = Character.digit(bytes[i + 2], 16);
+                if (high < 0 || low < 0) {
+                    return null;
+                }
+                decoded[length++] = (byte) ((high << 4) | low);
+                i += 2;
+            } else if (b == '%') {
+                return null;
+            } else {
+                decoded[length++] = b;
+            }
+        }
+        return new String(decoded, 0, length, charset);
+    }
+
+    private static boolean needsDecoding(byte[] bytes, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == '%' || bytes[i] == '+') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int countOf(byte[] bytes, byte target) {
+        int count = 0;
+        for (byte b : bytes) {
+            if (b == target) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int indexOf(byte[] bytes, byte target, int from) {
+        return indexOf(bytes, target, from, bytes.length);
+    }
+
+    private static int indexOf(byte[] bytes, byte target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return to;
+    }
+}
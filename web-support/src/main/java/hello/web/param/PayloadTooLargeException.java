@@ -0,0 +1,11 @@
+package hello.web.param;
+
+/**
+ * 폼 본문이 LazyParameters.MAX_BODY_SIZE 를 넘는 경우, LazyParameterFilter 가 413 으로 바꾼다.
+ */
+public class PayloadTooLargeException extends IllegalStateException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
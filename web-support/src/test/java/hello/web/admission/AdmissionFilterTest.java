@@ -0,0 +1,115 @@
+package hello.web.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 응답 시간 대신 거절 수와 한도 상태로 확인한다.
+ * 체인은 래치로 막아두고, 한도만큼 요청이 들어가 있는 동안 보낸 요청이 거절되는지 본다.
+ */
+class AdmissionFilterTest {
+
+    static final int LIMIT = 2;
+
+    CountDownLatch started = new CountDownLatch(LIMIT);
+    CountDownLatch release = new CountDownLatch(1);
+
+    FilterChain blockingChain = (request, response) -> {
+        started.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    };
+
+    @Test
+    void rejectsOverLimit() throws Exception {
+        AdmissionFilter filter = filter("100000", "100000");
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> doFilter(filter, "10.0.0.1"));
+        CompletableFuture<MockHttpServletResponse> second = CompletableFuture.supplyAsync(() -> doFilter(filter, "10.0.0.2"));
+        try {
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(filter.getLimiter().getInFlight()).isEqualTo(LIMIT);
+
+            MockHttpServletResponse rejected = doFilter(filter, "10.0.0.3");
+            assertThat(rejected.getStatus()).isEqualTo(503);
+            assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(filter.getMetrics().getOverloaded().sum()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(first.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(second.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(filter.getLimiter().getInFlight()).isZero();
+        assertThat(filter.getMetrics().getAdmitted().sum()).isEqualTo(LIMIT);
+        assertThat(filter.getMetrics().getLatency().getCount()).isEqualTo(LIMIT);
+    }
+
+    @Test
+    void rateLimitsPerClient() throws Exception {
+        AdmissionFilter filter = filter("1", "1"); // 초당 1개, 버스트 1개
+        release.countDown();
+
+        assertThat(doFilter(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+        MockHttpServletResponse limited = doFilter(filter, "10.0.0.1");
+        assertThat(doFilter(filter, "10.0.0.2").getStatus()).isEqualTo(200); // 다른 클라이언트는 따로 센다
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isNotNull();
+        assertThat(filter.getMetrics().getRateLimited().sum()).isEqualTo(1);
+        assertThat(filter.getLimiter().getInFlight()).isZero();
+    }
+
+    @Test
+    void excludedPathsBypassLimit() throws Exception {
+        AdmissionFilter filter = filter("1", "1");
+        release.countDown();
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admission/metrics");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, blockingChain);
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+        assertThat(filter.getMetrics().getRateLimited().sum()).isZero();
+    }
+
+    private AdmissionFilter filter(String clientRate, String clientBurst) {
+        MockFilterConfig config = new MockFilterConfig(new MockServletContext(), AdmissionFilter.NAME);
+        config.addInitParameter("clientRate", clientRate);
+        config.addInitParameter("clientBurst", clientBurst);
+        config.addInitParameter("initialLimit", String.valueOf(LIMIT));
+        config.addInitParameter("minLimit", String.valueOf(LIMIT));
+        config.addInitParameter("maxLimit", String.valueOf(LIMIT));
+        config.addInitParameter("maxQueueWaitMillis", "0");
+
+        AdmissionFilter filter = new AdmissionFilter();
+        filter.init(config);
+        return filter;
+    }
+
+    private MockHttpServletResponse doFilter(AdmissionFilter filter, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.setRemoteAddr(client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, blockingChain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
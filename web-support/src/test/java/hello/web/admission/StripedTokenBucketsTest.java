@@ -0,0 +1,37 @@
+package hello.web.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedTokenBucketsTest {
+
+    @Test
+    void burstThenRate() {
+        long now = System.nanoTime();
+        StripedTokenBuckets buckets = new StripedTokenBuckets(16, 10, 5); // 초당 10개, 최대 5개 몰아서
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(buckets.tryAcquire("client-a", now)).isTrue();
+        }
+        assertThat(buckets.tryAcquire("client-a", now)).isFalse();
+        assertThat(buckets.nanosUntilNext("client-a", now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // 100ms 뒤 토큰 1개
+        long later = now + TimeUnit.MILLISECONDS.toNanos(100);
+        assertThat(buckets.tryAcquire("client-a", later)).isTrue();
+        assertThat(buckets.tryAcquire("client-a", later)).isFalse();
+    }
+
+    @Test
+    void clientsAreIsolated() {
+        long now = System.nanoTime();
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1024, 1, 1);
+
+        assertThat(buckets.tryAcquire("127.0.0.1", now)).isTrue();
+        assertThat(buckets.tryAcquire("127.0.0.1", now)).isFalse();
+        assertThat(buckets.tryAcquire("127.0.0.2", now)).isTrue();
+    }
+}
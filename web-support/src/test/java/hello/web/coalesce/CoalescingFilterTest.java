@@ -0,0 +1,96 @@
+package hello.web.coalesce;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingFilterTest {
+
+    @Test
+    void nonBlockingWriteNotCaptured() throws Exception {
+        CoalescingFilter filter = new CoalescingFilter();
+        filter.init(new MockFilterConfig());
+        NonBlockingResponse response = new NonBlockingResponse(new MockHttpServletResponse());
+
+        FilterChain chain = (request, res) -> {
+            res.setContentType("text/plain");
+            ServletOutputStream out = res.getOutputStream();
+            out.write("hello ".getBytes(StandardCharsets.UTF_8)); // listener 를 걸기 전에 blocking 으로 쓴 내용
+            out.setWriteListener(new WriteListener() {
+                @Override
+                public void onWritePossible() throws IOException {
+                    out.write("world".getBytes(StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+            });
+            ((HttpServletResponse) res).setHeader("X-Ready", String.valueOf(out.isReady()));
+        };
+        filter.doFilter(new MockHttpServletRequest("GET", "/members"), response, chain);
+
+        MockHttpServletResponse written = response.getMock();
+        assertThat(written.getContentAsString()).isEqualTo("hello world"); // 모은 본문을 한 번 더 쓰지 않는다
+        assertThat(response.listener).isNotNull(); // 실제 응답의 스트림에 listener 를 넘긴다
+        assertThat(written.getHeader("X-Ready")).isEqualTo("false"); // isReady 도 실제 응답의 스트림을 따른다
+        assertThat(filter.getSavedBytes()).isZero();
+    }
+
+    /**
+     * setWriteListener 를 받으면 바로 onWritePossible 을 호출하고, 그 뒤로는 isReady 가 false 인 응답
+     */
+    static class NonBlockingResponse extends HttpServletResponseWrapper {
+
+        private final MockHttpServletResponse mock;
+        WriteListener listener;
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                mock.getOutputStream().write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return listener == null;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    writeListener.onWritePossible();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                listener = writeListener;
+            }
+        };
+
+        NonBlockingResponse(MockHttpServletResponse mock) {
+            super(mock);
+            this.mock = mock;
+        }
+
+        MockHttpServletResponse getMock() {
+            return mock;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package hello.web.coalesce;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    static final int THREADS = 8;
+
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("members", () -> {
+                    calls.incrementAndGet();
+                    release.await();
+                    return "rendered";
+                })));
+            }
+            // 나머지 요청이 모두 leader 를 기다릴 때까지 대기
+            while (calls.get() == 0) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("rendered");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(singleFlight.getExecutions()).isEqualTo(1);
+        assertThat(singleFlight.getCoalesced()).isEqualTo(THREADS - 1);
+        assertThat(singleFlight.getSavedNanos()).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(100) * (THREADS - 1));
+    }
+
+    @Test
+    void finishedFlightIsNotCached() throws Exception {
+        singleFlight.execute("members", () -> "v1");
+
+        assertThat(singleFlight.execute("members", () -> "v2")).isEqualTo("v2");
+        assertThat(singleFlight.getExecutions()).isEqualTo(2);
+    }
+
+    @Test
+    void leaderFailureIsThrownToLeaderOnly() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("members", () -> {
+                started.countDown();
+                release.await();
+                throw new IllegalStateException("render failed");
+            }));
+            started.await();
+            Future<String> follower = executor.submit(() -> singleFlight.execute("members", () -> "own"));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThatThrownBy(leader::get).hasCauseInstanceOf(IllegalStateException.class);
+            // follower 는 예외 대신 null 을 받고 직접 처리한다
+            assertThat(follower.get(1, TimeUnit.SECONDS)).isNull();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package hello.web.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketIndex() {
+        assertThat(LatencyHistogram.bucketIndex(0)).isEqualTo(0);
+        assertThat(LatencyHistogram.bucketIndex(1)).isEqualTo(1);
+        assertThat(LatencyHistogram.bucketIndex(3)).isEqualTo(2);
+        assertThat(LatencyHistogram.bucketIndex(4)).isEqualTo(3);
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    void percentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100_000); // 100us -> [64, 128)
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(5_000_000); // 5ms -> [4096, 8192)
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getMaxNanos()).isEqualTo(5_000_000);
+        assertThat(histogram.percentileMicros(50)).isEqualTo(128);
+        assertThat(histogram.percentileMicros(90)).isEqualTo(128);
+        assertThat(histogram.percentileMicros(99)).isEqualTo(8192);
+        assertThat(new LatencyHistogram().percentileMicros(99)).isZero();
+    }
+}
@@ -0,0 +1,87 @@
+package hello.web.param;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyParameterFilterTest {
+
+    LazyParameterFilter filter = new LazyParameterFilter();
+
+    @Test
+    void containerReadsSameParameters() throws Exception {
+        MockHttpServletRequest request = formRequest("username=kim&hobby=a&hobby=b");
+        request.setQueryString("page=2");
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, resp) -> {
+            HttpServletRequest wrapped = (HttpServletRequest) req;
+            assertThat(LazyParameters.of(wrapped).get("username")).isEqualTo("kim"); // 본문을 먼저 읽는다
+            seen.set(wrapped);
+        });
+
+        HttpServletRequest wrapped = seen.get();
+        assertThat(wrapped.getParameter("username")).isEqualTo("kim");
+        assertThat(wrapped.getParameterValues("hobby")).containsExactly("a", "b");
+        assertThat(Collections.list(wrapped.getParameterNames())).containsExactly("page", "username", "hobby");
+        assertThat(wrapped.getParameterMap()).containsOnlyKeys("page", "username", "hobby");
+        assertThat(LazyParameters.of(wrapped)).isSameAs(LazyParameters.of(request));
+    }
+
+    @Test
+    void nonFormRequestIsNotWrapped() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        AtomicReference<Object> seen = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, resp) -> seen.set(req));
+
+        assertThat(seen.get()).isSameAs(request);
+    }
+
+    @Test
+    void declaredBodyTooLarge() throws Exception {
+        MockHttpServletRequest request = formRequest("");
+        request.setContent(new byte[LazyParameters.MAX_BODY_SIZE + 1]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, resp) -> {
+            throw new AssertionError("본문을 읽기 전에 거절해야 한다");
+        };
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    void streamedBodyTooLarge() throws Exception {
+        // Transfer-Encoding: chunked 처럼 길이를 모르는 본문은 읽다가 넘치면 413
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContentType("application/x-www-form-urlencoded");
+        request.setContent(new byte[LazyParameters.MAX_BODY_SIZE + 1]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, resp) -> req.getParameter("username"));
+
+        assertThat(response.getStatus()).isEqualTo(413);
+    }
+
+    private MockHttpServletRequest formRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.setContentType("application/x-www-form-urlencoded");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
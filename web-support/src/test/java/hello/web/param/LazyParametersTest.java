@@ -0,0 +1,87 @@
+package hello.web.param;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyParametersTest {
+
+    @Test
+    void queryAndFormBody() {
+        MockHttpServletRequest request = formRequest("username=kim&age=20&hobby=a&hobby=b");
+        request.setQueryString("page=2&username=lee");
+
+        LazyParameters parameters = LazyParameters.of(request);
+
+        // 쿼리 스트링이 먼저 (컨테이너와 같은 순서)
+        assertThat(parameters.get("username")).isEqualTo("lee");
+        assertThat(parameters.getValues("username")).containsExactly("lee", "kim");
+        assertThat(parameters.get("age")).isEqualTo("20");
+        assertThat(parameters.getValues("hobby")).containsExactly("a", "b");
+        assertThat(parameters.get("none")).isNull();
+        assertThat(parameters.getNames()).containsExactly("page", "username", "age", "hobby");
+        assertThat(LazyParameters.of(request)).isSameAs(parameters);
+    }
+
+    @Test
+    void decode() {
+        LazyParameters parameters = LazyParameters.parse(
+                "name=%ED%9A%8C%EC%9B%90+1&flag&empty=&%EC%9D%B4%EB%A6%84=kim&a%3Db=c%26d".getBytes(StandardCharsets.ISO_8859_1),
+                "raw=회원".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+
+        assertThat(parameters.get("name")).isEqualTo("회원 1");
+        assertThat(parameters.get("flag")).isEmpty();
+        assertThat(parameters.get("empty")).isEmpty();
+        assertThat(parameters.get("이름")).isEqualTo("kim");
+        assertThat(parameters.get("a=b")).isEqualTo("c&d");
+        assertThat(parameters.get("raw")).isEqualTo("회원");
+    }
+
+    @Test
+    void invalidEncodingIsSkipped() {
+        LazyParameters parameters = LazyParameters.parse(
+                "ok=1&bad=%ZZ&cut=%E&%ZZ=x&dup=%ZZ&dup=2".getBytes(StandardCharsets.ISO_8859_1), null, StandardCharsets.UTF_8);
+
+        // 톰캣처럼 잘못된 파라미터는 없는 것으로 본다
+        assertThat(parameters.get("ok")).isEqualTo("1");
+        assertThat(parameters.get("bad")).isNull();
+        assertThat(parameters.get("cut")).isNull();
+        assertThat(parameters.get("dup")).isEqualTo("2");
+        assertThat(parameters.getValues("dup")).containsExactly("2");
+        assertThat(parameters.getNames()).containsExactly("ok", "dup");
+    }
+
+    @Test
+    void fallbackToContainerWhenBodyAlreadyRead() throws Exception {
+        MockHttpServletRequest request = formRequest("username=kim");
+        request.addParameter("username", "kim"); // 컨테이너가 이미 파싱한 값
+        request.getInputStream().readAllBytes();
+
+        assertThat(LazyParameters.of(request).get("username")).isEqualTo("kim");
+    }
+
+    @Test
+    void nonFormRequestUsesContainer() {
+        // multipart 는 컨테이너만 part 파라미터를 알고 있다
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload");
+        request.setContentType("multipart/form-data; boundary=xyz");
+        request.setQueryString("a=1");
+        request.addParameter("a", "1");
+        request.addParameter("itemName", "itemA");
+
+        LazyParameters parameters = LazyParameters.of(request);
+
+        assertThat(parameters.get("a")).isEqualTo("1");
+        assertThat(parameters.get("itemName")).isEqualTo("itemA");
+    }
+
+    private MockHttpServletRequest formRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/front-controller/v3/members/save");
+        request.setContentType("application/x-www-form-urlencoded");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}